@@ -78,8 +78,7 @@ def analyze(file_path, hit_window, subdivisions):
 
     # Save analysis
     analysis_filename = f"{os.path.splitext(file_path)[0]}_analysis.json"
-    with open(analysis_filename, 'w') as f:
-        json.dump(analysis, f, indent=4)
+    write_json(analysis_filename, analysis)
 
     # Update levels.json
     levels_dir = os.path.join(os.path.dirname(os.path.dirname(file_path)), 'levels')
@@ -114,13 +113,19 @@ def analyze(file_path, hit_window, subdivisions):
         levels_data["levels"].append(new_level)
         
         # Save updated levels.json
-        with open(levels_file, 'w') as f:
-            json.dump(levels_data, f, indent=4)
+        write_json(levels_file, levels_data)
 
     print(f"Analysis saved to {analysis_filename}")
     if not song_exists:
         print(f"Added new level to {levels_file}")
 
+def write_json(path, data):
+    """Write JSON next to its final path and swap it in, so the running game never reads half a file"""
+    temp_path = path + '.tmp'
+    with open(temp_path, 'w') as f:
+        json.dump(data, f, indent=4)
+    os.replace(temp_path, path)
+
 def process_directory(directory, hit_window, subdivisions):
     """Process all MP3 files in the directory"""
     for filename in os.listdir(directory):
@@ -132,11 +137,19 @@ def process_directory(directory, hit_window, subdivisions):
 def main():
     parser = argparse.ArgumentParser(description="Analyze audio for rhythm game.")
     parser.add_argument('--directory', default='.', help='Directory containing MP3 files')
+    parser.add_argument('--file', help='Analyze only this MP3 in the directory (the game passes each new or changed track)')
     parser.add_argument('--hit_window', type=float, default=0.15, help='Hit window in seconds for taps')
     parser.add_argument('--subdivisions', type=int, default=1, help='Number of subdivisions per beat')
     args = parser.parse_args()
     
-    process_directory(args.directory, args.hit_window, args.subdivisions)
+    if args.file:
+        file_path = os.path.join(args.directory, args.file)
+        if not os.path.isfile(file_path):
+            parser.error(f"No such file: {file_path}")
+        print(f"Processing {args.file}...")
+        analyze(file_path, args.hit_window, args.subdivisions)
+    else:
+        process_directory(args.directory, args.hit_window, args.subdivisions)
 
 if __name__ == '__main__':
     main()
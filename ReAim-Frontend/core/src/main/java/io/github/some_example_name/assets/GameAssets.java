@@ -1,47 +1,98 @@
 package io.github.some_example_name.assets;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetErrorListener;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.TimeUtils;
 import java.util.HashMap;
 
 /**
- * Manages all game assets including textures and animations
+ * Manages all game assets including textures and animations.
+ * <p>
+ * Everything is loaded through an {@link AssetManager} in bundles: the core bundle (sprites, UI
+ * skin, font) is queued on creation, the game bundle (gun sounds, overlay) right after it, and a
+ * level's music when the level is hovered or started. Nothing is loaded on the calling thread;
+ * {@link #updateLoading} is stepped from {@link io.github.some_example_name.Main#render} with a
+ * small time budget so uploads are spread across frames, and
+ * {@link io.github.some_example_name.screens.LoadingScreen} shows progress while a screen waits
+ * for its bundle. At debug log level the AssetManager logs each asset's load time.
+ * <p>
+ * Sprites are served as {@link TextureRegion}s from the atlases packed by the lwjgl3 packTextures
+ * task, so a frame of gameplay binds only a couple of textures. If an atlas is missing (e.g. when
+ * running without a Gradle build) each sprite falls back to its own Texture from the loose PNG.
+ * Packed regions have their transparent borders stripped; use {@link #drawRegion} and
+ * {@link #regionWidth}/{@link #regionHeight} to draw and measure them at their original canvas size.
  */
 public class GameAssets implements Disposable {
+    private static final String[] ATLAS_FILES = {"atlas/gameplay.atlas", "atlas/background.atlas"};
+    private static final String[] SPRITE_FILES = {
+        "BAR/BAR1.png", "BAR/BAR2.png", "BAR/BARJUKEBOX.png", "BAR/BARNOTE.png", "BAR/BARNOTE2.png", "BAR/BARNOTE3.png",
+        "CROSSHAIRS/CROSSHAIR1.png", "CROSSHAIRS/CROSSHAIR1R.png", "CROSSHAIRS/CROSSHAIR2.png",
+        "CROSSHAIRS/CROSSHAIR2R.png", "CROSSHAIRS/CROSSHAIR3.png", "CROSSHAIRS/CROSSHAIR3R.png",
+        "GUN & BULLETS/BULLET1.png", "GUN & BULLETS/BULLET2.png", "GUN & BULLETS/BULLET3.png", "GUN & BULLETS/BULLET4.png",
+        "GUN & BULLETS/GUB1.png", "GUN & BULLETS/GUB2.png", "GUN & BULLETS/GUB3.png", "GUN & BULLETS/GUB4.png",
+        "TARGET & SCORES/TARGET1.png", "TARGET & SCORES/TARGET2.png", "TARGET & SCORES/TARGET3.png", "TARGET & SCORES/TARGET4.png",
+        "TARGET & SCORES/100.png", "TARGET & SCORES/300.png", "TARGET & SCORES/600.png", "TARGET & SCORES/1000.png",
+    };
+    private static final String SKIN_FILE = "ui/uiskin.json";
+    private static final String FONT_TEXTURE_FILE = "ui/uiskin.png";
+
+    public static final String GUNSHOT_SOUND = "GUN & BULLETS/GUNSHOOT.mp3";
+    public static final String GUNPING_SOUND = "GUN & BULLETS/GUNPING.mp3";
+    public static final String OVERLAY_TEXTURE = "libgdx.png";
+
     // Singleton instance
     private static GameAssets instance;
+
+    private final AssetManager manager;
+    private boolean useAtlases;
+    private boolean coreResolved = false;
+    private boolean gameBundleQueued = false;
+    private long coreQueuedAt;
+
+    // Region maps for different asset types
+    private HashMap<String, TextureRegion> barTextures;
+    private HashMap<String, TextureRegion> crosshairTextures;
+    private HashMap<String, TextureRegion> bulletTextures;
+    private HashMap<String, TextureRegion> gunTextures;
+    private HashMap<String, TextureRegion> targetTextures;
+    private HashMap<String, TextureRegion> scoreTextures;
     
-    // Texture maps for different asset types
-    private HashMap<String, Texture> barTextures;
-    private HashMap<String, Texture> crosshairTextures;
-    private HashMap<String, Texture> bulletTextures;
-    private HashMap<String, Texture> gunTextures;
-    private HashMap<String, Texture> targetTextures;
-    private HashMap<String, Texture> scoreTextures;
-    
-    // Gun animation
+    // Animations; each entity keeps its own time in an AnimationClock
     private Animation<TextureRegion> gunAnimation;
-    private float animationTime = 0f;
-
-    // Bullet Casing Animation
     private Animation<TextureRegion> bulletCasingAnimation;
-    private float bulletCasingAnimationTime = 0f;
-    
-    // Target animation (for destruction animation)
-    private Animation<TextureRegion> targetAnimation;
-    // Removed: private float targetAnimationTime = 0f;
-    // Removed: private boolean isTargetAnimating = false;
+    private Animation<TextureRegion> targetAnimation; // Target destruction animation
 
     // Font
     private BitmapFont defaultFont;
     
     // Private constructor to ensure singleton pattern
     private GameAssets() {
-        loadAllAssets();
+        manager = new AssetManager();
+        // AssetManager logs "Loaded: <ms> <asset>" for every asset at debug level
+        manager.getLogger().setLevel(Gdx.app.getLogLevel() >= Application.LOG_DEBUG ? Logger.DEBUG : Logger.ERROR);
+        // A missing file is dropped from the queue and logged instead of failing the frame that loads it
+        manager.setErrorListener(new AssetErrorListener() {
+            @Override
+            public void error(AssetDescriptor asset, Throwable throwable) {
+                Gdx.app.error("GameAssets", "Could not load " + asset.fileName, throwable);
+            }
+        });
+        queueCoreBundle();
     }
     
     /**
@@ -55,9 +106,96 @@ public class GameAssets implements Disposable {
     }
     
     /**
-     * Loads all game assets
+     * Queues the sprites, UI skin and font texture. Uses the packed atlases when all of them
+     * exist, otherwise every sprite as its own texture.
+     */
+    private void queueCoreBundle() {
+        coreQueuedAt = TimeUtils.millis();
+        useAtlases = true;
+        for (String atlasFile : ATLAS_FILES) {
+            if (!Gdx.files.internal(atlasFile).exists()) {
+                Gdx.app.log("GameAssets", "Atlas " + atlasFile + " not found, loading sprites as separate textures");
+                useAtlases = false;
+            }
+        }
+        if (useAtlases) {
+            for (String atlasFile : ATLAS_FILES) {
+                manager.load(atlasFile, TextureAtlas.class);
+            }
+        } else {
+            for (String spriteFile : SPRITE_FILES) {
+                manager.load(spriteFile, Texture.class);
+            }
+        }
+        manager.load(SKIN_FILE, Skin.class);
+        manager.load(FONT_TEXTURE_FILE, Texture.class);
+    }
+
+    /**
+     * Queues what GameScreen needs besides the core bundle, so it is ready long before a level starts.
+     */
+    private void queueGameBundle() {
+        manager.load(GUNSHOT_SOUND, Sound.class);
+        manager.load(GUNPING_SOUND, Sound.class);
+        manager.load(OVERLAY_TEXTURE, Texture.class);
+        gameBundleQueued = true;
+    }
+
+    /**
+     * Advances loading for at most roughly the given time, finishing at most one GL upload past
+     * it. Call once per frame from the render thread.
+     * @return true if everything queued so far has finished loading
+     */
+    public boolean updateLoading(int millis) {
+        boolean done = manager.update(millis);
+        if (!coreResolved && isCoreBundleLoaded()) {
+            resolveCoreBundle();
+        }
+        return done;
+    }
+
+    /**
+     * Fraction of everything queued so far that has finished loading, from 0 to 1.
+     */
+    public float getLoadingProgress() {
+        return manager.getProgress();
+    }
+
+    public boolean isCoreLoaded() {
+        return coreResolved;
+    }
+
+    public boolean isGameBundleLoaded() {
+        return gameBundleQueued && manager.isLoaded(GUNSHOT_SOUND) && manager.isLoaded(GUNPING_SOUND) && manager.isLoaded(OVERLAY_TEXTURE);
+    }
+
+    // Files that failed to load count as done, so one missing sprite cannot hold up the game
+    private boolean isCoreBundleLoaded() {
+        if (!isDoneLoading(SKIN_FILE) || !isDoneLoading(FONT_TEXTURE_FILE)) {
+            return false;
+        }
+        for (String file : useAtlases ? ATLAS_FILES : SPRITE_FILES) {
+            if (!isDoneLoading(file)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Blocks until the core bundle is loaded; only reached if a getter runs before the loading screen finished
+    private void ensureCoreLoaded() {
+        if (!coreResolved) {
+            Gdx.app.error("GameAssets", "Core assets requested before they finished loading, loading them synchronously");
+            manager.finishLoading();
+            resolveCoreBundle();
+        }
+    }
+
+    /**
+     * Builds the region maps, animations and font from the loaded core bundle, then queues the
+     * game bundle behind it.
      */
-    private void loadAllAssets() {
+    private void resolveCoreBundle() {
         // Initialize all hash maps
         barTextures = new HashMap<>();
         crosshairTextures = new HashMap<>();
@@ -67,173 +205,266 @@ public class GameAssets implements Disposable {
         scoreTextures = new HashMap<>();
         
         // Load bar textures
-        barTextures.put("bar1", new Texture("BAR/BAR1.png"));
-        barTextures.put("bar2", new Texture("BAR/BAR2.png"));
-        barTextures.put("barJukebox", new Texture("BAR/BARJUKEBOX.png"));
-        barTextures.put("barNote", new Texture("BAR/BARNOTE.png"));
-        barTextures.put("barNote2", new Texture("BAR/BARNOTE2.png"));
-        barTextures.put("barNote3", new Texture("BAR/BARNOTE3.png"));
+        barTextures.put("bar1", loadRegion("BAR/BAR1.png"));
+        barTextures.put("bar2", loadRegion("BAR/BAR2.png"));
+        barTextures.put("barJukebox", loadRegion("BAR/BARJUKEBOX.png"));
+        barTextures.put("barNote", loadRegion("BAR/BARNOTE.png"));
+        barTextures.put("barNote2", loadRegion("BAR/BARNOTE2.png"));
+        barTextures.put("barNote3", loadRegion("BAR/BARNOTE3.png"));
         
         // Load crosshair textures
-        crosshairTextures.put("crosshair1", new Texture("CROSSHAIRS/CROSSHAIR1.png"));
-        crosshairTextures.put("crosshair1R", new Texture("CROSSHAIRS/CROSSHAIR1R.png"));
-        crosshairTextures.put("crosshair2", new Texture("CROSSHAIRS/CROSSHAIR2.png"));
-        crosshairTextures.put("crosshair2R", new Texture("CROSSHAIRS/CROSSHAIR2R.png"));
-        crosshairTextures.put("crosshair3", new Texture("CROSSHAIRS/CROSSHAIR3.png"));
-        crosshairTextures.put("crosshair3R", new Texture("CROSSHAIRS/CROSSHAIR3R.png"));
+        crosshairTextures.put("crosshair1", loadRegion("CROSSHAIRS/CROSSHAIR1.png"));
+        crosshairTextures.put("crosshair1R", loadRegion("CROSSHAIRS/CROSSHAIR1R.png"));
+        crosshairTextures.put("crosshair2", loadRegion("CROSSHAIRS/CROSSHAIR2.png"));
+        crosshairTextures.put("crosshair2R", loadRegion("CROSSHAIRS/CROSSHAIR2R.png"));
+        crosshairTextures.put("crosshair3", loadRegion("CROSSHAIRS/CROSSHAIR3.png"));
+        crosshairTextures.put("crosshair3R", loadRegion("CROSSHAIRS/CROSSHAIR3R.png"));
         
         // Load bullet textures
-        bulletTextures.put("bullet1", new Texture("GUN & BULLETS/BULLET1.png"));
-        bulletTextures.put("bullet2", new Texture("GUN & BULLETS/BULLET2.png"));
-        bulletTextures.put("bullet3", new Texture("GUN & BULLETS/BULLET3.png"));
-        bulletTextures.put("bullet4", new Texture("GUN & BULLETS/BULLET4.png"));
+        bulletTextures.put("bullet1", loadRegion("GUN & BULLETS/BULLET1.png"));
+        bulletTextures.put("bullet2", loadRegion("GUN & BULLETS/BULLET2.png"));
+        bulletTextures.put("bullet3", loadRegion("GUN & BULLETS/BULLET3.png"));
+        bulletTextures.put("bullet4", loadRegion("GUN & BULLETS/BULLET4.png"));
         
         // Load gun textures for animation
-        gunTextures.put("gub1", new Texture("GUN & BULLETS/GUB1.png"));
-        gunTextures.put("gub2", new Texture("GUN & BULLETS/GUB2.png"));
-        gunTextures.put("gub3", new Texture("GUN & BULLETS/GUB3.png"));
-        gunTextures.put("gub4", new Texture("GUN & BULLETS/GUB4.png"));
+        gunTextures.put("gub1", loadRegion("GUN & BULLETS/GUB1.png"));
+        gunTextures.put("gub2", loadRegion("GUN & BULLETS/GUB2.png"));
+        gunTextures.put("gub3", loadRegion("GUN & BULLETS/GUB3.png"));
+        gunTextures.put("gub4", loadRegion("GUN & BULLETS/GUB4.png"));
         
         // Set up gun animation
         TextureRegion[] gunFrames = new TextureRegion[4];
-        gunFrames[0] = new TextureRegion(gunTextures.get("gub1"));
-        gunFrames[1] = new TextureRegion(gunTextures.get("gub2"));
-        gunFrames[2] = new TextureRegion(gunTextures.get("gub3"));
-        gunFrames[3] = new TextureRegion(gunTextures.get("gub4"));
+        gunFrames[0] = gunTextures.get("gub1");
+        gunFrames[1] = gunTextures.get("gub2");
+        gunFrames[2] = gunTextures.get("gub3");
+        gunFrames[3] = gunTextures.get("gub4");
         
         // Create gun animation with 0.1 second per frame
         gunAnimation = new Animation<>(0.1f, gunFrames);
 
         // Set up bullet casing animation
         TextureRegion[] bulletCasingFrames = new TextureRegion[4];
-        bulletCasingFrames[0] = new TextureRegion(bulletTextures.get("bullet1"));
-        bulletCasingFrames[1] = new TextureRegion(bulletTextures.get("bullet2"));
-        bulletCasingFrames[2] = new TextureRegion(bulletTextures.get("bullet3"));
-        bulletCasingFrames[3] = new TextureRegion(bulletTextures.get("bullet4"));
+        bulletCasingFrames[0] = bulletTextures.get("bullet1");
+        bulletCasingFrames[1] = bulletTextures.get("bullet2");
+        bulletCasingFrames[2] = bulletTextures.get("bullet3");
+        bulletCasingFrames[3] = bulletTextures.get("bullet4");
         bulletCasingAnimation = new Animation<>(0.1f, bulletCasingFrames); // 0.1s per frame, no loop
 
         // Load target textures (still keep them individually for reference)
-        targetTextures.put("target1", new Texture("TARGET & SCORES/TARGET1.png"));
-        targetTextures.put("target2", new Texture("TARGET & SCORES/TARGET2.png"));
-        targetTextures.put("target3", new Texture("TARGET & SCORES/TARGET3.png"));
-        targetTextures.put("target4", new Texture("TARGET & SCORES/TARGET4.png"));
+        targetTextures.put("target1", loadRegion("TARGET & SCORES/TARGET1.png"));
+        targetTextures.put("target2", loadRegion("TARGET & SCORES/TARGET2.png"));
+        targetTextures.put("target3", loadRegion("TARGET & SCORES/TARGET3.png"));
+        targetTextures.put("target4", loadRegion("TARGET & SCORES/TARGET4.png"));
         
         // Set up target destruction animation
         TextureRegion[] targetFrames = new TextureRegion[4];
-        targetFrames[0] = new TextureRegion(targetTextures.get("target1"));
-        targetFrames[1] = new TextureRegion(targetTextures.get("target2"));
-        targetFrames[2] = new TextureRegion(targetTextures.get("target3"));
-        targetFrames[3] = new TextureRegion(targetTextures.get("target4"));
+        targetFrames[0] = targetTextures.get("target1");
+        targetFrames[1] = targetTextures.get("target2");
+        targetFrames[2] = targetTextures.get("target3");
+        targetFrames[3] = targetTextures.get("target4");
         
         // Create target animation with 0.1 second per frame - this is the destruction animation
         targetAnimation = new Animation<>(0.1f, targetFrames);
         
         // Load score textures
-        scoreTextures.put("score100", new Texture("TARGET & SCORES/100.png"));
-        scoreTextures.put("score300", new Texture("TARGET & SCORES/300.png"));
-        scoreTextures.put("score600", new Texture("TARGET & SCORES/600.png"));
-        scoreTextures.put("score1000", new Texture("TARGET & SCORES/1000.png"));
+        scoreTextures.put("score100", loadRegion("TARGET & SCORES/100.png"));
+        scoreTextures.put("score300", loadRegion("TARGET & SCORES/300.png"));
+        scoreTextures.put("score600", loadRegion("TARGET & SCORES/600.png"));
+        scoreTextures.put("score1000", loadRegion("TARGET & SCORES/1000.png"));
 
         // Load font
         // The BitmapFont constructor used was likely trying to find "font.png" based on the .fnt file.
         // If "font.fnt" is meant to be used with "uiskin.png", we load it like this:
-        defaultFont = new BitmapFont(Gdx.files.internal("ui/font.fnt"), new TextureRegion(new Texture(Gdx.files.internal("ui/uiskin.png"))), false);
+        defaultFont = manager.isLoaded(FONT_TEXTURE_FILE)
+            ? new BitmapFont(Gdx.files.internal("ui/font.fnt"), new TextureRegion(manager.get(FONT_TEXTURE_FILE, Texture.class)), false)
+            : new BitmapFont();
         // If "font.fnt" has its own image file that is simply missing, this won't fix the root cause (missing file).
         // However, if "font.fnt" is designed to be used with an atlas image like "uiskin.png", this is a common way.
         // The 'false' argument for flip is typical.
+
+        coreResolved = true;
+        Gdx.app.log("GameAssets", "Core assets loaded in " + TimeUtils.timeSinceMillis(coreQueuedAt) + " ms"
+            + (useAtlases ? " from atlases" : " from separate textures"));
+        queueGameBundle();
     }
-      /**
-     * Updates the animation time
-     * @param deltaTime Time since last frame
+
+    /**
+     * Finds a sprite in the packed atlases by its file name (without extension), or wraps its
+     * separately loaded texture when the atlases are not in use.
      */
-    public void update(float deltaTime) {
-        // Update gun animation time
-        animationTime += deltaTime;
-        bulletCasingAnimationTime += deltaTime;
-        
-        // Removed target animation time update from here
+    private TextureRegion loadRegion(String path) {
+        if (!useAtlases) {
+            return manager.isLoaded(path) ? new TextureRegion(manager.get(path, Texture.class)) : null;
+        }
+        String name = path.substring(path.lastIndexOf('/') + 1, path.lastIndexOf('.'));
+        for (String atlasFile : ATLAS_FILES) {
+            if (!manager.isLoaded(atlasFile)) {
+                continue;
+            }
+            AtlasRegion region = manager.get(atlasFile, TextureAtlas.class).findRegion(name);
+            if (region != null) {
+                return region;
+            }
+        }
+        Gdx.app.error("GameAssets", "Sprite " + name + " not found in any atlas");
+        return null;
     }
-    
-    // Getters for all texture types
-    
-    public Texture getBarTexture(String name) {
-        return barTextures.get(name);
+
+    /**
+     * Queues a level's music so it loads in the background.
+     */
+    public void queueMusic(String path) {
+        manager.load(path, Music.class);
     }
-    
-    public Texture getCrosshairTexture(String name) {
-        return crosshairTextures.get(name);
+
+    public boolean isLoaded(String path) {
+        return manager.isLoaded(path);
     }
-    
-    public Texture getBulletTexture(String name) {
-        return bulletTextures.get(name);
+
+    /**
+     * True if the asset is no longer waiting to load: it either loaded or failed and was dropped.
+     */
+    public boolean isDoneLoading(String path) {
+        return manager.isLoaded(path) || !manager.contains(path);
     }
-    
-    public Texture getGunTexture(String name) {
-        return gunTextures.get(name);
+
+    /**
+     * Returns loaded music, blocking to finish loading it if it is queued or not yet queued.
+     */
+    public Music getMusic(String path) {
+        if (!manager.isLoaded(path)) {
+            Gdx.app.error("GameAssets", "Music " + path + " was not preloaded, loading it synchronously");
+            manager.load(path, Music.class);
+            manager.finishLoadingAsset(path);
+        }
+        return manager.get(path, Music.class);
     }
-    
-    public Texture getTargetTexture(String name) {
-        return targetTextures.get(name);
+
+    public Sound getSound(String path) {
+        if (!manager.isLoaded(path)) {
+            Gdx.app.error("GameAssets", "Sound " + path + " was not preloaded, loading it synchronously");
+            manager.load(path, Sound.class);
+            manager.finishLoadingAsset(path);
+        }
+        return manager.get(path, Sound.class);
     }
-    
-    public Texture getScoreTexture(String name) {
-        return scoreTextures.get(name);
+
+    public Texture getTexture(String path) {
+        if (!manager.isLoaded(path)) {
+            Gdx.app.error("GameAssets", "Texture " + path + " was not preloaded, loading it synchronously");
+            manager.load(path, Texture.class);
+            manager.finishLoadingAsset(path);
+        }
+        return manager.get(path, Texture.class);
     }
-    
+
     /**
-     * Gets the current frame of the gun animation
-     * @return The current TextureRegion from the gun animation
+     * Shared UI skin. Screens must not dispose it.
      */
-    public TextureRegion getCurrentGunFrame() {
-        return gunAnimation.getKeyFrame(animationTime, true);
+    public Skin getSkin() {
+        ensureCoreLoaded();
+        return manager.get(SKIN_FILE, Skin.class);
     }
-    
+
     /**
-     * Checks if the gun animation is finished
-     * @return True if the animation has completed one cycle
+     * Unloads an asset queued or loaded through this class, e.g. a level's music once it is not needed.
      */
-    public boolean isGunAnimationFinished() {
-        return gunAnimation.isAnimationFinished(animationTime);
+    public void unload(String path) {
+        if (manager.contains(path) || manager.isLoaded(path)) {
+            manager.unload(path);
+        }
     }
-      /**
-     * Resets the gun animation time
+
+    /**
+     * Width of a sprite's original canvas, including any transparent border stripped when packing.
      */
-    public void resetGunAnimation() {
-        animationTime = 0f;
+    public static float regionWidth(TextureRegion region) {
+        return region instanceof AtlasRegion ? ((AtlasRegion) region).originalWidth : region.getRegionWidth();
     }
-    
+
     /**
-     * Resets the bullet casing animation time.
+     * Height of a sprite's original canvas, including any transparent border stripped when packing.
      */
-    public void resetBulletCasingAnimation() {
-        bulletCasingAnimationTime = 0f;
+    public static float regionHeight(TextureRegion region) {
+        return region instanceof AtlasRegion ? ((AtlasRegion) region).originalHeight : region.getRegionHeight();
     }
 
     /**
-     * Gets the current frame of the bullet casing animation.
-     * @param time The current animation time.
-     * @return The current TextureRegion from the bullet casing animation.
+     * Draws a sprite as if its original canvas were stretched over the given rectangle.
      */
-    public TextureRegion getCurrentBulletCasingFrame(float time) {
-        return bulletCasingAnimation.getKeyFrame(time, false); // false = don't loop
+    public static void drawRegion(Batch batch, TextureRegion region, float x, float y, float width, float height) {
+        drawRegion(batch, region, x, y, 0f, 0f, width, height, 1f, 1f, 0f);
     }
 
     /**
-     * Checks if the bullet casing animation is finished.
-     * @param time The current animation time.
-     * @return True if the animation has completed one cycle.
+     * Same as {@link Batch#draw(TextureRegion, float, float, float, float, float, float, float, float, float)}
+     * with width and height given for the original canvas. For a stripped atlas region the packed
+     * part is drawn at its offset and the origin moved to match, so rotation and scale pivot on
+     * the same point as they would for the unpacked image.
      */
-    public boolean isBulletCasingAnimationFinished(float time) {
-        return bulletCasingAnimation.isAnimationFinished(time);
+    public static void drawRegion(Batch batch, TextureRegion region, float x, float y, float originX, float originY,
+                                  float width, float height, float scaleX, float scaleY, float rotation) {
+        if (!(region instanceof AtlasRegion)) {
+            batch.draw(region, x, y, originX, originY, width, height, scaleX, scaleY, rotation);
+            return;
+        }
+        AtlasRegion packed = (AtlasRegion) region;
+        float canvasScaleX = width / packed.originalWidth;
+        float canvasScaleY = height / packed.originalHeight;
+        float offsetX = packed.offsetX * canvasScaleX;
+        float offsetY = packed.offsetY * canvasScaleY;
+        batch.draw(packed, x + offsetX, y + offsetY, originX - offsetX, originY - offsetY,
+            packed.packedWidth * canvasScaleX, packed.packedHeight * canvasScaleY, scaleX, scaleY, rotation);
     }
 
+    // Getters for all texture types
+    
+    public TextureRegion getBarTexture(String name) {
+        ensureCoreLoaded();
+        return barTextures.get(name);
+    }
+    
+    public TextureRegion getCrosshairTexture(String name) {
+        ensureCoreLoaded();
+        return crosshairTextures.get(name);
+    }
+    
+    public TextureRegion getBulletTexture(String name) {
+        ensureCoreLoaded();
+        return bulletTextures.get(name);
+    }
+    
+    public TextureRegion getGunTexture(String name) {
+        ensureCoreLoaded();
+        return gunTextures.get(name);
+    }
+    
+    public TextureRegion getTargetTexture(String name) {
+        ensureCoreLoaded();
+        return targetTextures.get(name);
+    }
+    
+    public TextureRegion getScoreTexture(String name) {
+        ensureCoreLoaded();
+        return scoreTextures.get(name);
+    }
+    
     /**
-     * Gets the current frame of the target destruction animation.
-     * @param time The current animation time for a specific target.
-     * @return The current TextureRegion from the target animation.
+     * Returns the gun's shooting Animation object, played by each Gun with its own clock.
+     * @return The Animation<TextureRegion> for the gun.
      */
-    public TextureRegion getCurrentTargetFrame(float time) {
-        return targetAnimation.getKeyFrame(time, false); // false = don't loop
+    public Animation<TextureRegion> getGunAnimation() {
+        ensureCoreLoaded();
+        return gunAnimation;
+    }
+
+    /**
+     * Returns the bullet casing Animation object, played by each casing with its own clock.
+     * @return The Animation<TextureRegion> for an ejected casing.
+     */
+    public Animation<TextureRegion> getBulletCasingAnimation() {
+        ensureCoreLoaded();
+        return bulletCasingAnimation;
     }
 
     /**
@@ -242,6 +473,7 @@ public class GameAssets implements Disposable {
      * @return The Animation<TextureRegion> for target destruction.
      */
     public Animation<TextureRegion> getTargetAnimation() {
+        ensureCoreLoaded();
         return targetAnimation;
     }
 
@@ -251,49 +483,24 @@ public class GameAssets implements Disposable {
      * @return The default BitmapFont.
      */
     public BitmapFont getFont(String name) {
+        ensureCoreLoaded();
         // Currently only one font is loaded, so 'name' parameter is ignored.
         // Could be extended to load multiple fonts if needed.
         return defaultFont;
     }
 
     /**
-     * Disposes of all textures to prevent memory leaks
+     * Disposes of all atlases and textures to prevent memory leaks
      */
     @Override
     public void dispose() {
-        // Dispose all bar textures
-        for (Texture texture : barTextures.values()) {
-            texture.dispose();
-        }
-        
-        // Dispose all crosshair textures
-        for (Texture texture : crosshairTextures.values()) {
-            texture.dispose();
-        }
-        
-        // Dispose all bullet textures
-        for (Texture texture : bulletTextures.values()) {
-            texture.dispose();
-        }
-        
-        // Dispose all gun textures
-        for (Texture texture : gunTextures.values()) {
-            texture.dispose();
-        }
-        
-        // Dispose all target textures
-        for (Texture texture : targetTextures.values()) {
-            texture.dispose();
-        }
-        
-        // Dispose all score textures
-        for (Texture texture : scoreTextures.values()) {
-            texture.dispose();
-        }
-
-        // Dispose font
+        // Dispose font; it does not own the skin texture it draws from
         if (defaultFont != null) {
             defaultFont.dispose();
         }
+
+        // Dispose everything loaded through the asset manager
+        manager.dispose();
+        instance = null;
     }
 }
@@ -0,0 +1,332 @@
+package io.github.some_example_name.beatmap;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass parser for *_analysis.json that reads the raw UTF-8 bytes and fills a
+ * {@link Beatmap}'s primitive arrays directly. Only "tempo" and "tap_targets" are read; the
+ * other arrays (beat_times, onset_times, ideal_beat_times, ...) make up most of the file and are
+ * skipped without building values or strings for them, so a parse allocates little more than
+ * the resulting float arrays.
+ * <p>
+ * Numbers are parsed in place: up to 19 significant digits are accumulated into a long and
+ * scaled by a power of ten, which is exact to well within float precision.
+ */
+final class AnalysisJsonParser {
+    private static final byte[] TEMPO = ascii("tempo");
+    private static final byte[] TAP_TARGETS = ascii("tap_targets");
+    private static final byte[] TIME = ascii("time");
+    private static final byte[] WINDOW = ascii("window");
+    private static final byte[] CONFIDENCE = ascii("confidence");
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final byte[] json;
+    private int pos;
+
+    private float tempo;
+    private int count;
+    private float[] tapTimes = new float[0];
+    private float[] windowStarts = new float[0];
+    private float[] windowEnds = new float[0];
+    private float[] confidences = new float[0];
+
+    private AnalysisJsonParser(byte[] json) {
+        this.json = json;
+    }
+
+    static Beatmap parse(byte[] analysisJson) {
+        return new AnalysisJsonParser(analysisJson).parseRoot();
+    }
+
+    private Beatmap parseRoot() {
+        expect('{');
+        if (!consume('}')) {
+            do {
+                int keyStart = readKey();
+                if (keyEquals(keyStart, TEMPO)) {
+                    tempo = (float) readNumber();
+                } else if (keyEquals(keyStart, TAP_TARGETS)) {
+                    readTapTargets();
+                } else {
+                    skipValue();
+                }
+            } while (consume(','));
+            expect('}');
+        }
+        return new Beatmap(tempo,
+            Arrays.copyOf(tapTimes, count),
+            Arrays.copyOf(windowStarts, count),
+            Arrays.copyOf(windowEnds, count),
+            Arrays.copyOf(confidences, count));
+    }
+
+    private void readTapTargets() {
+        if (consumeNull()) {
+            return;
+        }
+        expect('[');
+        if (consume(']')) {
+            return;
+        }
+        do {
+            readTapTarget();
+        } while (consume(','));
+        expect(']');
+    }
+
+    private void readTapTarget() {
+        float time = 0f;
+        float windowStart = Float.NaN;
+        float windowEnd = Float.NaN;
+        float confidence = 0f;
+
+        expect('{');
+        if (!consume('}')) {
+            do {
+                int keyStart = readKey();
+                if (keyEquals(keyStart, TIME)) {
+                    time = (float) readNumber();
+                } else if (keyEquals(keyStart, CONFIDENCE)) {
+                    confidence = (float) readNumber();
+                } else if (keyEquals(keyStart, WINDOW) && !consumeNull()) {
+                    expect('[');
+                    if (!consume(']')) {
+                        windowStart = (float) readNumber();
+                        if (consume(',')) {
+                            windowEnd = (float) readNumber();
+                            while (consume(',')) {
+                                skipValue();
+                            }
+                        }
+                        expect(']');
+                    }
+                } else {
+                    skipValue();
+                }
+            } while (consume(','));
+            expect('}');
+        }
+
+        if (count == tapTimes.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, count + (count >> 1));
+            tapTimes = Arrays.copyOf(tapTimes, capacity);
+            windowStarts = Arrays.copyOf(windowStarts, capacity);
+            windowEnds = Arrays.copyOf(windowEnds, capacity);
+            confidences = Arrays.copyOf(confidences, capacity);
+        }
+        // A missing window bound collapses onto the tap time, as the analysis script never omits them
+        tapTimes[count] = time;
+        windowStarts[count] = Float.isNaN(windowStart) ? time : windowStart;
+        windowEnds[count] = Float.isNaN(windowEnd) ? time : windowEnd;
+        confidences[count] = confidence;
+        count++;
+    }
+
+    /**
+     * Reads an object key and the following colon.
+     * @return the offset of the key's first byte; the key ends at the closing quote
+     */
+    private int readKey() {
+        expect('"');
+        int start = pos;
+        skipStringBody();
+        expect(':');
+        return start;
+    }
+
+    // Keys we look for are plain ASCII, so an escaped key can never match and a byte compare is enough
+    private boolean keyEquals(int start, byte[] key) {
+        int end = start + key.length;
+        if (end >= json.length || json[end] != '"') {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (json[start + i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double readNumber() {
+        skipWhitespace();
+        boolean negative = false;
+        if (pos < json.length && json[pos] == '-') {
+            negative = true;
+            pos++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean any = false;
+        while (pos < json.length && isDigit(json[pos])) {
+            any = true;
+            if (digits < 19) {
+                mantissa = mantissa * 10 + (json[pos] - '0');
+                if (mantissa != 0) digits++;
+            } else {
+                exponent++;
+            }
+            pos++;
+        }
+        if (pos < json.length && json[pos] == '.') {
+            pos++;
+            while (pos < json.length && isDigit(json[pos])) {
+                any = true;
+                if (digits < 19) {
+                    mantissa = mantissa * 10 + (json[pos] - '0');
+                    if (mantissa != 0) digits++;
+                    exponent--;
+                }
+                pos++;
+            }
+        }
+        if (!any) {
+            throw error("Expected a number");
+        }
+        if (pos < json.length && (json[pos] == 'e' || json[pos] == 'E')) {
+            pos++;
+            boolean negativeExponent = false;
+            if (pos < json.length && (json[pos] == '+' || json[pos] == '-')) {
+                negativeExponent = json[pos] == '-';
+                pos++;
+            }
+            int explicit = 0;
+            if (pos >= json.length || !isDigit(json[pos])) {
+                throw error("Expected an exponent");
+            }
+            while (pos < json.length && isDigit(json[pos])) {
+                if (explicit < 10000) explicit = explicit * 10 + (json[pos] - '0');
+                pos++;
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+
+        double value = mantissa;
+        if (exponent < 0) {
+            value = -exponent < POWERS_OF_TEN.length ? value / POWERS_OF_TEN[-exponent] : value / Math.pow(10, -exponent);
+        } else if (exponent > 0) {
+            value = exponent < POWERS_OF_TEN.length ? value * POWERS_OF_TEN[exponent] : value * Math.pow(10, exponent);
+        }
+        return negative ? -value : value;
+    }
+
+    private void skipValue() {
+        skipWhitespace();
+        if (pos >= json.length) {
+            throw error("Unexpected end of input");
+        }
+        byte b = json[pos];
+        if (b == '"') {
+            pos++;
+            skipStringBody();
+        } else if (b == '{' || b == '[') {
+            skipContainer();
+        } else if (b == 't') {
+            skipLiteral("true");
+        } else if (b == 'f') {
+            skipLiteral("false");
+        } else if (b == 'n') {
+            skipLiteral("null");
+        } else {
+            readNumber();
+        }
+    }
+
+    // Skips a whole object or array by tracking depth; brackets inside strings are ignored
+    private void skipContainer() {
+        int depth = 0;
+        do {
+            if (pos >= json.length) {
+                throw error("Unterminated object or array");
+            }
+            byte b = json[pos++];
+            if (b == '"') {
+                skipStringBody();
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                depth--;
+            }
+        } while (depth > 0);
+    }
+
+    // Called just after an opening quote; leaves pos after the closing quote
+    private void skipStringBody() {
+        while (pos < json.length) {
+            byte b = json[pos++];
+            if (b == '\\') {
+                pos++;
+            } else if (b == '"') {
+                return;
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private void skipLiteral(String literal) {
+        for (int i = 0; i < literal.length(); i++, pos++) {
+            if (pos >= json.length || json[pos] != literal.charAt(i)) {
+                throw error("Expected " + literal);
+            }
+        }
+    }
+
+    private boolean consumeNull() {
+        skipWhitespace();
+        if (pos < json.length && json[pos] == 'n') {
+            skipLiteral("null");
+            return true;
+        }
+        return false;
+    }
+
+    private boolean consume(char c) {
+        skipWhitespace();
+        if (pos < json.length && json[pos] == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!consume(c)) {
+            throw error("Expected '" + c + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < json.length) {
+            byte b = json[pos];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private GdxRuntimeException error(String message) {
+        return new GdxRuntimeException("Invalid analysis JSON: " + message + " at byte " + pos);
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static byte[] ascii(String s) {
+        byte[] bytes = new byte[s.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) s.charAt(i);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.some_example_name.beatmap;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.SerializationException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records, for every track in the music folder, the content hash of the MP3 and the version of
+ * ANALYZE.py its analysis was made with, so that a track is only analysed again when either has
+ * changed. Each entry also keeps the MP3's size and modification time: while those match, the
+ * track is taken as unchanged without reading it, so checking an unchanged folder costs one file
+ * listing.
+ */
+public class AnalysisManifest {
+    public static final String FILE_NAME = "analysis_manifest.json";
+
+    /**
+     * One track's entry, as stored in the manifest file.
+     */
+    public static class Track {
+        public String musicFileName;
+        public long size;
+        public long modified;
+        public String hash; // SHA-256 of the MP3, hex
+        public String analysisFileName;
+        public String analyzerVersion; // SHA-256 of the ANALYZE.py that wrote the analysis, hex
+    }
+
+    // The file's root object
+    public static class Tracks {
+        public Array<Track> tracks = new Array<>();
+    }
+
+    private final FileHandle file;
+    private final boolean existed;
+    private final Map<String, Track> tracks = new LinkedHashMap<>();
+
+    private AnalysisManifest(FileHandle file, boolean existed) {
+        this.file = file;
+        this.existed = existed;
+    }
+
+    /**
+     * Reads the manifest in the given folder; a missing or unreadable one reads as empty.
+     */
+    public static AnalysisManifest load(FileHandle musicDir) {
+        FileHandle file = musicDir.child(FILE_NAME);
+        AnalysisManifest manifest = new AnalysisManifest(file, file.exists());
+        if (!manifest.existed) {
+            return manifest;
+        }
+        try {
+            Tracks stored = new Json().fromJson(Tracks.class, file);
+            if (stored != null && stored.tracks != null) {
+                for (Track track : stored.tracks) {
+                    if (track != null && track.musicFileName != null) {
+                        manifest.tracks.put(track.musicFileName, track);
+                    }
+                }
+            }
+        } catch (SerializationException e) {
+            Gdx.app.error("AnalysisManifest", "Unreadable manifest " + file.path() + ", every track will be checked", e);
+        }
+        return manifest;
+    }
+
+    /**
+     * False on the first launch with a manifest, when analyses made before it have no entries.
+     */
+    public boolean existed() {
+        return existed;
+    }
+
+    public Track get(String musicFileName) {
+        return tracks.get(musicFileName);
+    }
+
+    public void put(Track track) {
+        tracks.put(track.musicFileName, track);
+    }
+
+    /**
+     * Drops the entries of tracks that are no longer in the folder.
+     * @return true if any were dropped
+     */
+    public boolean retainOnly(Set<String> musicFileNames) {
+        return tracks.keySet().retainAll(new HashSet<>(musicFileNames));
+    }
+
+    /**
+     * Writes the manifest to a temporary file first and moves it into place, so an interrupted
+     * write leaves the previous manifest intact.
+     */
+    public void save() {
+        Tracks stored = new Tracks();
+        for (Track track : tracks.values()) {
+            stored.tracks.add(track);
+        }
+        Json json = new Json(JsonWriter.OutputType.json);
+        json.setUsePrototypes(false);
+        FileHandle temp = file.sibling(FILE_NAME + ".tmp");
+        try {
+            temp.writeString(json.prettyPrint(stored), false, "UTF-8");
+            temp.moveTo(file);
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("AnalysisManifest", "Could not save " + file.path(), e);
+        }
+    }
+
+    /**
+     * @return the SHA-256 of the file's contents as lower-case hex, read in chunks
+     */
+    public static String hash(FileHandle file) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new GdxRuntimeException("SHA-256 not available", e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        InputStream in = file.read();
+        try {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error hashing " + file.path(), e);
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+        byte[] bytes = digest.digest();
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
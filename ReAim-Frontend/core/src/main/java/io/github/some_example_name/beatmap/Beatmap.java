@@ -0,0 +1,68 @@
+package io.github.some_example_name.beatmap;
+
+/**
+ * The gameplay part of a level's analysis: its tap targets as parallel primitive arrays,
+ * sorted by time. Built from the *_analysis.json or read back from a compiled .beatmap file.
+ */
+public class Beatmap {
+    private final float tempo;
+    private final float[] tapTimes;
+    private final float[] windowStarts;
+    private final float[] windowEnds;
+    private final float[] confidences;
+
+    public Beatmap(float tempo, float[] tapTimes, float[] windowStarts, float[] windowEnds, float[] confidences) {
+        if (windowStarts.length != tapTimes.length || windowEnds.length != tapTimes.length || confidences.length != tapTimes.length) {
+            throw new IllegalArgumentException("Beatmap arrays must all have the same length");
+        }
+        this.tempo = tempo;
+        this.tapTimes = tapTimes;
+        this.windowStarts = windowStarts;
+        this.windowEnds = windowEnds;
+        this.confidences = confidences;
+    }
+
+    public float getTempo() { return tempo; }
+
+    /** Number of tap targets. */
+    public int size() { return tapTimes.length; }
+
+    /** Time in seconds at which target i should be hit. */
+    public float getTapTime(int i) { return tapTimes[i]; }
+
+    /** Start of target i's hit window, in seconds. */
+    public float getWindowStart(int i) { return windowStarts[i]; }
+
+    /** End of target i's hit window, in seconds. */
+    public float getWindowEnd(int i) { return windowEnds[i]; }
+
+    public float getConfidence(int i) { return confidences[i]; }
+
+    /**
+     * Finds the tap target a shot at the given time lands on, by binary search over the sorted
+     * tap times. Only the taps either side of the time are looked at; when both windows contain
+     * it, the closer tap wins.
+     * @return the index of the tap whose hit window contains the time, or -1 if it is off beat
+     */
+    public int findTap(float time) {
+        int low = 0;
+        int high = tapTimes.length;
+        // First tap after the time
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tapTimes[mid] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int before = low - 1;
+        int after = low;
+        boolean inBefore = before >= 0 && windowStarts[before] <= time && time <= windowEnds[before];
+        boolean inAfter = after < tapTimes.length && windowStarts[after] <= time && time <= windowEnds[after];
+        if (inBefore && inAfter) {
+            return time - tapTimes[before] <= tapTimes[after] - time ? before : after;
+        }
+        return inBefore ? before : inAfter ? after : -1;
+    }
+}
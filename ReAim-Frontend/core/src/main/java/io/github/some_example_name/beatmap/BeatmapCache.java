@@ -0,0 +1,118 @@
+package io.github.some_example_name.beatmap;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of loaded beatmaps, keyed by level id. Beatmaps are loaded on demand, either
+ * synchronously by {@link #get} or in the background by {@link #preload}; a get for a level that
+ * is still preloading waits for that load instead of starting another one.
+ */
+public class BeatmapCache {
+    private final int capacity;
+    // Access-ordered so the least recently used beatmap is dropped first
+    private final LinkedHashMap<String, Beatmap> beatmaps;
+    private final Map<String, AsyncResult<Beatmap>> pending = new HashMap<>();
+    private final AsyncExecutor executor = new AsyncExecutor(1, "BeatmapPreloader");
+
+    public BeatmapCache(final int capacity) {
+        this.capacity = capacity;
+        this.beatmaps = new LinkedHashMap<String, Beatmap>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Beatmap> eldest) {
+                return size() > BeatmapCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the level's beatmap, loading it on the calling thread if it is neither cached nor
+     * being preloaded. Returns null if it cannot be loaded.
+     */
+    public Beatmap get(String levelId, FileHandle analysisFile) {
+        AsyncResult<Beatmap> inFlight;
+        synchronized (this) {
+            Beatmap cached = beatmaps.get(levelId);
+            if (cached != null) {
+                return cached;
+            }
+            inFlight = pending.get(levelId);
+        }
+        if (inFlight != null) {
+            try {
+                return inFlight.get();
+            } catch (GdxRuntimeException e) {
+                Gdx.app.error("BeatmapCache", "Preloading beatmap for " + levelId + " failed, retrying", e);
+            }
+        }
+        try {
+            Beatmap beatmap = BeatmapLoader.load(analysisFile);
+            synchronized (this) {
+                beatmaps.put(levelId, beatmap);
+            }
+            return beatmap;
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("BeatmapCache", "Could not load beatmap for " + levelId + " from " + analysisFile.path(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Starts loading the level's beatmap in the background unless it is cached or already loading.
+     */
+    public synchronized void preload(final String levelId, final FileHandle analysisFile) {
+        if (beatmaps.containsKey(levelId) || pending.containsKey(levelId)) {
+            return;
+        }
+        pending.put(levelId, executor.submit(new AsyncTask<Beatmap>() {
+            @Override
+            public Beatmap call() {
+                try {
+                    Beatmap beatmap = BeatmapLoader.load(analysisFile);
+                    synchronized (BeatmapCache.this) {
+                        beatmaps.put(levelId, beatmap);
+                    }
+                    return beatmap;
+                } finally {
+                    synchronized (BeatmapCache.this) {
+                        pending.remove(levelId);
+                    }
+                }
+            }
+        }));
+    }
+
+    /**
+     * True if the level's beatmap is cached, i.e. a get will not block.
+     */
+    public synchronized boolean isLoaded(String levelId) {
+        return beatmaps.containsKey(levelId);
+    }
+
+    /**
+     * True if the level's beatmap is neither cached nor loading, e.g. because its preload failed.
+     */
+    public synchronized boolean isIdle(String levelId) {
+        return !beatmaps.containsKey(levelId) && !pending.containsKey(levelId);
+    }
+
+    /**
+     * Drops the level's cached beatmap, e.g. after its analysis file was rewritten, so the next
+     * get or preload reads the file again.
+     */
+    public synchronized void invalidate(String levelId) {
+        beatmaps.remove(levelId);
+    }
+
+    public synchronized int size() {
+        return beatmaps.size();
+    }
+}
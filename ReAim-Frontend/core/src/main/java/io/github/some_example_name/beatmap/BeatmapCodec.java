@@ -0,0 +1,114 @@
+package io.github.some_example_name.beatmap;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Converts analysis JSON into a {@link Beatmap} and reads/writes the compiled binary form.
+ * <p>
+ * Layout, all little-endian:
+ * <pre>
+ * int   magic         'R' 'A' 'B' 'M'
+ * int   version
+ * long  sourceHash    CRC32 of the analysis JSON bytes the file was compiled from
+ * float tempo
+ * int   count
+ * float tapTimes[count]
+ * float windowStarts[count]
+ * float windowEnds[count]
+ * float confidences[count]
+ * </pre>
+ */
+public final class BeatmapCodec {
+    public static final String EXTENSION = ".beatmap";
+
+    private static final int MAGIC = 0x4D424152; // "RABM" read little-endian
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4;
+
+    private BeatmapCodec() {
+    }
+
+    /** Checksum stored in the header, used to tell whether a compiled beatmap is stale. */
+    public static long hash(byte[] analysisJson) {
+        CRC32 crc = new CRC32();
+        crc.update(analysisJson, 0, analysisJson.length);
+        return crc.getValue();
+    }
+
+    /**
+     * Builds a beatmap from the UTF-8 bytes of an analysis JSON file, reading only tempo and
+     * tap_targets. See {@link AnalysisJsonParser}.
+     */
+    public static Beatmap fromAnalysisJson(byte[] analysisJson) {
+        return AnalysisJsonParser.parse(analysisJson);
+    }
+
+    /**
+     * Returns the source hash from a compiled beatmap's header, or -1 if the buffer is not a
+     * beatmap of the current version. Does not move the buffer's position.
+     */
+    public static long readSourceHash(ByteBuffer buffer) {
+        ByteBuffer header = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+            return -1L;
+        }
+        return header.getLong();
+    }
+
+    /**
+     * Reads a compiled beatmap. The float arrays are bulk-copied from the buffer without boxing.
+     */
+    public static Beatmap read(ByteBuffer buffer) {
+        ByteBuffer in = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC) {
+            throw new GdxRuntimeException("Not a compiled beatmap");
+        }
+        int version = in.getInt();
+        if (version != VERSION) {
+            throw new GdxRuntimeException("Unsupported beatmap version: " + version);
+        }
+        in.getLong(); // source hash
+        float tempo = in.getFloat();
+        int count = in.getInt();
+        if (count < 0 || in.remaining() < count * 4L * 4L) {
+            throw new GdxRuntimeException("Truncated beatmap: " + count + " targets declared");
+        }
+
+        FloatBuffer floats = in.asFloatBuffer();
+        float[] tapTimes = new float[count];
+        float[] windowStarts = new float[count];
+        float[] windowEnds = new float[count];
+        float[] confidences = new float[count];
+        floats.get(tapTimes);
+        floats.get(windowStarts);
+        floats.get(windowEnds);
+        floats.get(confidences);
+        return new Beatmap(tempo, tapTimes, windowStarts, windowEnds, confidences);
+    }
+
+    public static byte[] encode(Beatmap beatmap, long sourceHash) {
+        int count = beatmap.size();
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + count * 4 * 4).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC);
+        out.putInt(VERSION);
+        out.putLong(sourceHash);
+        out.putFloat(beatmap.getTempo());
+        out.putInt(count);
+        for (int i = 0; i < count; i++) out.putFloat(beatmap.getTapTime(i));
+        for (int i = 0; i < count; i++) out.putFloat(beatmap.getWindowStart(i));
+        for (int i = 0; i < count; i++) out.putFloat(beatmap.getWindowEnd(i));
+        for (int i = 0; i < count; i++) out.putFloat(beatmap.getConfidence(i));
+        return out.array();
+    }
+
+    /** Compiled file name for an analysis file, e.g. "Blue Moon_analysis.json" -> "Blue Moon_analysis.beatmap". */
+    public static String compiledName(String analysisFileName) {
+        int dot = analysisFileName.lastIndexOf('.');
+        return (dot > 0 ? analysisFileName.substring(0, dot) : analysisFileName) + EXTENSION;
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.some_example_name.beatmap;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Loads a level's beatmap, preferring a compiled .beatmap whose header hash matches the current
+ * analysis JSON. Looks next to the JSON first (written by the compileBeatmaps Gradle task), then in
+ * a local cache; if neither is fresh the JSON is compiled once and the result cached locally.
+ */
+public final class BeatmapLoader {
+    private static final String CACHE_DIR = "beatmaps/";
+
+    private BeatmapLoader() {
+    }
+
+    public static Beatmap load(FileHandle analysisFile) {
+        byte[] analysisJson = analysisFile.readBytes();
+        long sourceHash = BeatmapCodec.hash(analysisJson);
+        String compiledName = BeatmapCodec.compiledName(analysisFile.name());
+
+        Beatmap beatmap = readIfFresh(analysisFile.sibling(compiledName), sourceHash);
+        if (beatmap != null) {
+            return beatmap;
+        }
+        FileHandle cached = Gdx.files.isLocalStorageAvailable() ? Gdx.files.local(CACHE_DIR + compiledName) : null;
+        beatmap = cached != null ? readIfFresh(cached, sourceHash) : null;
+        if (beatmap != null) {
+            return beatmap;
+        }
+
+        Gdx.app.log("BeatmapLoader", "Compiling beatmap for " + analysisFile.name());
+        beatmap = BeatmapCodec.fromAnalysisJson(analysisJson);
+        if (cached != null) {
+            try {
+                cached.writeBytes(BeatmapCodec.encode(beatmap, sourceHash), false);
+            } catch (GdxRuntimeException e) {
+                Gdx.app.error("BeatmapLoader", "Could not cache compiled beatmap " + cached.path(), e);
+            }
+        }
+        return beatmap;
+    }
+
+    private static Beatmap readIfFresh(FileHandle compiled, long sourceHash) {
+        if (!compiled.exists()) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = map(compiled);
+            if (BeatmapCodec.readSourceHash(buffer) != sourceHash) {
+                Gdx.app.debug("BeatmapLoader", "Stale compiled beatmap: " + compiled.path());
+                return null;
+            }
+            return BeatmapCodec.read(buffer);
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("BeatmapLoader", "Could not read compiled beatmap " + compiled.path(), e);
+            return null;
+        }
+    }
+
+    // Memory-mapped where the file lives on disk (desktop); files inside a jar are read into a heap buffer
+    private static ByteBuffer map(FileHandle file) {
+        try {
+            return file.map();
+        } catch (GdxRuntimeException e) {
+            return ByteBuffer.wrap(file.readBytes());
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package io.github.some_example_name.ecs;
+
+import com.artemis.ComponentMapper;
+import com.artemis.World;
+import com.artemis.WorldConfigurationBuilder;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import io.github.some_example_name.assets.GameAssets;
+import io.github.some_example_name.ecs.components.Animated;
+import io.github.some_example_name.ecs.components.Destroyed;
+import io.github.some_example_name.ecs.components.HitBox;
+import io.github.some_example_name.ecs.components.Lifetime;
+import io.github.some_example_name.ecs.components.Position;
+import io.github.some_example_name.ecs.components.Sprite;
+import io.github.some_example_name.ecs.components.Trajectory;
+import io.github.some_example_name.ecs.systems.AnimationSystem;
+import io.github.some_example_name.ecs.systems.HitDetectionSystem;
+import io.github.some_example_name.ecs.systems.LifetimeSystem;
+import io.github.some_example_name.ecs.systems.RenderSystem;
+import io.github.some_example_name.ecs.systems.TargetCullSystem;
+import io.github.some_example_name.ecs.systems.TrajectorySystem;
+
+/**
+ * The artemis-odb world holding a level's targets, bullet casings and score popups, plus the
+ * factory methods that create them. Components are pooled and stored per type by entity id, so
+ * each system walks one flat array per component; the gun and crosshair stay plain objects in
+ * GameScreen, as there is only ever one of each.
+ * <p>
+ * Systems run in this order on {@link #update}: trajectories, animation, lifetimes, culling of
+ * off-screen targets, then refiling targets in the hit-detection grid. Rendering happens
+ * separately through {@link #draw}. Every system works from elapsed time alone, so a single
+ * update of any length jumps straight to the same state as many small ones would reach.
+ */
+public class GameplayWorld {
+    private static final float TARGET_SCALE = 0.3f;
+    private static final float TARGET_GRAVITY = -500f; // Reduced gravity for more hang time and height
+    private static final float SCORE_EFFECT_SCALE = 0.5f;
+
+    private final World world;
+    private final TrajectorySystem trajectorySystem;
+    private final TargetCullSystem targetCullSystem;
+    private final HitDetectionSystem hitDetectionSystem;
+    private final RenderSystem renderSystem;
+
+    private final ComponentMapper<Position> mPosition;
+    private final ComponentMapper<Trajectory> mTrajectory;
+    private final ComponentMapper<Sprite> mSprite;
+    private final ComponentMapper<Animated> mAnimated;
+    private final ComponentMapper<Lifetime> mLifetime;
+    private final ComponentMapper<HitBox> mHitBox;
+    private final ComponentMapper<Destroyed> mDestroyed;
+
+    private final TextureRegion targetTexture;
+    private final Animation<TextureRegion> targetAnimation;
+    private final Animation<TextureRegion> casingAnimation;
+    private final float targetWidth;
+    private final float targetHeight;
+
+    /**
+     * @param targetTexture sprite of a live target; also sets the size of its hit box
+     * @param targetAnimation played once a target is shot
+     * @param casingAnimation played by each ejected bullet casing
+     * @param screenHeight targets above this height are removed
+     */
+    public GameplayWorld(TextureRegion targetTexture, Animation<TextureRegion> targetAnimation,
+                         Animation<TextureRegion> casingAnimation, float screenHeight) {
+        this.targetTexture = targetTexture;
+        this.targetAnimation = targetAnimation;
+        this.casingAnimation = casingAnimation;
+        targetWidth = GameAssets.regionWidth(targetTexture) * TARGET_SCALE;
+        targetHeight = GameAssets.regionHeight(targetTexture) * TARGET_SCALE;
+
+        trajectorySystem = new TrajectorySystem();
+        targetCullSystem = new TargetCullSystem(screenHeight);
+        hitDetectionSystem = new HitDetectionSystem(Math.max(1f, Math.max(targetWidth, targetHeight)));
+        renderSystem = new RenderSystem();
+        world = new World(new WorldConfigurationBuilder()
+            .with(trajectorySystem,
+                new AnimationSystem(),
+                new LifetimeSystem(),
+                targetCullSystem,
+                hitDetectionSystem,
+                renderSystem)
+            .build());
+
+        mPosition = world.getMapper(Position.class);
+        mTrajectory = world.getMapper(Trajectory.class);
+        mSprite = world.getMapper(Sprite.class);
+        mAnimated = world.getMapper(Animated.class);
+        mLifetime = world.getMapper(Lifetime.class);
+        mHitBox = world.getMapper(HitBox.class);
+        mDestroyed = world.getMapper(Destroyed.class);
+    }
+
+    /**
+     * Advances every entity by one simulation step. GameScreen calls this with a fixed step, so
+     * the outcome does not depend on the frame rate.
+     */
+    public void update(float deltaTime) {
+        world.setDelta(deltaTime);
+        world.process();
+    }
+
+    /**
+     * Draws the sprites in one of the RenderSystem layers; the batch must already have begun.
+     * @param alpha fraction of a step since the last update, to place flying entities by
+     */
+    public void draw(Batch batch, int layer, float alpha) {
+        renderSystem.draw(batch, layer, alpha);
+    }
+
+    /**
+     * Spawns a target that flies up from the given point and falls back under gravity.
+     * @return the target's entity id
+     */
+    public int createTarget(float x, float y, float velocityY) {
+        int entityId = world.create();
+        mPosition.create(entityId).set(x, y);
+        mTrajectory.create(entityId).set(y, velocityY, TARGET_GRAVITY, trajectorySystem.getTime());
+        mSprite.create(entityId).set(targetTexture, TARGET_SCALE, RenderSystem.LAYER_TARGETS);
+        mHitBox.create(entityId).set(targetWidth, targetHeight);
+        return entityId;
+    }
+
+    /**
+     * Ejects a bullet casing that plays its animation once at the given point.
+     * @return the casing's entity id
+     */
+    public int createCasing(float x, float y) {
+        int entityId = world.create();
+        mPosition.create(entityId).set(x, y);
+        Animated animated = mAnimated.create(entityId).set(casingAnimation, false, true);
+        mSprite.create(entityId).set(casingAnimation != null ? animated.clock.getFrame(casingAnimation, false) : null,
+            1f, RenderSystem.LAYER_CASINGS);
+        return entityId;
+    }
+
+    /**
+     * Shows a score popup centred on the given point that fades out over its lifetime.
+     * @return the popup's entity id
+     */
+    public int createScoreEffect(TextureRegion texture, float centerX, float centerY, float lifetime) {
+        float width = GameAssets.regionWidth(texture) * SCORE_EFFECT_SCALE;
+        float height = GameAssets.regionHeight(texture) * SCORE_EFFECT_SCALE;
+        int entityId = world.create();
+        mPosition.create(entityId).set(centerX - width / 2f, centerY - height / 2f);
+        mSprite.create(entityId).set(texture, SCORE_EFFECT_SCALE, RenderSystem.LAYER_EFFECTS);
+        mLifetime.create(entityId).set(lifetime);
+        return entityId;
+    }
+
+    /**
+     * Marks a target as shot: it can no longer be hit, and plays its destruction animation while
+     * it keeps falling.
+     */
+    public void destroyTarget(int entityId) {
+        if (mDestroyed.has(entityId)) {
+            return;
+        }
+        mDestroyed.create(entityId);
+        mAnimated.create(entityId).set(targetAnimation, false, false);
+    }
+
+    /**
+     * @return the live target hit by a shot at the given point, closest centre first, or -1
+     */
+    public int findHit(float pointX, float pointY) {
+        return hitDetectionSystem.findHit(pointX, pointY);
+    }
+
+    /**
+     * Resolves a shot fired part way through the last update, against where the targets were
+     * at that moment.
+     * @param alpha 0 for the state before the last update, 1 for the current one
+     * @return the live target hit, closest centre first, or -1
+     */
+    public int findHit(float pointX, float pointY, float alpha) {
+        return hitDetectionSystem.findHit(pointX, pointY, alpha);
+    }
+
+    public float getCenterX(int targetId) {
+        return mHitBox.get(targetId).centerX(mPosition.get(targetId));
+    }
+
+    public float getCenterY(int targetId) {
+        return mHitBox.get(targetId).centerY(mPosition.get(targetId));
+    }
+
+    /**
+     * @param alpha how far through the last update, as for {@link #findHit(float, float, float)}
+     */
+    public float getCenterX(int targetId, float alpha) {
+        return getCenterX(targetId); // Targets only move vertically
+    }
+
+    public float getCenterY(int targetId, float alpha) {
+        if (alpha >= 1f) {
+            return getCenterY(targetId);
+        }
+        float y = mTrajectory.get(targetId).yBefore((1f - alpha) * world.getDelta());
+        return y + mHitBox.get(targetId).height / 2f;
+    }
+
+    public HitBox getHitBox(int targetId) {
+        return mHitBox.get(targetId);
+    }
+
+    /**
+     * Drawn size of a target, which is also its hit box.
+     */
+    public float getTargetWidth() {
+        return targetWidth;
+    }
+
+    public float getTargetHeight() {
+        return targetHeight;
+    }
+
+    /**
+     * @return targets on screen, live or destroyed, as of the last update
+     */
+    public int getTargetCount() {
+        return targetCullSystem.getTargetCount();
+    }
+
+    /**
+     * The underlying artemis world, for tools that inspect entities directly.
+     */
+    public World getWorld() {
+        return world;
+    }
+
+    public void dispose() {
+        world.dispose();
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.some_example_name.ecs.components;
+
+import com.artemis.PooledComponent;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import io.github.some_example_name.models.AnimationClock;
+
+/**
+ * Plays an animation into the entity's Sprite. Entities marked deleteWhenFinished (bullet
+ * casings) are removed once the last frame has been shown.
+ */
+public class Animated extends PooledComponent {
+    public Animation<TextureRegion> animation;
+    public final AnimationClock clock = new AnimationClock();
+    public boolean looping;
+    public boolean deleteWhenFinished;
+
+    public Animated set(Animation<TextureRegion> animation, boolean looping, boolean deleteWhenFinished) {
+        this.animation = animation;
+        this.looping = looping;
+        this.deleteWhenFinished = deleteWhenFinished;
+        clock.reset();
+        return this;
+    }
+
+    public boolean isFinished() {
+        return animation == null || clock.isFinished(animation);
+    }
+
+    @Override
+    protected void reset() {
+        animation = null;
+        clock.reset();
+        looping = false;
+        deleteWhenFinished = false;
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.some_example_name.ecs.components;
+
+import com.artemis.PooledComponent;
+
+/**
+ * Tags a target that has been shot: it can no longer be hit and plays its destruction
+ * animation while it falls off screen.
+ */
+public class Destroyed extends PooledComponent {
+    @Override
+    protected void reset() {
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.some_example_name.ecs.components;
+
+import com.artemis.PooledComponent;
+
+/**
+ * Marks a shootable target and gives the size of its bounds, starting at its Position.
+ */
+public class HitBox extends PooledComponent {
+    public float width;
+    public float height;
+
+    public HitBox set(float width, float height) {
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    public float centerX(Position position) {
+        return position.x + width / 2f;
+    }
+
+    public float centerY(Position position) {
+        return position.y + height / 2f;
+    }
+
+    public boolean contains(Position position, float pointX, float pointY) {
+        return contains(position.x, position.y, pointX, pointY);
+    }
+
+    /**
+     * @param left x of the bounds' bottom-left corner, e.g. an interpolated position
+     * @param bottom y of the bounds' bottom-left corner
+     */
+    public boolean contains(float left, float bottom, float pointX, float pointY) {
+        return left <= pointX && left + width >= pointX
+            && bottom <= pointY && bottom + height >= pointY;
+    }
+
+    @Override
+    protected void reset() {
+        width = 0f;
+        height = 0f;
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.some_example_name.ecs.components;
+
+import com.artemis.PooledComponent;
+
+/**
+ * Limits how long an entity lives; its Sprite fades out linearly over the lifetime.
+ */
+public class Lifetime extends PooledComponent {
+    public float age;
+    public float duration;
+
+    public Lifetime set(float duration) {
+        this.age = 0f;
+        this.duration = duration;
+        return this;
+    }
+
+    @Override
+    protected void reset() {
+        age = 0f;
+        duration = 0f;
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.some_example_name.ecs.components;
+
+import com.artemis.PooledComponent;
+
+/**
+ * Bottom-left corner of an entity's sprite and hit box, in screen pixels. For an entity with a
+ * {@link Trajectory}, its height as of the last update.
+ */
+public class Position extends PooledComponent {
+    public float x;
+    public float y;
+
+    public Position set(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    @Override
+    protected void reset() {
+        x = 0f;
+        y = 0f;
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.some_example_name.ecs.components;
+
+import com.artemis.PooledComponent;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * What RenderSystem draws at an entity's position: a region scaled from its original canvas
+ * size, faded by alpha, in one of the layers GameScreen draws between the background and HUD.
+ */
+public class Sprite extends PooledComponent {
+    public TextureRegion region;
+    public float scale = 1f;
+    public float alpha = 1f;
+    public int layer;
+
+    public Sprite set(TextureRegion region, float scale, int layer) {
+        this.region = region;
+        this.scale = scale;
+        this.layer = layer;
+        this.alpha = 1f;
+        return this;
+    }
+
+    @Override
+    protected void reset() {
+        region = null;
+        scale = 1f;
+        alpha = 1f;
+        layer = 0;
+    }
+}
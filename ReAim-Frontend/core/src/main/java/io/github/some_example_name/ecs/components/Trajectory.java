@@ -0,0 +1,110 @@
+package io.github.some_example_name.ecs.components;
+
+import com.artemis.PooledComponent;
+
+/**
+ * A target's flight, kept as its launch parameters rather than integrated step by step: the
+ * height at any age is y(t) = y0 + v0·t + ½g·t², so it does not depend on how the time since
+ * launch was divided into frames, and can be evaluated for any moment directly.
+ * <p>
+ * The ages at which the target leaves the screen are solved from the same formula when it is
+ * filed for culling.
+ */
+public class Trajectory extends PooledComponent {
+    public float startY;
+    public float velocityY;
+    public float gravity;
+    // Simulation time of the launch, and the time since then as of the last update
+    public double launchTime;
+    public float age;
+    // Age at which a live target leaves the screen, above or below
+    public float exitAge = Float.MAX_VALUE;
+    // Age from which the target stays below the screen
+    public float belowAge = Float.MAX_VALUE;
+
+    public Trajectory set(float startY, float velocityY, float gravity, double launchTime) {
+        this.startY = startY;
+        this.velocityY = velocityY;
+        this.gravity = gravity;
+        this.launchTime = launchTime;
+        age = 0f;
+        exitAge = Float.MAX_VALUE;
+        belowAge = Float.MAX_VALUE;
+        return this;
+    }
+
+    /**
+     * @return the height of the bottom edge at the given time since launch
+     */
+    public float yAt(float age) {
+        return startY + velocityY * age + 0.5f * gravity * age * age;
+    }
+
+    /**
+     * @return the height the given number of seconds before the last update, never before launch
+     */
+    public float yBefore(float seconds) {
+        return yAt(Math.max(0f, age - seconds));
+    }
+
+    /**
+     * @return the first age at which the bottom edge rises past the given height, or
+     *         Float.MAX_VALUE if it never does
+     */
+    public float firstAgeAbove(float height) {
+        if (startY > height) {
+            return 0f;
+        }
+        double early = crossing(height, false);
+        double late = crossing(height, true);
+        if (early >= 0.0) {
+            return (float) early;
+        }
+        return late >= 0.0 ? (float) late : Float.MAX_VALUE; // NaN compares false: no crossing
+    }
+
+    /**
+     * @return the age after which the bottom edge stays below the given height, or
+     *         Float.MAX_VALUE if it never settles below it
+     */
+    public float lastAgeAbove(float height) {
+        if (gravity > 0f || (gravity == 0f && velocityY > 0f)) {
+            return Float.MAX_VALUE; // Rises for ever
+        }
+        if (gravity == 0f && velocityY == 0f) {
+            return startY < height ? 0f : Float.MAX_VALUE;
+        }
+        double late = crossing(height, true);
+        // No crossing means it never reaches the height at all
+        return Double.isNaN(late) ? 0f : (float) Math.max(0.0, late);
+    }
+
+    // Earlier or later age at which y(t) == height, negative if in the past, NaN if never
+    private double crossing(float height, boolean later) {
+        double a = 0.5 * gravity;
+        double b = velocityY;
+        double c = startY - height;
+        if (a == 0.0) {
+            return b == 0.0 ? Double.NaN : -c / b;
+        }
+        double discriminant = b * b - 4.0 * a * c;
+        if (discriminant < 0.0) {
+            return Double.NaN;
+        }
+        double sqrt = Math.sqrt(discriminant);
+        double t1 = (-b - sqrt) / (2.0 * a);
+        double t2 = (-b + sqrt) / (2.0 * a);
+        return later ? Math.max(t1, t2) : Math.min(t1, t2);
+    }
+
+    @Override
+    protected void reset() {
+        startY = 0f;
+        velocityY = 0f;
+        gravity = 0f;
+        launchTime = 0;
+        age = 0f;
+        exitAge = Float.MAX_VALUE;
+        belowAge = Float.MAX_VALUE;
+    }
+}
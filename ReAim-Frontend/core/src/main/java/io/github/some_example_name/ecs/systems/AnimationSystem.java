@@ -0,0 +1,33 @@
+package io.github.some_example_name.ecs.systems;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.systems.IteratingSystem;
+import io.github.some_example_name.ecs.components.Animated;
+import io.github.some_example_name.ecs.components.Sprite;
+
+/**
+ * Advances each entity's animation clock and shows the current frame through its Sprite.
+ */
+public class AnimationSystem extends IteratingSystem {
+    private ComponentMapper<Animated> mAnimated;
+    private ComponentMapper<Sprite> mSprite;
+
+    public AnimationSystem() {
+        super(Aspect.all(Animated.class, Sprite.class));
+    }
+
+    @Override
+    protected void process(int entityId) {
+        Animated animated = mAnimated.get(entityId);
+        if (animated.animation == null) {
+            return;
+        }
+        animated.clock.update(world.getDelta());
+        if (animated.deleteWhenFinished && animated.isFinished()) {
+            world.delete(entityId);
+            return;
+        }
+        mSprite.get(entityId).region = animated.clock.getFrame(animated.animation, animated.looping);
+    }
+}
@@ -0,0 +1,180 @@
+package io.github.some_example_name.ecs.systems;
+
+import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
+import com.artemis.ComponentMapper;
+import com.artemis.utils.IntBag;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+import io.github.some_example_name.ecs.components.Destroyed;
+import io.github.some_example_name.ecs.components.HitBox;
+import io.github.some_example_name.ecs.components.Position;
+import io.github.some_example_name.ecs.components.Trajectory;
+
+import java.util.Arrays;
+
+/**
+ * Keeps live targets in a uniform grid so a shot only tests the targets near the crosshair
+ * instead of every target on screen. Each target is filed under the cell holding the bottom-left
+ * corner of its hit box; cells are at least as large as a target, so a point can only be covered
+ * by targets filed in its own cell or the cells to its left and below.
+ * <p>
+ * Shots can also be resolved against where targets were part way through the last step, which
+ * their trajectories give exactly. Targets move less than a cell per step, so the cell above the
+ * point is searched too.
+ * <p>
+ * Cells are hashed rather than laid out over the screen, as targets spawn below it and fly above
+ * it. Targets join the grid when they spawn, are refiled each update when they move into another
+ * cell, and leave it when shot or deleted. Emptied cells are recycled, so the grid does not
+ * allocate once it has warmed up.
+ */
+public class HitDetectionSystem extends BaseEntitySystem {
+    private static final long NOT_FILED = Long.MIN_VALUE;
+
+    private ComponentMapper<Position> mPosition;
+    private ComponentMapper<HitBox> mHitBox;
+    private ComponentMapper<Destroyed> mDestroyed;
+    private ComponentMapper<Trajectory> mTrajectory;
+
+    private final float cellSize;
+    private final LongMap<IntArray> cells = new LongMap<>();
+    private final Array<IntArray> freeCells = new Array<>();
+    // Cell each entity is filed under, indexed by entity id
+    private long[] entityCells = new long[64];
+
+    /**
+     * @param cellSize cell edge length; must be at least the width and height of any target
+     */
+    public HitDetectionSystem(float cellSize) {
+        super(Aspect.all(Position.class, HitBox.class).exclude(Destroyed.class));
+        if (cellSize <= 0f) {
+            throw new IllegalArgumentException("cellSize must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        Arrays.fill(entityCells, NOT_FILED);
+    }
+
+    @Override
+    protected void inserted(int entityId) {
+        if (entityId >= entityCells.length) {
+            int oldLength = entityCells.length;
+            entityCells = Arrays.copyOf(entityCells, Math.max(entityId + 1, oldLength * 2));
+            Arrays.fill(entityCells, oldLength, entityCells.length, NOT_FILED);
+        }
+        Position position = mPosition.get(entityId);
+        long cell = cellOf(position.x, position.y);
+        entityCells[entityId] = cell;
+        cellFor(cell).add(entityId);
+    }
+
+    @Override
+    protected void removed(int entityId) {
+        if (entityId < entityCells.length && entityCells[entityId] != NOT_FILED) {
+            removeFromCell(entityId, entityCells[entityId]);
+            entityCells[entityId] = NOT_FILED;
+        }
+    }
+
+    // Refiles targets that moved into another cell, which is rare from one frame to the next
+    @Override
+    protected void processSystem() {
+        IntBag entities = getEntityIds();
+        int[] ids = entities.getData();
+        for (int i = 0, n = entities.size(); i < n; i++) {
+            int entityId = ids[i];
+            Position position = mPosition.get(entityId);
+            long cell = cellOf(position.x, position.y);
+            if (cell != entityCells[entityId]) {
+                removeFromCell(entityId, entityCells[entityId]);
+                entityCells[entityId] = cell;
+                cellFor(cell).add(entityId);
+            }
+        }
+    }
+
+    /**
+     * Finds the live target a shot at the given point hits. When several overlap the point, the
+     * one whose centre is closest wins.
+     * @return the hit target's entity id, or -1 on a miss
+     */
+    public int findHit(float pointX, float pointY) {
+        return findHit(pointX, pointY, 1f);
+    }
+
+    /**
+     * Finds the live target a shot hits, with targets placed part way through the last step.
+     * @param alpha 0 for positions before the last step, 1 for the current ones
+     * @return the hit target's entity id, or -1 on a miss
+     */
+    public int findHit(float pointX, float pointY, float alpha) {
+        int column = cellIndex(pointX);
+        int row = cellIndex(pointY);
+        int closest = -1;
+        float closestDistance2 = Float.MAX_VALUE;
+        float stepRemainder = (1f - alpha) * world.getDelta();
+        for (int c = column - 1; c <= column; c++) {
+            for (int r = row - 1; r <= row + 1; r++) {
+                IntArray cell = cells.get(key(c, r));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size; i++) {
+                    int entityId = cell.get(i);
+                    // Targets shot earlier this frame stay filed until the next world update
+                    if (mDestroyed.has(entityId)) {
+                        continue;
+                    }
+                    Position position = mPosition.get(entityId);
+                    HitBox hitBox = mHitBox.get(entityId);
+                    float x = position.x;
+                    float y = alpha >= 1f || !mTrajectory.has(entityId) ? position.y : mTrajectory.get(entityId).yBefore(stepRemainder);
+                    if (!hitBox.contains(x, y, pointX, pointY)) {
+                        continue;
+                    }
+                    float dx = x + hitBox.width / 2f - pointX;
+                    float dy = y + hitBox.height / 2f - pointY;
+                    float distance2 = dx * dx + dy * dy;
+                    if (distance2 < closestDistance2) {
+                        closestDistance2 = distance2;
+                        closest = entityId;
+                    }
+                }
+            }
+        }
+        return closest;
+    }
+
+    private void removeFromCell(int entityId, long cell) {
+        IntArray entities = cells.get(cell);
+        if (entities == null) {
+            return;
+        }
+        entities.removeValue(entityId);
+        if (entities.size == 0) {
+            cells.remove(cell);
+            freeCells.add(entities);
+        }
+    }
+
+    private IntArray cellFor(long cell) {
+        IntArray entities = cells.get(cell);
+        if (entities == null) {
+            entities = freeCells.size == 0 ? new IntArray(false, 8) : freeCells.pop();
+            cells.put(cell, entities);
+        }
+        return entities;
+    }
+
+    private long cellOf(float x, float y) {
+        return key(cellIndex(x), cellIndex(y));
+    }
+
+    private int cellIndex(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long key(int column, int row) {
+        return ((long) column << 32) | (row & 0xffffffffL);
+    }
+}
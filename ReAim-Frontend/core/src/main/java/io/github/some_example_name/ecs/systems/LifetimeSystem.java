@@ -0,0 +1,32 @@
+package io.github.some_example_name.ecs.systems;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.systems.IteratingSystem;
+import com.badlogic.gdx.math.MathUtils;
+import io.github.some_example_name.ecs.components.Lifetime;
+import io.github.some_example_name.ecs.components.Sprite;
+
+/**
+ * Ages short-lived entities such as score popups, fading their Sprite out and deleting them
+ * when their lifetime is up.
+ */
+public class LifetimeSystem extends IteratingSystem {
+    private ComponentMapper<Lifetime> mLifetime;
+    private ComponentMapper<Sprite> mSprite;
+
+    public LifetimeSystem() {
+        super(Aspect.all(Lifetime.class, Sprite.class));
+    }
+
+    @Override
+    protected void process(int entityId) {
+        Lifetime lifetime = mLifetime.get(entityId);
+        lifetime.age += world.getDelta();
+        if (lifetime.age >= lifetime.duration) {
+            world.delete(entityId);
+            return;
+        }
+        mSprite.get(entityId).alpha = MathUtils.clamp(1.0f - (lifetime.age / lifetime.duration), 0f, 1f);
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.some_example_name.ecs.systems;
+
+import com.artemis.Aspect;
+import com.artemis.BaseEntitySystem;
+import com.artemis.ComponentMapper;
+import com.artemis.utils.IntBag;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import io.github.some_example_name.assets.GameAssets;
+import io.github.some_example_name.ecs.components.Position;
+import io.github.some_example_name.ecs.components.Sprite;
+import io.github.some_example_name.ecs.components.Trajectory;
+
+/**
+ * Draws entity sprites. It does nothing when the world is updated; GameScreen calls
+ * {@link #draw} once per layer instead, so entities interleave with the background, gun and
+ * crosshair it draws itself, and keep being drawn while the game is paused.
+ */
+public class RenderSystem extends BaseEntitySystem {
+    public static final int LAYER_TARGETS = 0;
+    public static final int LAYER_EFFECTS = 1;
+    public static final int LAYER_CASINGS = 2;
+
+    private ComponentMapper<Position> mPosition;
+    private ComponentMapper<Sprite> mSprite;
+    private ComponentMapper<Trajectory> mTrajectory;
+
+    public RenderSystem() {
+        super(Aspect.all(Position.class, Sprite.class));
+    }
+
+    @Override
+    protected boolean checkProcessing() {
+        return false;
+    }
+
+    @Override
+    protected void processSystem() {
+    }
+
+    /**
+     * Draws every sprite in the given layer; the batch must already have begun. Flying entities
+     * are drawn where their trajectory has them at the given point of the last step, rather than
+     * snapping from step to step.
+     * @param alpha how far between the previous and the current simulation step to draw, 0 to 1
+     */
+    public void draw(Batch batch, int layer, float alpha) {
+        IntBag entities = getEntityIds();
+        int[] ids = entities.getData();
+        float stepRemainder = (1f - alpha) * world.getDelta();
+        for (int i = 0, n = entities.size(); i < n; i++) {
+            Sprite sprite = mSprite.get(ids[i]);
+            if (sprite.layer != layer || sprite.region == null || sprite.alpha <= 0f) {
+                continue;
+            }
+            Position position = mPosition.get(ids[i]);
+            float x = position.x;
+            float y = alpha >= 1f || !mTrajectory.has(ids[i]) ? position.y : mTrajectory.get(ids[i]).yBefore(stepRemainder);
+            float width = GameAssets.regionWidth(sprite.region) * sprite.scale;
+            float height = GameAssets.regionHeight(sprite.region) * sprite.scale;
+            if (sprite.alpha < 1f) {
+                batch.setColor(1, 1, 1, sprite.alpha);
+                GameAssets.drawRegion(batch, sprite.region, x, y, width, height);
+                batch.setColor(1, 1, 1, 1);
+            } else {
+                GameAssets.drawRegion(batch, sprite.region, x, y, width, height);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.some_example_name.ecs.systems;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.systems.IteratingSystem;
+import io.github.some_example_name.ecs.components.Animated;
+import io.github.some_example_name.ecs.components.Destroyed;
+import io.github.some_example_name.ecs.components.HitBox;
+import io.github.some_example_name.ecs.components.Position;
+import io.github.some_example_name.ecs.components.Trajectory;
+
+/**
+ * Deletes targets that have left the screen. A live target goes as soon as it is above or below
+ * the screen; a destroyed one only once its destruction animation has finished and it has
+ * fallen below the screen.
+ * <p>
+ * When each target arrives, the ages at which it crosses the top of the screen and falls past
+ * the bottom are solved from its trajectory, so updates only compare its age against them. The
+ * screen height is fixed for a whole attempt, as the replay verifier assumes.
+ */
+public class TargetCullSystem extends IteratingSystem {
+    private ComponentMapper<HitBox> mHitBox;
+    private ComponentMapper<Trajectory> mTrajectory;
+    private ComponentMapper<Destroyed> mDestroyed;
+    private ComponentMapper<Animated> mAnimated;
+
+    private final float screenHeight;
+
+    public TargetCullSystem(float screenHeight) {
+        super(Aspect.all(Position.class, HitBox.class, Trajectory.class));
+        this.screenHeight = screenHeight;
+    }
+
+    /**
+     * @return targets on screen, live or destroyed, as of the last world update
+     */
+    public int getTargetCount() {
+        return getEntityIds().size();
+    }
+
+    @Override
+    protected void inserted(int entityId) {
+        solveExitAges(entityId);
+    }
+
+    @Override
+    protected void process(int entityId) {
+        Trajectory trajectory = mTrajectory.get(entityId);
+        if (mDestroyed.has(entityId)) {
+            Animated animated = mAnimated.get(entityId);
+            if ((animated == null || animated.isFinished()) && trajectory.age > trajectory.belowAge) {
+                world.delete(entityId);
+            }
+        } else if (trajectory.age > trajectory.exitAge) {
+            world.delete(entityId);
+        }
+    }
+
+    private void solveExitAges(int entityId) {
+        Trajectory trajectory = mTrajectory.get(entityId);
+        // Below the screen once the top edge is under 0
+        trajectory.belowAge = trajectory.lastAgeAbove(-mHitBox.get(entityId).height);
+        trajectory.exitAge = Math.min(trajectory.firstAgeAbove(screenHeight), trajectory.belowAge);
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.some_example_name.ecs.systems;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.systems.IteratingSystem;
+import io.github.some_example_name.ecs.components.Position;
+import io.github.some_example_name.ecs.components.Trajectory;
+
+/**
+ * Keeps the simulation time and places every flying entity where its trajectory has it at that
+ * time. Nothing is integrated, so one long update lands on exactly the same heights as many
+ * short ones, and the cost per entity is the same however far the time jumps.
+ */
+public class TrajectorySystem extends IteratingSystem {
+    private ComponentMapper<Position> mPosition;
+    private ComponentMapper<Trajectory> mTrajectory;
+
+    // Seconds simulated since the world was created
+    private double time;
+
+    public TrajectorySystem() {
+        super(Aspect.all(Position.class, Trajectory.class));
+    }
+
+    /**
+     * @return the simulation time as of the last update, for launching new trajectories
+     */
+    public double getTime() {
+        return time;
+    }
+
+    @Override
+    protected void begin() {
+        time += world.getDelta();
+    }
+
+    @Override
+    protected void process(int entityId) {
+        Trajectory trajectory = mTrajectory.get(entityId);
+        trajectory.age = (float) (time - trajectory.launchTime);
+        mPosition.get(entityId).y = trajectory.yAt(trajectory.age);
+    }
+}
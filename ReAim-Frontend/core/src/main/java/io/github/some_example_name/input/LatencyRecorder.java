@@ -0,0 +1,56 @@
+package io.github.some_example_name.input;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent latency samples, in nanoseconds, and reports percentiles over them.
+ * Recording only writes into a preallocated ring, so it can run on every shot; percentiles sort
+ * a copy and are meant for periodic logging.
+ */
+public class LatencyRecorder {
+    private final long[] samples;
+    private final long[] sorted;
+    private int next;
+    private int count;
+
+    /**
+     * @param capacity how many of the latest samples percentiles cover
+     */
+    public LatencyRecorder(int capacity) {
+        samples = new long[capacity];
+        sorted = new long[capacity];
+    }
+
+    public void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Nearest-rank percentiles of the recorded samples, written into {@code out} in the order of
+     * {@code percentiles}; all zero when nothing has been recorded.
+     * @param percentiles each between 0 and 100
+     */
+    public void percentiles(float[] percentiles, long[] out) {
+        if (count == 0) {
+            Arrays.fill(out, 0, percentiles.length, 0L);
+            return;
+        }
+        System.arraycopy(samples, 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        for (int i = 0; i < percentiles.length; i++) {
+            int rank = (int) Math.ceil(percentiles[i] / 100f * count);
+            out[i] = sorted[Math.max(0, Math.min(count - 1, rank - 1))];
+        }
+    }
+
+    public void reset() {
+        next = 0;
+        count = 0;
+    }
+}
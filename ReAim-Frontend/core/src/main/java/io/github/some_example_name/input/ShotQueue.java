@@ -0,0 +1,95 @@
+package io.github.some_example_name.input;
+
+/**
+ * Shots fired since the last frame, each with the time of its input event and where the cursor
+ * was at that moment, waiting to be judged in order. The input handler fills it as events
+ * arrive; GameScreen drains it while stepping the simulation, so every shot is judged against
+ * the targets as they were when it was fired rather than at the next frame.
+ * <p>
+ * Stored as parallel primitive arrays used as a ring; they only grow if more shots than ever
+ * before arrive within one frame.
+ */
+public class ShotQueue {
+    private long[] times;
+    private float[] xs;
+    private float[] ys;
+    private int head;
+    private int size;
+
+    public ShotQueue(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        times = new long[capacity];
+        xs = new float[capacity];
+        ys = new float[capacity];
+    }
+
+    /**
+     * @param eventNanos when the input event happened, on the {@link System#nanoTime()} clock
+     * @param x cursor x in screen pixels, from the left
+     * @param y cursor y in screen pixels, from the bottom
+     */
+    public void add(long eventNanos, float x, float y) {
+        if (size == times.length) {
+            grow();
+        }
+        int tail = (head + size) % times.length;
+        times[tail] = eventNanos;
+        xs[tail] = x;
+        ys[tail] = y;
+        size++;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Event time of the oldest shot; the queue must not be empty. */
+    public long peekTime() {
+        return times[head];
+    }
+
+    /** Cursor x of the oldest shot; the queue must not be empty. */
+    public float peekX() {
+        return xs[head];
+    }
+
+    /** Cursor y of the oldest shot; the queue must not be empty. */
+    public float peekY() {
+        return ys[head];
+    }
+
+    /** Drops the oldest shot, once it has been judged. */
+    public void pop() {
+        if (size == 0) {
+            throw new IllegalStateException("ShotQueue is empty");
+        }
+        head = (head + 1) % times.length;
+        size--;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        int capacity = times.length * 2;
+        long[] newTimes = new long[capacity];
+        float[] newXs = new float[capacity];
+        float[] newYs = new float[capacity];
+        for (int i = 0; i < size; i++) {
+            int from = (head + i) % times.length;
+            newTimes[i] = times[from];
+            newXs[i] = xs[from];
+            newYs[i] = ys[from];
+        }
+        times = newTimes;
+        xs = newXs;
+        ys = newYs;
+        head = 0;
+    }
+}
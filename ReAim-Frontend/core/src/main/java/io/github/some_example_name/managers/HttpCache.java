@@ -0,0 +1,124 @@
+package io.github.some_example_name.managers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Net;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the last 200 response and ETag of each GET url and revalidates it with If-None-Match,
+ * so an unchanged level list or leaderboard comes back as an empty 304 and is served from memory.
+ * Responses are delivered on the network thread, like Net.HttpResponseListener.
+ */
+public class HttpCache {
+    private static final int MAX_ENTRIES = 64;
+
+    private static HttpCache instance; // Singleton instance
+
+    /**
+     * Receives the outcome of a cached GET.
+     */
+    public interface Listener {
+        /**
+         * @param statusCode 200 also when the body came from the cache
+         * @param body response body, or the cached copy
+         * @param fromCache true if the server answered 304 Not Modified
+         */
+        void handleResponse(int statusCode, String body, boolean fromCache);
+
+        void failed(Throwable t);
+
+        void cancelled();
+    }
+
+    private static class CachedResponse {
+        final String etag;
+        final String body;
+
+        CachedResponse(String etag, String body) {
+            this.etag = etag;
+            this.body = body;
+        }
+    }
+
+    // Access-ordered so the least recently used url is dropped first
+    private final Map<String, CachedResponse> responses = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private int hits;
+    private int misses;
+
+    private HttpCache() {
+    }
+
+    public static synchronized HttpCache getInstance() {
+        if (instance == null) {
+            instance = new HttpCache();
+        }
+        return instance;
+    }
+
+    public void get(final String url, final Listener listener) {
+        final CachedResponse cached;
+        synchronized (this) {
+            cached = responses.get(url);
+        }
+
+        Net.HttpRequest httpRequest = new Net.HttpRequest(Net.HttpMethods.GET);
+        httpRequest.setUrl(url);
+        httpRequest.setHeader("Content-Type", "application/json");
+        if (cached != null) {
+            httpRequest.setHeader("If-None-Match", cached.etag);
+        }
+
+        Gdx.net.sendHttpRequest(httpRequest, new Net.HttpResponseListener() {
+            @Override
+            public void handleHttpResponse(Net.HttpResponse httpResponse) {
+                int statusCode = httpResponse.getStatus().getStatusCode();
+                if (statusCode == 304 && cached != null) {
+                    synchronized (HttpCache.this) {
+                        hits++;
+                    }
+                    Gdx.app.debug("HttpCache", "Not modified: " + url);
+                    listener.handleResponse(200, cached.body, true);
+                    return;
+                }
+
+                String body = httpResponse.getResultAsString();
+                String etag = httpResponse.getHeader("ETag");
+                synchronized (HttpCache.this) {
+                    misses++;
+                    if (statusCode == 200 && etag != null) {
+                        responses.put(url, new CachedResponse(etag, body));
+                    } else {
+                        responses.remove(url);
+                    }
+                }
+                listener.handleResponse(statusCode, body, false);
+            }
+
+            @Override
+            public void failed(Throwable t) {
+                listener.failed(t);
+            }
+
+            @Override
+            public void cancelled() {
+                listener.cancelled();
+            }
+        });
+    }
+
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    public synchronized int getMisses() {
+        return misses;
+    }
+}
@@ -1,40 +1,41 @@
 package io.github.some_example_name.managers;
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.Net; // Added for HTTP requests
 import com.badlogic.gdx.net.HttpRequestBuilder; // Added for HTTP requests
 import com.badlogic.gdx.audio.Music;
-import com.badlogic.gdx.math.MathUtils;
-import io.github.some_example_name.models.Target;
+import io.github.some_example_name.assets.GameAssets;
+import io.github.some_example_name.beatmap.Beatmap;
+import io.github.some_example_name.beatmap.BeatmapCache;
+import io.github.some_example_name.ecs.GameplayWorld;
+import io.github.some_example_name.models.LevelClock;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.List;
-import java.util.ArrayList;
 
 public class LevelManager {
     private static final String LEVELS_CONFIG_PATH = "MUSIC/levels/levels.json"; // Updated path
     private static final String MUSIC_ASSET_PATH = "MUSIC/";
-    // private static final float TARGET_TRAVEL_TIME = 2.0f; // Replaced by min/max
-    private static final float MIN_TARGET_TRAVEL_TIME = 0.5f; // Adjusted for more velocity variation (faster min speed)
-    private static final float MAX_TARGET_TRAVEL_TIME = 2.5f; // Adjusted for more velocity variation (slower max speed)
-    private static final float TARGET_START_Y = 0;
-    // private static final float TARGET_WIDTH = 64f; // Replaced by dynamic defaultTargetActualWidth
-    private static final float MIN_HORIZONTAL_SPACING = 120f; // Minimum horizontal distance between targets' left edges
+    private static final int BEATMAP_CACHE_SIZE = 8; // Parsed beatmaps kept in memory, least recently used dropped first
 
     private Map<String, LevelData> levels;
-    private float defaultTargetActualWidth; // Stores the actual width of the default target type "1"
-    private float lastTargetX = -1f; // X-coordinate of the last spawned target
     private Json json;
     private Music currentMusic;
+    private String currentMusicPath;
+    private String preloadedMusicPath; // Music queued by preloadLevel for a level that has not started yet
     private LevelData currentLevelData;
-    private float levelElapsedTime;
-    private int nextTargetIndex;
+    private Beatmap currentBeatmap;
+    private final BeatmapCache beatmapCache = new BeatmapCache(BEATMAP_CACHE_SIZE);
+    private TargetSpawner targetSpawner; // Null while no level with a beatmap is running
+    private long levelSeed;
+    private final LevelClock levelClock = new LevelClock();
+    private boolean[] judgedTaps = new boolean[0]; // Taps already claimed by an on-beat shot
     // private float targetVelocityY; // Replaced by dynamic calculation
 
     private static LevelManager instance; // Singleton instance
@@ -43,18 +44,6 @@ public class LevelManager {
         levels = new HashMap<>();
         json = new Json();
 
-        // Determine the actual width of the default target type "1"
-        // This requires GameAssets to be initialized if LevelManager is a very early singleton.
-        // Assuming GameAssets is available when LevelManager.getInstance() is first called.
-        com.badlogic.gdx.graphics.Texture defaultTargetTexture = io.github.some_example_name.assets.GameAssets.getInstance().getTargetTexture("1");
-        if (defaultTargetTexture != null) {
-            this.defaultTargetActualWidth = defaultTargetTexture.getWidth();
-            Gdx.app.log("LevelManager", "Default target actual width (type '1'): " + this.defaultTargetActualWidth);
-        } else {
-            this.defaultTargetActualWidth = 64f; // Fallback if texture "1" is not found
-            Gdx.app.error("LevelManager", "Default target texture (type '1') not found. Using fallback width: " + this.defaultTargetActualWidth);
-        }
-        
         Gdx.app.debug("LevelManager", "Attempting to load levels from: " + LEVELS_CONFIG_PATH);
         loadLevels();
         // targetVelocityY = Gdx.graphics.getHeight() / TARGET_TRAVEL_TIME; // Velocity now calculated per target
@@ -101,36 +90,7 @@ public class LevelManager {
                     LevelConfig config = json.readValue(LevelConfig.class, levelJson);
                     if (config != null) {
                         Gdx.app.debug("LevelManager", "Loading level: " + config.name);
-                        
-                        String musicFullPath = MUSIC_ASSET_PATH + config.musicFileName;
-                        String analysisFullPath = config.analysisFileName != null ? MUSIC_ASSET_PATH + config.analysisFileName : null;
-
-                        Gdx.app.debug("LevelManager", "Music path: " + musicFullPath);
-                        Gdx.app.debug("LevelManager", "Analysis path: " + analysisFullPath);
-
-                        LevelAnalysis levelAnalysis = null;
-                        if (analysisFullPath != null) {
-                            FileHandle analysisFile = Gdx.files.internal(analysisFullPath);
-                            if (analysisFile.exists()) {
-                                try {
-                                    levelAnalysis = json.fromJson(LevelAnalysis.class, analysisFile);
-                                    Gdx.app.log("LevelManager", "Loaded analysis for level: " + config.name);
-                                } catch (Exception e) {
-                                    Gdx.app.error("LevelManager", "Error parsing analysis file for " + config.name + ":", e); // Print full stack trace
-                                }
-                            } else {
-                                Gdx.app.error("LevelManager", "Analysis file not found for " + config.name + ": " + analysisFullPath);
-                            }
-                        }
-
-                        LevelData levelData = new LevelData(
-                            config.id,
-                            config.name,
-                            musicFullPath,
-                            analysisFullPath,
-                            config.difficulty,
-                            levelAnalysis
-                        );
+                        LevelData levelData = toLevelData(config);
                         levels.put(config.id, levelData);
                         Gdx.app.log("LevelManager", "Loaded level: " + config.name + " (ID: " + config.id + ")");
                     }
@@ -141,97 +101,157 @@ public class LevelManager {
         }
     }
 
-    public void startLevel(String levelId) {
+    // Only metadata is read here; the beatmap is loaded on startLevel or preloadLevel
+    private static LevelData toLevelData(LevelConfig config) {
+        String musicFullPath = MUSIC_ASSET_PATH + config.musicFileName;
+        String analysisFullPath = config.analysisFileName != null ? MUSIC_ASSET_PATH + config.analysisFileName : null;
+
+        Gdx.app.debug("LevelManager", "Music path: " + musicFullPath);
+        Gdx.app.debug("LevelManager", "Analysis path: " + analysisFullPath);
+        return new LevelData(config.id, config.name, musicFullPath, analysisFullPath, config.difficulty);
+    }
+
+    /**
+     * Adds a level whose analysis has just been made, or replaces it if it was re-analysed, e.g.
+     * by MusicAnalyzer while the menu is open. Its beatmap is read afresh on next use, and the
+     * level is posted to the backend. Call on the render thread.
+     */
+    public void registerLevel(LevelConfig config) {
+        LevelData levelData = toLevelData(config);
+        boolean isNew = levels.put(config.id, levelData) == null;
+        beatmapCache.invalidate(config.id);
+        Gdx.app.log("LevelManager", (isNew ? "Added level: " : "Updated level: ") + config.name + " (ID: " + config.id + ")");
+        syncLevelWithBackend(levelData);
+    }
+
+    /**
+     * Starts a level; the same seed spawns the same targets at the same places, given the same
+     * spawn area and target width.
+     * @param spawnWidth width of the play area targets are spread over
+     * @param spawnHeight height of the play area, which sets how fast targets are launched
+     * @param targetWidth drawn width of a target, to keep targets inside the play area
+     */
+    public void startLevel(String levelId, long seed, int spawnWidth, int spawnHeight, float targetWidth) {
         currentLevelData = levels.get(levelId);
         if (currentLevelData == null) {
             Gdx.app.error("LevelManager", "Level not found: " + levelId);
             return;
         }
 
-        if (currentMusic != null) {
-            currentMusic.stop();
-            currentMusic.dispose();
+        releaseCurrentMusic();
+        currentBeatmap = loadBeatmap(currentLevelData);
+        if (currentBeatmap == null) {
+            Gdx.app.error("LevelManager", "No beatmap for level: " + levelId);
+        }
+
+        // Normally already loaded by preloadLevel while the loading screen was shown
+        currentMusicPath = currentLevelData.getMusicFilePath();
+        if (currentMusicPath.equals(preloadedMusicPath)) {
+            preloadedMusicPath = null;
         }
-        currentMusic = Gdx.audio.newMusic(Gdx.files.internal(currentLevelData.getMusicFilePath()));
+        currentMusic = GameAssets.getInstance().getMusic(currentMusicPath);
         currentMusic.play();
         currentMusic.setVolume(0.5f);
 
-        levelElapsedTime = 0;
-        nextTargetIndex = 0;
-        Gdx.app.log("LevelManager", "Started level: " + currentLevelData.getName());
+        levelSeed = seed;
+        levelClock.reset();
+        int tapCount = currentBeatmap == null ? 0 : currentBeatmap.size();
+        if (judgedTaps.length < tapCount) {
+            judgedTaps = new boolean[tapCount];
+        } else {
+            Arrays.fill(judgedTaps, false);
+        }
+        targetSpawner = currentBeatmap == null ? null
+            : new TargetSpawner(currentBeatmap, seed, spawnWidth, spawnHeight, targetWidth);
+        Gdx.app.log("LevelManager", "Started level: " + currentLevelData.getName() + " (seed " + seed + ")");
     }
 
-    public List<Target> update(float deltaTime) {
-        List<Target> newTargets = new ArrayList<>();
-        if (currentLevelData == null || currentLevelData.getAnalysis() == null || currentMusic == null || !currentMusic.isPlaying()) {
-            return newTargets;
+    /**
+     * Starts loading the level's beatmap and music in the background, e.g. when its row in the
+     * level list is hovered, so that startLevel finds them ready. Only the most recently
+     * preloaded level's music is kept.
+     */
+    public void preloadLevel(String levelId) {
+        LevelData levelData = levels.get(levelId);
+        if (levelData == null) {
+            return;
         }
-
-        levelElapsedTime += deltaTime;
-
-        Array<TapTarget> tapTargets = currentLevelData.getAnalysis().tap_targets;
-        if (tapTargets != null) {
-            while (nextTargetIndex < tapTargets.size) {
-                TapTarget tapTarget = tapTargets.get(nextTargetIndex);
-                // Calculate spawn time based on a random travel time for this target
-                float currentTargetTravelTime = MathUtils.random(MIN_TARGET_TRAVEL_TIME, MAX_TARGET_TRAVEL_TIME);
-                float spawnTime = tapTarget.time - currentTargetTravelTime;
-
-                if (levelElapsedTime >= spawnTime) {
-                    float randomX;
-                    int attempts = 0;
-                    final int MAX_ATTEMPTS = 10; // Prevent infinite loop if screen is too narrow for spacing
-
-                    do {
-                        // Use actual width of the default target for spawn calculation
-                        randomX = MathUtils.random(0, Gdx.graphics.getWidth() - this.defaultTargetActualWidth);
-                        attempts++;
-                        // Allow spawn if:
-                        // 1. It's the first target (lastTargetX == -1f)
-                        // 2. The screen is too narrow to enforce spacing meaningfully (using actual width)
-                        // 3. The spacing requirement is met
-                        if (lastTargetX == -1f ||
-                            (Gdx.graphics.getWidth() - this.defaultTargetActualWidth) < MIN_HORIZONTAL_SPACING || // Not enough distinct positions
-                            Math.abs(randomX - lastTargetX) >= MIN_HORIZONTAL_SPACING) {
-                            break;
-                        }
-                    } while (attempts < MAX_ATTEMPTS);
-                    
-                    lastTargetX = randomX; // Update the last spawned target's X position
-                    
-                    // Calculate initial velocity for this specific target to reach screen top in currentTargetTravelTime
-                    // Simplified: v0 = H / t (ignoring gravity for initial upward velocity calculation for simplicity of peak height)
-                    // For a more physically accurate peak height with gravity: v0 = (H/t) + (0.5 * g * t)
-                    // Where H is screen height, t is currentTargetTravelTime, g is gravity (positive value)
-                    // For now, using a simpler approach that ensures varied travel times to peak.
-                    // The gravity in Target.java will handle the actual trajectory.
-                    // Increased target height by multiplying Gdx.graphics.getHeight()
-                    float initialVelocityY = (Gdx.graphics.getHeight() * 1.8f) / currentTargetTravelTime; 
-                    
-                    Target newTarget = new Target(randomX, TARGET_START_Y, "1", initialVelocityY);
-                    newTargets.add(newTarget);
-                    Gdx.app.log("LevelManager", "Spawned target at time: " + tapTarget.time + 
-                                                " (elapsed: " + levelElapsedTime + 
-                                                ", travelTime: " + currentTargetTravelTime +
-                                                ", initialVelY: " + initialVelocityY + ")");
-                    nextTargetIndex++;
-                } else {
-                    break;
-                }
+        if (levelData.getAnalysisFilePath() != null) {
+            beatmapCache.preload(levelId, Gdx.files.internal(levelData.getAnalysisFilePath()));
+        }
+        String musicPath = levelData.getMusicFilePath();
+        if (!musicPath.equals(preloadedMusicPath) && !musicPath.equals(currentMusicPath)) {
+            if (preloadedMusicPath != null) {
+                GameAssets.getInstance().unload(preloadedMusicPath);
             }
+            GameAssets.getInstance().queueMusic(musicPath);
+            preloadedMusicPath = musicPath;
         }
-        return newTargets;
     }
 
-    public void stopLevel() {
+    /**
+     * True once everything startLevel needs for the level is in memory, so starting it will not
+     * block the render thread.
+     */
+    public boolean isLevelLoaded(String levelId) {
+        LevelData levelData = levels.get(levelId);
+        if (levelData == null) {
+            return true; // startLevel will just report the missing level
+        }
+        boolean beatmapReady = levelData.getAnalysisFilePath() == null
+            || beatmapCache.isLoaded(levelId)
+            || beatmapCache.isIdle(levelId); // preload failed; startLevel retries and reports it
+        return beatmapReady && GameAssets.getInstance().isDoneLoading(levelData.getMusicFilePath());
+    }
+
+    private void releaseCurrentMusic() {
         if (currentMusic != null) {
             currentMusic.stop();
-            currentMusic.dispose();
+            GameAssets.getInstance().unload(currentMusicPath);
             currentMusic = null;
+            currentMusicPath = null;
+        }
+    }
+
+    private Beatmap loadBeatmap(LevelData levelData) {
+        if (levelData.getAnalysisFilePath() == null) {
+            return null;
+        }
+        FileHandle analysisFile = Gdx.files.internal(levelData.getAnalysisFilePath());
+        if (!analysisFile.exists()) {
+            Gdx.app.error("LevelManager", "Analysis file not found for " + levelData.getName() + ": " + levelData.getAnalysisFilePath());
+            return null;
         }
+        return beatmapCache.get(levelData.getId(), analysisFile);
+    }
+
+    /**
+     * Advances the level by one simulation step and spawns every target whose spawn time has
+     * passed. Nothing happens while the music is not playing.
+     * @param gameplayWorld world the new targets are created in
+     * @return the number of targets spawned
+     */
+    public int update(float deltaTime, GameplayWorld gameplayWorld) {
+        if (targetSpawner == null || currentMusic == null || !currentMusic.isPlaying()) {
+            return 0;
+        }
+        int spawnedCount = targetSpawner.update(deltaTime, gameplayWorld);
+        // Guarded so the message is only built when it will be printed
+        if (spawnedCount > 0 && Gdx.app.getLogLevel() >= Application.LOG_DEBUG) {
+            Gdx.app.debug("LevelManager", "Spawned " + spawnedCount + " target(s) at elapsed: " + targetSpawner.getElapsedTime());
+        }
+        return spawnedCount;
+    }
+
+    public void stopLevel() {
+        if (currentLevelData != null) {
+            Gdx.app.log("LevelManager", "Audio clock drift over the level: mean " + Math.round(levelClock.getMeanDrift() * 1000f)
+                + " ms, max " + Math.round(levelClock.getMaxDrift() * 1000f) + " ms");
+        }
+        releaseCurrentMusic();
         currentLevelData = null;
-        levelElapsedTime = 0;
-        nextTargetIndex = 0;
+        currentBeatmap = null;
+        targetSpawner = null;
         Gdx.app.log("LevelManager", "Level stopped.");
     }
 
@@ -244,13 +264,61 @@ public class LevelManager {
     }
 
     public boolean isSpawningComplete() {
-        if (currentLevelData == null || currentLevelData.getAnalysis() == null || 
-            currentLevelData.getAnalysis().tap_targets == null || currentLevelData.getAnalysis().tap_targets.isEmpty()) {
+        if (currentLevelData == null || currentBeatmap == null || currentBeatmap.size() == 0) {
             // If there are no targets defined or no level loaded, spawning is effectively complete.
             // Or if music isn't playing (implying level hasn't started properly or ended)
             return true; 
         }
-        return nextTargetIndex >= currentLevelData.getAnalysis().tap_targets.size;
+        return targetSpawner == null || targetSpawner.isComplete();
+    }
+
+    /**
+     * @return the seed the current level was started with
+     */
+    public long getLevelSeed() {
+        return levelSeed;
+    }
+
+    /**
+     * Moves the level clock on by one frame, following the music's playback position. Not
+     * called while the game is paused.
+     * @return how far the level time moved, in seconds, for the simulation to catch up on
+     */
+    public float advanceClock(float frameDelta) {
+        boolean playing = isMusicPlaying();
+        return levelClock.update(frameDelta, playing ? currentMusic.getPosition() : 0f, playing);
+    }
+
+    /**
+     * @return seconds since the current level's music started, on the level clock
+     */
+    public double getLevelTime() {
+        return levelClock.getTime();
+    }
+
+    /**
+     * @return music position minus level time after the last frame, in seconds
+     */
+    public float getClockDrift() {
+        return levelClock.getDrift();
+    }
+
+    /**
+     * Judges the timing of a shot against the beatmap's tap windows. Each tap can be claimed by
+     * one shot only, so firing continuously does not land every beat.
+     * @return the index of the tap whose window the shot falls in, or -1 if it is off beat or
+     *         that tap was already claimed
+     */
+    public int judgeShot(double levelTime) {
+        if (currentBeatmap == null) {
+            return -1;
+        }
+        int tap = currentBeatmap.findTap((float) levelTime);
+        if (tap == -1 || judgedTaps[tap]) {
+            return -1;
+        }
+        judgedTaps[tap] = true;
+        return tap;
     }
 
     public boolean isMusicPlaying() {
@@ -302,81 +370,85 @@ public class LevelManager {
         // For now, let's iterate the LevelData map and reconstruct the necessary payload.
 
         for (LevelData levelDataEntry : levels.values()) {
-            // Reconstruct a simplified object for backend submission based on LevelData
-            // Backend expects: id, name, jsonFile (analysisFileName), difficulty. Creator is optional.
-            String levelId = levelDataEntry.getId();
-            String levelName = levelDataEntry.getName();
-            // analysisFilePath is like "MUSIC/level_analysis.json". We need just "level_analysis.json" for jsonFile field.
-            String analysisFileName = null;
-            if (levelDataEntry.getAnalysisFilePath() != null) {
-                FileHandle handle = Gdx.files.internal(levelDataEntry.getAnalysisFilePath());
-                analysisFileName = handle.name();
-            }
-            String difficulty = levelDataEntry.getDifficulty();
+            syncLevelWithBackend(levelDataEntry);
+        }
+    }
 
-            if (analysisFileName == null) {
-                Gdx.app.error("LevelManagerSync", "Skipping sync for level " + levelName + " due to missing analysis file name.");
-                continue;
-            }
-            
-            // Create JSON payload string
-            // Using manual string concatenation for simplicity, but a Json object would be more robust.
-            // com.badlogic.gdx.utils.Json gdxJson = new com.badlogic.gdx.utils.Json();
-            // String payload = gdxJson.toJson(new BackendLevelPayload(levelId, levelName, analysisFileName, difficulty));
-            
-            // The backend /api/levels/create endpoint expects a 'creator' object with an 'id'.
-            // Without a valid creator.id, the request will likely fail with the current LevelController.
-            // If a "system" or default creator ID is available, it should be included here.
-            // For example: String systemCreatorId = "some-valid-player-id-for-system-levels";
-            // String payload = String.format("{\"id\":\"%s\", \"name\":\"%s\", \"jsonFile\":\"%s\", \"difficulty\":\"%s\", \"creator\":{\"id\":\"%s\"}}",
-            // levelId.replace("\"", "\\\""),
-            // levelName.replace("\"", "\\\""),
-            // analysisFileName.replace("\"", "\\\""),
-            // difficulty.replace("\"", "\\\""),
-            // systemCreatorId.replace("\"", "\\\""));
-            //
-            // For now, sending without creator, which will likely cause issues with the provided backend controller.
-            // The backend should ideally be modified to handle levels without explicit player creators (e.g., system levels).
-            String payload = String.format("{\"id\":\"%s\", \"name\":\"%s\", \"jsonFile\":\"%s\", \"difficulty\":\"%s\"}",
-                                           levelId.replace("\"", "\\\""), 
-                                           levelName.replace("\"", "\\\""),
-                                           analysisFileName.replace("\"", "\\\""),
-                                           difficulty.replace("\"", "\\\""));
-            Gdx.app.log("LevelManagerSync", "WARNING: Sending level sync payload without creator ID. This may fail with the current backend LevelController.");
-
-
-            HttpRequestBuilder requestBuilder = new HttpRequestBuilder();
-            Net.HttpRequest httpRequest = requestBuilder.newRequest()
-                    .method(Net.HttpMethods.POST)
-                    .url("http://localhost:3000/api/levels/create") // Ensure this matches your backend
-                    .header("Content-Type", "application/json")
-                    .content(payload)
-                    .build();
-
-            Gdx.app.log("LevelManagerSync", "Attempting to sync level: " + levelName + " with payload: " + payload);
-
-            Gdx.net.sendHttpRequest(httpRequest, new Net.HttpResponseListener() {
-                @Override
-                public void handleHttpResponse(Net.HttpResponse httpResponse) {
-                    int statusCode = httpResponse.getStatus().getStatusCode();
-                    if (statusCode >= 200 && statusCode < 300) {
-                        Gdx.app.log("LevelManagerSync", "Successfully synced level: " + levelName + ". Response: " + httpResponse.getResultAsString());
-                    } else {
-                        Gdx.app.error("LevelManagerSync", "Failed to sync level: " + levelName + ". Status: " + statusCode + ", Response: " + httpResponse.getResultAsString());
-                    }
-                }
+    private void syncLevelWithBackend(LevelData levelDataEntry) {
+        // Reconstruct a simplified object for backend submission based on LevelData
+        // Backend expects: id, name, jsonFile (analysisFileName), difficulty. Creator is optional.
+        String levelId = levelDataEntry.getId();
+        String levelName = levelDataEntry.getName();
+        // analysisFilePath is like "MUSIC/level_analysis.json". We need just "level_analysis.json" for jsonFile field.
+        String analysisFileName = null;
+        if (levelDataEntry.getAnalysisFilePath() != null) {
+            FileHandle handle = Gdx.files.internal(levelDataEntry.getAnalysisFilePath());
+            analysisFileName = handle.name();
+        }
+        String difficulty = levelDataEntry.getDifficulty();
 
-                @Override
-                public void failed(Throwable t) {
-                    Gdx.app.error("LevelManagerSync", "Error syncing level: " + levelName, t);
+        if (analysisFileName == null) {
+            Gdx.app.error("LevelManagerSync", "Skipping sync for level " + levelName + " due to missing analysis file name.");
+            return;
+        }
+        
+        // Create JSON payload string
+        // Using manual string concatenation for simplicity, but a Json object would be more robust.
+        // com.badlogic.gdx.utils.Json gdxJson = new com.badlogic.gdx.utils.Json();
+        // String payload = gdxJson.toJson(new BackendLevelPayload(levelId, levelName, analysisFileName, difficulty));
+        
+        // The backend /api/levels/create endpoint expects a 'creator' object with an 'id'.
+        // Without a valid creator.id, the request will likely fail with the current LevelController.
+        // If a "system" or default creator ID is available, it should be included here.
+        // For example: String systemCreatorId = "some-valid-player-id-for-system-levels";
+        // String payload = String.format("{\"id\":\"%s\", \"name\":\"%s\", \"jsonFile\":\"%s\", \"difficulty\":\"%s\", \"creator\":{\"id\":\"%s\"}}",
+        // levelId.replace("\"", "\\\""),
+        // levelName.replace("\"", "\\\""),
+        // analysisFileName.replace("\"", "\\\""),
+        // difficulty.replace("\"", "\\\""),
+        // systemCreatorId.replace("\"", "\\\""));
+        //
+        // For now, sending without creator, which will likely cause issues with the provided backend controller.
+        // The backend should ideally be modified to handle levels without explicit player creators (e.g., system levels).
+        String payload = String.format("{\"id\":\"%s\", \"name\":\"%s\", \"jsonFile\":\"%s\", \"difficulty\":\"%s\"}",
+                                       levelId.replace("\"", "\\\""), 
+                                       levelName.replace("\"", "\\\""),
+                                       analysisFileName.replace("\"", "\\\""),
+                                       difficulty.replace("\"", "\\\""));
+        Gdx.app.log("LevelManagerSync", "WARNING: Sending level sync payload without creator ID. This may fail with the current backend LevelController.");
+
+
+        HttpRequestBuilder requestBuilder = new HttpRequestBuilder();
+        Net.HttpRequest httpRequest = requestBuilder.newRequest()
+                .method(Net.HttpMethods.POST)
+                .url("http://localhost:3000/api/levels/create") // Ensure this matches your backend
+                .header("Content-Type", "application/json")
+                .content(payload)
+                .build();
+
+        Gdx.app.log("LevelManagerSync", "Attempting to sync level: " + levelName + " with payload: " + payload);
+
+        Gdx.net.sendHttpRequest(httpRequest, new Net.HttpResponseListener() {
+            @Override
+            public void handleHttpResponse(Net.HttpResponse httpResponse) {
+                int statusCode = httpResponse.getStatus().getStatusCode();
+                if (statusCode >= 200 && statusCode < 300) {
+                    Gdx.app.log("LevelManagerSync", "Successfully synced level: " + levelName + ". Response: " + httpResponse.getResultAsString());
+                } else {
+                    Gdx.app.error("LevelManagerSync", "Failed to sync level: " + levelName + ". Status: " + statusCode + ", Response: " + httpResponse.getResultAsString());
                 }
+            }
 
-                @Override
-                public void cancelled() {
-                    Gdx.app.log("LevelManagerSync", "Sync cancelled for level: " + levelName);
-                }
-            });
-        }
+            @Override
+            public void failed(Throwable t) {
+                Gdx.app.error("LevelManagerSync", "Error syncing level: " + levelName, t);
+            }
+
+            @Override
+            public void cancelled() {
+                Gdx.app.log("LevelManagerSync", "Sync cancelled for level: " + levelName);
+            }
+        });
     }
     
     // Helper class for JSON payload if using gdx.utils.Json for serialization
@@ -404,43 +476,18 @@ public class LevelManager {
         public String difficulty;
     }
 
-    public static class LevelAnalysis {
-        public float tempo;
-        public Array<Float> beat_times;
-        public Array<Float> onset_times;
-        public Array<Float> rms_peak_times;
-        public Array<Float> ideal_beat_times; // Added field
-        public Array<TapTarget> tap_targets;
-        public Array<Object> spike_targets;
-        public SubdivisionData subdivisions;
-    }
-
-    public static class TapTarget {
-        public float time;
-        public Array<Float> window;
-        public float confidence; // Added to match analysis JSON files
-    }
-
-    public static class SubdivisionData {
-        public int count;
-        public Array<Float> times;
-    }
-
     public static class LevelData {
         private String id;
         private String name;
         private String musicFilePath;
         private String analysisFilePath;
         private String difficulty;
-        private LevelAnalysis analysis;
-
-        public LevelData(String id, String name, String musicFilePath, String analysisFilePath, String difficulty, LevelAnalysis analysis) {
+        public LevelData(String id, String name, String musicFilePath, String analysisFilePath, String difficulty) {
             this.id = id;
             this.name = name;
             this.musicFilePath = musicFilePath;
             this.analysisFilePath = analysisFilePath;
             this.difficulty = difficulty;
-            this.analysis = analysis;
         }
 
         public String getId() { return id; }
@@ -448,6 +495,5 @@ public class LevelManager {
         public String getMusicFilePath() { return musicFilePath; }
         public String getAnalysisFilePath() { return analysisFilePath; }
         public String getDifficulty() { return difficulty; }
-        public LevelAnalysis getAnalysis() { return analysis; }
     }
 }
@@ -0,0 +1,238 @@
+package io.github.some_example_name.managers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import io.github.some_example_name.beatmap.AnalysisManifest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the music folder's analyses up to date in the background, so the menu is usable while
+ * ANALYZE.py runs. Only tracks that are new, whose MP3 changed, or whose analysis was made by
+ * another version of the script are analysed (see {@link AnalysisManifest}), one at a time.
+ * Each finished track's level is handed to {@link LevelManager#registerLevel} on the render
+ * thread; with nothing to analyse, the check is a folder listing and no Python is started.
+ * <p>
+ * Requires Python with the script's packages on the PATH, as before.
+ */
+public class MusicAnalyzer {
+    private static final String SCRIPT_NAME = "ANALYZE.py";
+    private static final String ANALYSIS_SUFFIX = "_analysis.json";
+    private static final String LEVELS_CONFIG_NAME = "levels/levels.json";
+
+    private final FileHandle musicDir;
+    private final AsyncExecutor executor = new AsyncExecutor(1, "MusicAnalyzer");
+    private volatile boolean disposed;
+    private volatile Process running;
+
+    public MusicAnalyzer(FileHandle musicDir) {
+        this.musicDir = musicDir;
+    }
+
+    /**
+     * Starts checking the folder on the analyzer thread and returns straight away.
+     */
+    public void start() {
+        executor.submit(new AsyncTask<Void>() {
+            @Override
+            public Void call() {
+                try {
+                    analyzeChangedTracks();
+                } catch (RuntimeException e) {
+                    Gdx.app.error("MusicAnalyzer", "Music analysis failed", e);
+                }
+                return null;
+            }
+        });
+    }
+
+    private void analyzeChangedTracks() {
+        long start = TimeUtils.millis();
+        FileHandle script = musicDir.child(SCRIPT_NAME);
+        if (!script.exists()) {
+            Gdx.app.error("MusicAnalyzer", SCRIPT_NAME + " not found at: " + script.file().getAbsolutePath());
+            return;
+        }
+        String analyzerVersion = AnalysisManifest.hash(script);
+        AnalysisManifest manifest = AnalysisManifest.load(musicDir);
+
+        FileHandle[] tracks = musicDir.list(".mp3");
+        Set<String> trackNames = new LinkedHashSet<>();
+        List<AnalysisManifest.Track> stale = new ArrayList<>(); // Entries to store once analysed
+        boolean changed = false;
+        for (FileHandle track : tracks) {
+            trackNames.add(track.name());
+            FileHandle analysis = musicDir.child(analysisFileName(track));
+            AnalysisManifest.Track entry = manifest.get(track.name());
+            long size = track.length();
+            long modified = track.lastModified();
+            if (entry != null && entry.size == size && entry.modified == modified
+                && analyzerVersion.equals(entry.analyzerVersion) && analysis.exists()) {
+                continue; // Unchanged, without reading the MP3
+            }
+
+            String hash = AnalysisManifest.hash(track);
+            boolean sameContent = entry != null && hash.equals(entry.hash) && analyzerVersion.equals(entry.analyzerVersion);
+            // Analyses made before there was a manifest are taken as current once
+            boolean adopted = entry == null && !manifest.existed() && analysis.exists();
+            if ((sameContent && analysis.exists()) || adopted) {
+                manifest.put(entryFor(track, size, modified, hash, analysis.name(), analyzerVersion));
+                changed = true;
+            } else {
+                // Stamped before the run, so a track edited meanwhile is seen as changed next launch
+                stale.add(entryFor(track, size, modified, hash, analysis.name(), analyzerVersion));
+            }
+        }
+        changed |= manifest.retainOnly(trackNames);
+        if (changed || !manifest.existed()) {
+            manifest.save();
+        }
+        Gdx.app.log("MusicAnalyzer", tracks.length + " track(s) checked in " + (TimeUtils.millis() - start) + " ms, "
+            + stale.size() + " to analyse");
+
+        for (AnalysisManifest.Track entry : stale) {
+            if (disposed) {
+                return;
+            }
+            if (!runScript(script, entry.musicFileName)) {
+                continue;
+            }
+            if (!musicDir.child(entry.analysisFileName).exists()) {
+                Gdx.app.error("MusicAnalyzer", SCRIPT_NAME + " wrote no analysis for " + entry.musicFileName);
+                continue;
+            }
+            manifest.put(entry);
+            manifest.save();
+            registerLevel(entry.musicFileName);
+        }
+    }
+
+    // Runs the script on one track, logging its output
+    private boolean runScript(FileHandle script, String musicFileName) {
+        long start = TimeUtils.millis();
+        try {
+            ProcessBuilder pb = new ProcessBuilder("python", script.file().getAbsolutePath(), "--file", musicFileName);
+            pb.directory(musicDir.file());
+            pb.redirectErrorStream(true);
+            Process process = pb.start();
+            running = process;
+            if (disposed) {
+                process.destroy(); // Raced with dispose
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Gdx.app.log("PythonAnalyzer", line);
+                }
+            } finally {
+                reader.close();
+            }
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                if (!disposed) {
+                    Gdx.app.error("MusicAnalyzer", SCRIPT_NAME + " failed on " + musicFileName + " with exit code " + exitCode);
+                }
+                return false;
+            }
+            Gdx.app.log("MusicAnalyzer", "Analysed " + musicFileName + " in " + (TimeUtils.millis() - start) + " ms");
+            return true;
+        } catch (IOException e) {
+            if (disposed) {
+                return false; // Stopped by dispose
+            }
+            Gdx.app.error("MusicAnalyzer", "Failed to run " + SCRIPT_NAME + ". Is Python installed and in your system's PATH?", e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            running = null;
+        }
+    }
+
+    // Reads the track's level from levels.json, which no script is writing now, for the render thread to register
+    private void registerLevel(String musicFileName) {
+        final LevelManager.LevelConfig config;
+        try {
+            config = findLevel(musicFileName);
+        } catch (RuntimeException e) {
+            Gdx.app.error("MusicAnalyzer", "Could not read " + LEVELS_CONFIG_NAME + " after analysing " + musicFileName, e);
+            return;
+        }
+        if (config == null) {
+            Gdx.app.error("MusicAnalyzer", "No level in " + LEVELS_CONFIG_NAME + " for " + musicFileName);
+            return;
+        }
+        Gdx.app.postRunnable(new Runnable() {
+            @Override
+            public void run() {
+                LevelManager.getInstance().registerLevel(config);
+            }
+        });
+    }
+
+    private LevelManager.LevelConfig findLevel(String musicFileName) {
+        FileHandle levelsFile = musicDir.child(LEVELS_CONFIG_NAME);
+        if (!levelsFile.exists()) {
+            return null;
+        }
+        JsonValue levels = new JsonReader().parse(levelsFile).get("levels");
+        if (levels == null) {
+            return null;
+        }
+        for (JsonValue level : levels) {
+            if (musicFileName.equals(level.getString("musicFileName", null))) {
+                LevelManager.LevelConfig config = new LevelManager.LevelConfig();
+                config.id = level.getString("id", null);
+                config.name = level.getString("name", null);
+                config.musicFileName = musicFileName;
+                config.analysisFileName = level.getString("analysisFileName", null);
+                config.difficulty = level.getString("difficulty", null);
+                return config.id == null ? null : config;
+            }
+        }
+        return null;
+    }
+
+    private static AnalysisManifest.Track entryFor(FileHandle track, long size, long modified, String hash,
+                                                   String analysisFileName, String analyzerVersion) {
+        AnalysisManifest.Track entry = new AnalysisManifest.Track();
+        entry.musicFileName = track.name();
+        entry.size = size;
+        entry.modified = modified;
+        entry.hash = hash;
+        entry.analysisFileName = analysisFileName;
+        entry.analyzerVersion = analyzerVersion;
+        return entry;
+    }
+
+    // Where ANALYZE.py writes a track's analysis
+    private static String analysisFileName(FileHandle track) {
+        return track.nameWithoutExtension() + ANALYSIS_SUFFIX;
+    }
+
+    /**
+     * Stops a running analysis and waits for the analyzer thread to finish. Tracks not analysed
+     * yet are picked up on the next launch.
+     */
+    public void dispose() {
+        disposed = true;
+        Process process = running;
+        if (process != null) {
+            process.destroy();
+        }
+        executor.dispose();
+    }
+}
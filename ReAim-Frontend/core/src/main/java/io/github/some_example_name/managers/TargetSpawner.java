@@ -0,0 +1,121 @@
+package io.github.some_example_name.managers;
+
+import com.badlogic.gdx.math.RandomXS128;
+import io.github.some_example_name.beatmap.Beatmap;
+import io.github.some_example_name.ecs.GameplayWorld;
+
+import java.util.Arrays;
+
+/**
+ * Spawns a level's targets into the gameplay world so that each reaches the top of its flight on
+ * its beat. The whole schedule is worked out up front from a generator seeded per level: every
+ * target's travel time, spawn time, horizontal position and launch velocity, sorted by spawn
+ * time into parallel arrays. Updating then only walks a cursor past the targets that are due,
+ * and the same beatmap, seed and screen size always produce the same layout.
+ * <p>
+ * Positions are blue noise rather than plain uniform: each target takes the best of a few
+ * random candidates, the one furthest from the targets spawned just before it (Mitchell's
+ * best-candidate sampling). That spreads neighbours out like a Poisson-disc layout without the
+ * open-ended rejection loop.
+ */
+public class TargetSpawner {
+    private static final float MIN_TARGET_TRAVEL_TIME = 0.5f; // Adjusted for more velocity variation (faster min speed)
+    private static final float MAX_TARGET_TRAVEL_TIME = 2.5f; // Adjusted for more velocity variation (slower max speed)
+    private static final float TARGET_START_Y = 0;
+    private static final int PLACEMENT_CANDIDATES = 8;
+    private static final int PLACEMENT_NEIGHBOURS = 3; // Earlier spawns each candidate keeps away from
+
+    // The schedule, sorted by spawn time
+    private final float[] spawnTimes;
+    private final float[] spawnXs;
+    private final float[] launchVelocities;
+    private float elapsedTime;
+    private int nextTargetIndex;
+
+    /**
+     * Computes the level's spawn schedule.
+     * @param seed seeds every random choice: travel times and horizontal positions
+     * @param targetWidth width of a spawned target, to keep it inside the screen
+     */
+    public TargetSpawner(Beatmap beatmap, long seed, float screenWidth, float screenHeight, float targetWidth) {
+        RandomXS128 random = new RandomXS128(seed);
+        int count = beatmap.size();
+
+        // Travel times per tap, then spawn order: earlier taps can spawn later than quick ones
+        // after them, so sort (spawn time, tap) keys
+        float[] travelTimes = new float[count];
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) {
+            travelTimes[i] = MIN_TARGET_TRAVEL_TIME + random.nextFloat() * (MAX_TARGET_TRAVEL_TIME - MIN_TARGET_TRAVEL_TIME);
+            order[i] = ((long) sortableBits(beatmap.getTapTime(i) - travelTimes[i]) << 32) | i;
+        }
+        Arrays.sort(order);
+
+        spawnTimes = new float[count];
+        spawnXs = new float[count];
+        launchVelocities = new float[count];
+        float spawnRange = Math.max(0f, screenWidth - targetWidth);
+        for (int s = 0; s < count; s++) {
+            int tap = (int) order[s];
+            spawnTimes[s] = beatmap.getTapTime(tap) - travelTimes[tap];
+            spawnXs[s] = bestCandidateX(random, spawnRange, s);
+            // Simplified: v0 = H / t, with the height stretched so targets fly higher; gravity in
+            // the gameplay world shapes the actual trajectory.
+            launchVelocities[s] = (screenHeight * 1.8f) / travelTimes[tap];
+        }
+    }
+
+    // Of a few uniform candidates, the one whose nearest recent neighbour is furthest away
+    private float bestCandidateX(RandomXS128 random, float spawnRange, int index) {
+        float bestX = 0f;
+        float bestDistance = -1f;
+        for (int c = 0; c < PLACEMENT_CANDIDATES; c++) {
+            float x = random.nextFloat() * spawnRange;
+            float nearest = Float.MAX_VALUE;
+            for (int n = Math.max(0, index - PLACEMENT_NEIGHBOURS); n < index; n++) {
+                nearest = Math.min(nearest, Math.abs(x - spawnXs[n]));
+            }
+            if (nearest > bestDistance) {
+                bestDistance = nearest;
+                bestX = x;
+            }
+        }
+        return bestX;
+    }
+
+    /**
+     * Advances the level time and spawns every target whose spawn time has passed.
+     * @return the number of targets spawned
+     */
+    public int update(float deltaTime, GameplayWorld gameplayWorld) {
+        elapsedTime += deltaTime;
+        int spawnedCount = 0;
+        while (nextTargetIndex < spawnTimes.length && spawnTimes[nextTargetIndex] <= elapsedTime) {
+            gameplayWorld.createTarget(spawnXs[nextTargetIndex], TARGET_START_Y, launchVelocities[nextTargetIndex]);
+            nextTargetIndex++;
+            spawnedCount++;
+        }
+        return spawnedCount;
+    }
+
+    public boolean isComplete() {
+        return nextTargetIndex >= spawnTimes.length;
+    }
+
+    public float getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * @return targets in the schedule
+     */
+    public int size() {
+        return spawnTimes.length;
+    }
+
+    // Float bits reordered so that comparing them as signed ints orders the floats, negatives included
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+}
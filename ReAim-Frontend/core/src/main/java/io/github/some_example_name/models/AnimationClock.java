@@ -0,0 +1,32 @@
+package io.github.some_example_name.models;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Elapsed time of one entity's animation. Each gun, casing and target owns one, so resetting
+ * an animation for a new shot no longer restarts it for every other entity sharing the frames.
+ */
+public class AnimationClock {
+    private float time = 0f;
+
+    public void update(float deltaTime) {
+        time += deltaTime;
+    }
+
+    public void reset() {
+        time = 0f;
+    }
+
+    public float getTime() {
+        return time;
+    }
+
+    public TextureRegion getFrame(Animation<TextureRegion> animation, boolean looping) {
+        return animation.getKeyFrame(time, looping);
+    }
+
+    public boolean isFinished(Animation<TextureRegion> animation) {
+        return animation.isAnimationFinished(time);
+    }
+}
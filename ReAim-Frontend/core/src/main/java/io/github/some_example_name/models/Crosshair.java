@@ -3,6 +3,7 @@ package io.github.some_example_name.models;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import io.github.some_example_name.assets.GameAssets;
 
 /**
@@ -11,8 +12,8 @@ import io.github.some_example_name.assets.GameAssets;
 public class Crosshair {
     private float x, y;
     private String type;
-    private Texture normalTexture;
-    private Texture readyTexture; // Red version for when over valid target
+    private TextureRegion normalTexture;
+    private TextureRegion readyTexture; // Red version for when over valid target
     private boolean isReady;
     private GameAssets assets;
     private float scale; // Scale factor for the crosshair
@@ -41,7 +42,7 @@ public class Crosshair {
         if (this.normalTexture == null) {
             Gdx.app.error("Crosshair", "Failed to load normal texture for type: " + type + ". Using fallback.");
             // Attempt to load a very generic placeholder if specific one fails
-            this.normalTexture = new Texture(Gdx.files.internal("badlogic.jpg")); 
+            this.normalTexture = new TextureRegion(new Texture(Gdx.files.internal("badlogic.jpg"))); 
         }
         
         this.readyTexture = assets.getCrosshairTexture("crosshair" + type + "R");
@@ -62,13 +63,27 @@ public class Crosshair {
             Gdx.app.error("Crosshair", "Cannot updatePosition, normalTexture is null.");
             return; 
         }
-        float scaledWidth = normalTexture.getWidth() * scale;
-        float scaledHeight = normalTexture.getHeight() * scale;
+        float scaledWidth = GameAssets.regionWidth(normalTexture) * scale;
+        float scaledHeight = GameAssets.regionHeight(normalTexture) * scale;
         
         x = Gdx.input.getX() - scaledWidth / 2;
         y = Gdx.graphics.getHeight() - Gdx.input.getY() - scaledHeight / 2;
     }
     
+    /**
+     * Centres the crosshair on the given point instead of the cursor, e.g. when playing back a
+     * replay.
+     */
+    public void setCenter(float centerX, float centerY) {
+        if (normalTexture == null) {
+            x = centerX;
+            y = centerY;
+            return;
+        }
+        x = centerX - GameAssets.regionWidth(normalTexture) * scale / 2;
+        y = centerY - GameAssets.regionHeight(normalTexture) * scale / 2;
+    }
+
     /**
      * Draws the crosshair, scaled.
      * @param batch SpriteBatch to draw with
@@ -78,16 +93,16 @@ public class Crosshair {
             Gdx.app.error("Crosshair", "Cannot render, normalTexture is null.");
             return;
         }
-        Texture currentTexture = isReady ? readyTexture : normalTexture;
+        TextureRegion currentTexture = isReady ? readyTexture : normalTexture;
         // Ensure currentTexture is not null if readyTexture was also null and normalTexture was the fallback
         if (currentTexture == null) { 
             currentTexture = normalTexture; 
         }
 
         if (currentTexture != null) { // Final check
-            float scaledWidth = currentTexture.getWidth() * scale;
-            float scaledHeight = currentTexture.getHeight() * scale;
-            batch.draw(currentTexture, x, y, scaledWidth, scaledHeight);
+            float scaledWidth = GameAssets.regionWidth(currentTexture) * scale;
+            float scaledHeight = GameAssets.regionHeight(currentTexture) * scale;
+            GameAssets.drawRegion(batch, currentTexture, x, y, scaledWidth, scaledHeight);
         } else {
             Gdx.app.error("Crosshair", "Cannot render, currentTexture is null even after fallbacks.");
         }
@@ -110,7 +125,7 @@ public class Crosshair {
             Gdx.app.log("Crosshair", "getCenterX called with null normalTexture. Returning raw x."); // Changed warn to log
             return x; 
         }
-        return x + (normalTexture.getWidth() * scale) / 2;
+        return x + (GameAssets.regionWidth(normalTexture) * scale) / 2;
     }
     
     /**
@@ -122,7 +137,7 @@ public class Crosshair {
             Gdx.app.log("Crosshair", "getCenterY called with null normalTexture. Returning raw y."); // Changed warn to log
             return y;
         }
-        return y + (normalTexture.getHeight() * scale) / 2;
+        return y + (GameAssets.regionHeight(normalTexture) * scale) / 2;
     }
     
     /**
@@ -135,7 +150,7 @@ public class Crosshair {
         this.normalTexture = assets.getCrosshairTexture("crosshair" + type);
         if (this.normalTexture == null) {
             Gdx.app.error("Crosshair", "Failed to load normal texture for type: " + type + " during setType. Using fallback.");
-            this.normalTexture = new Texture(Gdx.files.internal("badlogic.jpg"));
+            this.normalTexture = new TextureRegion(new Texture(Gdx.files.internal("badlogic.jpg")));
         }
         this.readyTexture = assets.getCrosshairTexture("crosshair" + type + "R");
         if (this.readyTexture == null) {
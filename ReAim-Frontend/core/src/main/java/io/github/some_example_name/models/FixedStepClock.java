@@ -0,0 +1,80 @@
+package io.github.some_example_name.models;
+
+/**
+ * Turns variable frame times into a whole number of fixed simulation steps. Frame time builds
+ * up in an accumulator and is spent one step at a time; the remainder carries over to the next
+ * frame and doubles as the interpolation factor for drawing between the last two steps.
+ * <p>
+ * Because every step covers the same time, the simulation runs the same sequence of updates at
+ * 30 or 300 frames per second. No frame runs more than {@link #MAX_FRAME_TIME} worth of steps;
+ * after a hitch the rest are spread over the following frames, so the simulation catches back
+ * up with the music instead of stalling on one frame. A backlog past {@link #MAX_BACKLOG} (the
+ * machine cannot keep up at all) is dropped.
+ */
+public class FixedStepClock {
+    public static final int DEFAULT_STEP_RATE = 240;
+    public static final float MAX_FRAME_TIME = 0.25f;
+    public static final float MAX_BACKLOG = 1f;
+
+    private final int stepRate;
+    private final float stepSeconds;
+    private final int maxStepsPerFrame;
+    // Kept in double so rounding does not drift the step count over a long level
+    private double accumulator;
+    private long steps;
+
+    /**
+     * @param stepRate simulation steps per second
+     */
+    public FixedStepClock(int stepRate) {
+        if (stepRate <= 0) {
+            throw new IllegalArgumentException("stepRate must be positive: " + stepRate);
+        }
+        this.stepRate = stepRate;
+        this.stepSeconds = 1f / stepRate;
+        this.maxStepsPerFrame = Math.max(1, (int) (MAX_FRAME_TIME * stepRate));
+    }
+
+    /**
+     * Adds a frame's time to the accumulator.
+     * @return how many steps to run this frame
+     */
+    public int advance(float frameDelta) {
+        accumulator = Math.min(accumulator + Math.max(frameDelta, 0f), MAX_BACKLOG);
+        int due = Math.min((int) (accumulator * stepRate), maxStepsPerFrame);
+        accumulator -= due / (double) stepRate;
+        steps += due;
+        return due;
+    }
+
+    /**
+     * @return the fraction of a step left in the accumulator, 0 to 1, to interpolate drawing by;
+     *         1 while catching up
+     */
+    public float getAlpha() {
+        return Math.max(0f, Math.min(1f, (float) (accumulator * stepRate)));
+    }
+
+    /**
+     * @return the time every step covers, in seconds
+     */
+    public float getStepSeconds() {
+        return stepSeconds;
+    }
+
+    public int getStepRate() {
+        return stepRate;
+    }
+
+    /**
+     * @return steps handed out since the clock was created
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    public void reset() {
+        accumulator = 0;
+        steps = 0;
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.some_example_name.models;
 
+import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import io.github.some_example_name.assets.GameAssets;
@@ -11,12 +12,15 @@ public class Gun {
     private float x, y;
     private boolean isAnimating;
     private GameAssets assets;
+    private final Animation<TextureRegion> shootAnimation;
+    private final AnimationClock clock = new AnimationClock();
     
     public Gun(float x, float y) {
         this.x = x;
         this.y = y;
         this.isAnimating = false;
         this.assets = GameAssets.getInstance();
+        this.shootAnimation = assets.getGunAnimation();
     }
     
     /**
@@ -40,7 +44,8 @@ public class Gun {
      * @param deltaTime Time since last frame
      */
     public void update(float deltaTime) {
-        if (isAnimating && assets.isGunAnimationFinished()) {
+        clock.update(deltaTime);
+        if (isAnimating && clock.isFinished(shootAnimation)) {
             isAnimating = false;
         }
     }
@@ -51,11 +56,12 @@ public class Gun {
      */
     public void render(SpriteBatch batch) {
         if (isAnimating) {
-            TextureRegion currentFrame = assets.getCurrentGunFrame();
-            batch.draw(currentFrame, x, y);
+            TextureRegion currentFrame = getCurrentFrame();
+            GameAssets.drawRegion(batch, currentFrame, x, y, GameAssets.regionWidth(currentFrame), GameAssets.regionHeight(currentFrame));
         } else {
             // Draw static gun (first frame)
-            batch.draw(assets.getGunTexture("gub1"), x, y);
+            TextureRegion staticFrame = assets.getGunTexture("gub1");
+            GameAssets.drawRegion(batch, staticFrame, x, y, GameAssets.regionWidth(staticFrame), GameAssets.regionHeight(staticFrame));
         }
     }
     
@@ -64,7 +70,15 @@ public class Gun {
      */
     public void shoot() {
         isAnimating = true;
-        assets.resetGunAnimation();
+        clock.reset();
+    }
+
+    /**
+     * Gets the current frame of this gun's shooting animation
+     * @return The current TextureRegion from the gun animation
+     */
+    public TextureRegion getCurrentFrame() {
+        return clock.getFrame(shootAnimation, true);
     }
     
     /**
@@ -0,0 +1,94 @@
+package io.github.some_example_name.models;
+
+/**
+ * The level's timeline, in seconds since its music started, driven by the music's reported
+ * playback position rather than by summed frame times. Summed frame times drift from the song
+ * over a few minutes, and know nothing of audio start latency or of the music stalling.
+ * <p>
+ * The reported position is coarse and jittery, so it is not used directly. The clock advances
+ * by each frame's delta, sped up or slowed down by at most {@link #MAX_SLEW} to close the gap to
+ * the music, so it never jumps and never runs backwards. Only a gap above
+ * {@link #SNAP_THRESHOLD} is closed at once: ahead of the clock it jumps forward, behind it the
+ * clock holds still until the music catches up. While no music is playing (it has finished, or
+ * there is none) the clock runs on frame time alone.
+ * <p>
+ * The gap between music and clock after each correction is the drift, kept as a metric.
+ */
+public class LevelClock {
+    public static final float MAX_SLEW = 0.1f; // At most 10% faster or slower than real time
+    public static final float SNAP_THRESHOLD = 0.25f;
+    private static final float CORRECTION_GAIN = 2f; // Slew per second of drift, before clamping
+
+    private double time;
+    private float drift;
+    private float maxDrift;
+    private double driftSum;
+    private long driftSamples;
+
+    /**
+     * Advances the clock by one frame.
+     * @param audioPosition the music's playback position in seconds; ignored unless playing
+     * @param audioPlaying whether the music is playing right now
+     * @return how far the clock moved, in seconds; never negative
+     */
+    public float update(float frameDelta, float audioPosition, boolean audioPlaying) {
+        frameDelta = Math.max(frameDelta, 0f);
+        if (!audioPlaying) {
+            time += frameDelta;
+            return frameDelta;
+        }
+
+        double previous = time;
+        float error = (float) (audioPosition - (time + frameDelta));
+        if (error > SNAP_THRESHOLD) {
+            time = audioPosition;
+        } else if (error >= -SNAP_THRESHOLD) {
+            float slew = Math.max(-MAX_SLEW, Math.min(MAX_SLEW, error * CORRECTION_GAIN));
+            time += frameDelta * (1f + slew);
+        }
+        // else: hold until the music catches up
+
+        drift = (float) (audioPosition - time);
+        float absoluteDrift = Math.abs(drift);
+        maxDrift = Math.max(maxDrift, absoluteDrift);
+        driftSum += absoluteDrift;
+        driftSamples++;
+        return (float) (time - previous);
+    }
+
+    /**
+     * @return seconds since the level's music started
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * @return music position minus clock time after the last update, in seconds
+     */
+    public float getDrift() {
+        return drift;
+    }
+
+    /**
+     * @return the largest absolute drift seen since the last reset, in seconds
+     */
+    public float getMaxDrift() {
+        return maxDrift;
+    }
+
+    /**
+     * @return the mean absolute drift over every update with music playing, in seconds
+     */
+    public float getMeanDrift() {
+        return driftSamples == 0 ? 0f : (float) (driftSum / driftSamples);
+    }
+
+    public void reset() {
+        time = 0;
+        drift = 0f;
+        maxDrift = 0f;
+        driftSum = 0;
+        driftSamples = 0;
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.some_example_name.replay;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+
+/**
+ * One recorded attempt at a level: what is needed to rebuild its spawn schedule, the cursor
+ * path, and every shot. Read back by {@link ReplayCodec#read}; GameScreen plays it by starting
+ * the same level with the same seed and spawn area, and firing each shot at the simulation tick
+ * it was judged at.
+ * <p>
+ * A tick is a fraction of a simulation step: step s covers ticks
+ * (s - 1) * {@link #TICKS_PER_STEP} + 1 to s * TICKS_PER_STEP, and a shot at tick t is judged
+ * after that step with targets placed (t - (s - 1) * TICKS_PER_STEP) / TICKS_PER_STEP of the way
+ * through it. Tick 0 is before the first step.
+ */
+public class Replay {
+    public static final int TICKS_PER_STEP = 64;
+
+    public final String levelId;
+    public final long seed;
+    public final int stepRate;
+    public final int screenWidth;
+    public final int screenHeight;
+    // Drawn size of a target (its hit box), and the width spawns were kept inside the screen by
+    public final float targetWidth;
+    public final float targetHeight;
+    public final float spawnTargetWidth;
+    // Score the attempt ended with, as the game judged it while recording
+    public int score;
+
+    // Cursor samples: level time in milliseconds, position in screen pixels from the bottom left
+    public final IntArray cursorTimes = new IntArray();
+    public final IntArray cursorXs = new IntArray();
+    public final IntArray cursorYs = new IntArray();
+
+    // Shots: simulation tick, level time in microseconds (judged against the beat), position
+    public final LongArray shotTicks = new LongArray();
+    public final LongArray shotTimes = new LongArray();
+    public final IntArray shotXs = new IntArray();
+    public final IntArray shotYs = new IntArray();
+
+    public Replay(String levelId, long seed, int stepRate, int screenWidth, int screenHeight,
+                  float targetWidth, float targetHeight, float spawnTargetWidth) {
+        this.levelId = levelId;
+        this.seed = seed;
+        this.stepRate = stepRate;
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+        this.targetWidth = targetWidth;
+        this.targetHeight = targetHeight;
+        this.spawnTargetWidth = spawnTargetWidth;
+    }
+
+    public int getCursorCount() {
+        return cursorTimes.size;
+    }
+
+    public int getShotCount() {
+        return shotTicks.size;
+    }
+}
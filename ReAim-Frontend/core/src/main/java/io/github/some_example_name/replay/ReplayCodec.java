@@ -0,0 +1,351 @@
+package io.github.some_example_name.replay;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Comparator;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads and writes replay files. The whole file is deflated; inside it:
+ * <pre>
+ * int     magic         'R' 'P' 'L' 'Y'
+ * int     version
+ * UTF     levelId
+ * long    seed
+ * int     stepRate
+ * int     screenWidth
+ * int     screenHeight
+ * float   targetWidth   drawn size of a target, which is its hit box
+ * float   targetHeight
+ * float   spawnTargetWidth  width spawns are kept inside the screen by
+ * blocks, each:
+ *   byte    1
+ *   varint  cursorCount
+ *   varint  shotCount
+ *   cursorCount zigzag varints: change in the time delta, in milliseconds
+ *   cursorCount zigzag varints: change in the x delta
+ *   cursorCount zigzag varints: change in the y delta
+ *   shotCount times: varint tick delta, zigzag varint time delta in microseconds,
+ *                    zigzag varint x delta, zigzag varint y delta
+ * byte    0             end of replay
+ * int     score         final score of the attempt
+ * </pre>
+ * Cursor samples are stored as second differences, column by column: at a steady 1000 Hz and a
+ * smooth hand almost every value is 0, 1 or -1, which deflate then packs to a fraction of a byte.
+ * Delta bases carry over from block to block.
+ * <p>
+ * Version 1 files have no target sizes; they were all recorded with the sizes in the
+ * VERSION_1_ constants.
+ */
+public final class ReplayCodec {
+    public static final String EXTENSION = ".rpl";
+    public static final String DIRECTORY = "replays/";
+
+    private static final int MAGIC = 0x52504C59; // "RPLY"
+    private static final int VERSION = 2;
+    private static final float VERSION_1_TARGET_WIDTH = 1920 * 0.3f;
+    private static final float VERSION_1_TARGET_HEIGHT = 1080 * 0.3f;
+    private static final float VERSION_1_SPAWN_TARGET_WIDTH = 64f;
+    private static final int BLOCK_END = 0;
+    private static final int BLOCK_EVENTS = 1;
+
+    private ReplayCodec() {
+    }
+
+    /**
+     * A new local file for an attempt at the level started at the given time. Names sort by
+     * start time within a level.
+     */
+    public static FileHandle newFile(String levelId, long startedAtMillis) {
+        return Gdx.files.local(DIRECTORY + fileSafe(levelId) + "-" + startedAtMillis + EXTENSION);
+    }
+
+    /**
+     * @return the most recently started replay of the level, or null if there is none
+     */
+    public static FileHandle latest(String levelId) {
+        FileHandle directory = Gdx.files.local(DIRECTORY);
+        if (!directory.isDirectory()) {
+            return null;
+        }
+        String prefix = fileSafe(levelId) + "-";
+        FileHandle latest = null;
+        for (FileHandle file : directory.list(EXTENSION)) {
+            if (isReplayOf(file.name(), prefix) && (latest == null || file.name().compareTo(latest.name()) > 0)) {
+                latest = file;
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Deletes the level's replays except the given number of most recently started ones.
+     * @return how many files were deleted
+     */
+    public static int prune(String levelId, int keep) {
+        FileHandle directory = Gdx.files.local(DIRECTORY);
+        if (!directory.isDirectory()) {
+            return 0;
+        }
+        String prefix = fileSafe(levelId) + "-";
+        Array<FileHandle> replays = new Array<FileHandle>();
+        for (FileHandle file : directory.list(EXTENSION)) {
+            if (isReplayOf(file.name(), prefix)) {
+                replays.add(file);
+            }
+        }
+        replays.sort(new Comparator<FileHandle>() {
+            @Override
+            public int compare(FileHandle a, FileHandle b) {
+                return a.name().compareTo(b.name());
+            }
+        });
+        int deleted = 0;
+        for (int i = 0; i < replays.size - keep; i++) {
+            if (replays.get(i).delete()) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    // Only the start time may follow the prefix, so level "a" does not claim the files of level "a-b"
+    private static boolean isReplayOf(String name, String prefix) {
+        if (!name.startsWith(prefix) || !name.endsWith(EXTENSION) || name.length() == prefix.length() + EXTENSION.length()) {
+            return false;
+        }
+        for (int i = prefix.length(); i < name.length() - EXTENSION.length(); i++) {
+            if (!Character.isDigit(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String fileSafe(String levelId) {
+        return levelId.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    /**
+     * Reads a whole replay into memory.
+     * @throws GdxRuntimeException if the file is unreadable, truncated or of another version
+     */
+    public static Replay read(FileHandle file) {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(file.read()), 8192));
+        try {
+            int version = in.readInt() == MAGIC ? in.readInt() : -1;
+            if (version != 1 && version != VERSION) {
+                throw new GdxRuntimeException("Not a replay of version 1 to " + VERSION + ": " + file.path());
+            }
+            String levelId = in.readUTF();
+            long seed = in.readLong();
+            int stepRate = in.readInt();
+            int screenWidth = in.readInt();
+            int screenHeight = in.readInt();
+            Replay replay = version == 1
+                ? new Replay(levelId, seed, stepRate, screenWidth, screenHeight,
+                    VERSION_1_TARGET_WIDTH, VERSION_1_TARGET_HEIGHT, VERSION_1_SPAWN_TARGET_WIDTH)
+                : new Replay(levelId, seed, stepRate, screenWidth, screenHeight, in.readFloat(), in.readFloat(), in.readFloat());
+            Decoder decoder = new Decoder();
+            int block;
+            while ((block = in.readUnsignedByte()) == BLOCK_EVENTS) {
+                decoder.readBlock(in, replay);
+            }
+            if (block != BLOCK_END) {
+                throw new GdxRuntimeException("Unknown replay block " + block + " in " + file.path());
+            }
+            replay.score = in.readInt();
+            return replay;
+        } catch (EOFException e) {
+            throw new GdxRuntimeException("Replay ends early (the game may have stopped while recording): " + file.path(), e);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error reading replay: " + file.path(), e);
+        } finally {
+            try {
+                in.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Opens a deflating stream onto the given output and writes the replay header.
+     */
+    static DataOutputStream openForWriting(OutputStream output, String levelId, long seed, int stepRate,
+                                           int screenWidth, int screenHeight, float targetWidth, float targetHeight,
+                                           float spawnTargetWidth) throws IOException {
+        // Buffered on both sides of the deflater, which would otherwise be handed one byte at a time
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(
+            new BufferedOutputStream(output, 8192), new Deflater(Deflater.BEST_COMPRESSION), 8192), 8192));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(levelId);
+        out.writeLong(seed);
+        out.writeInt(stepRate);
+        out.writeInt(screenWidth);
+        out.writeInt(screenHeight);
+        out.writeFloat(targetWidth);
+        out.writeFloat(targetHeight);
+        out.writeFloat(spawnTargetWidth);
+        return out;
+    }
+
+    static void writeEnd(DataOutputStream out, int score) throws IOException {
+        out.writeByte(BLOCK_END);
+        out.writeInt(score);
+    }
+
+    /**
+     * Delta bases of one replay being written, carried over from block to block. Used by the
+     * writer thread only.
+     */
+    static final class Encoder {
+        private final Bases bases = new Bases();
+
+        void writeBlock(DataOutputStream out, int[] times, int[] xs, int[] ys, int cursorCount,
+                        long[] shotTicks, long[] shotTimes, int[] shotXs, int[] shotYs, int shotCount) throws IOException {
+            out.writeByte(BLOCK_EVENTS);
+            writeVarint(out, cursorCount);
+            writeVarint(out, shotCount);
+
+            // One column at a time: similar values sit together, which deflate likes
+            int previous = bases.time;
+            int previousDelta = bases.timeDelta;
+            for (int i = 0; i < cursorCount; i++) {
+                int delta = times[i] - previous;
+                writeVarint(out, zigzag(delta - previousDelta));
+                previous = times[i];
+                previousDelta = delta;
+            }
+            bases.time = previous;
+            bases.timeDelta = previousDelta;
+
+            previous = bases.x;
+            previousDelta = bases.xDelta;
+            for (int i = 0; i < cursorCount; i++) {
+                int delta = xs[i] - previous;
+                writeVarint(out, zigzag(delta - previousDelta));
+                previous = xs[i];
+                previousDelta = delta;
+            }
+            bases.x = previous;
+            bases.xDelta = previousDelta;
+
+            previous = bases.y;
+            previousDelta = bases.yDelta;
+            for (int i = 0; i < cursorCount; i++) {
+                int delta = ys[i] - previous;
+                writeVarint(out, zigzag(delta - previousDelta));
+                previous = ys[i];
+                previousDelta = delta;
+            }
+            bases.y = previous;
+            bases.yDelta = previousDelta;
+
+            for (int i = 0; i < shotCount; i++) {
+                writeVarint(out, shotTicks[i] - bases.shotTick);
+                writeVarint(out, zigzag(shotTimes[i] - bases.shotTime));
+                writeVarint(out, zigzag(shotXs[i] - bases.shotX));
+                writeVarint(out, zigzag(shotYs[i] - bases.shotY));
+                bases.shotTick = shotTicks[i];
+                bases.shotTime = shotTimes[i];
+                bases.shotX = shotXs[i];
+                bases.shotY = shotYs[i];
+            }
+        }
+    }
+
+    private static final class Decoder {
+        private final Bases bases = new Bases();
+
+        void readBlock(DataInputStream in, Replay replay) throws IOException {
+            int cursorCount = (int) readVarint(in);
+            int shotCount = (int) readVarint(in);
+            int first = replay.cursorTimes.size;
+
+            for (int i = 0; i < cursorCount; i++) {
+                bases.timeDelta += (int) unzigzag(readVarint(in));
+                bases.time += bases.timeDelta;
+                replay.cursorTimes.add(bases.time);
+            }
+            for (int i = 0; i < cursorCount; i++) {
+                bases.xDelta += (int) unzigzag(readVarint(in));
+                bases.x += bases.xDelta;
+                replay.cursorXs.add(bases.x);
+            }
+            for (int i = 0; i < cursorCount; i++) {
+                bases.yDelta += (int) unzigzag(readVarint(in));
+                bases.y += bases.yDelta;
+                replay.cursorYs.add(bases.y);
+            }
+            if (replay.cursorTimes.size - first != cursorCount) {
+                throw new IOException("Cursor columns out of step");
+            }
+
+            for (int i = 0; i < shotCount; i++) {
+                bases.shotTick += readVarint(in);
+                bases.shotTime += unzigzag(readVarint(in));
+                bases.shotX += (int) unzigzag(readVarint(in));
+                bases.shotY += (int) unzigzag(readVarint(in));
+                replay.shotTicks.add(bases.shotTick);
+                replay.shotTimes.add(bases.shotTime);
+                replay.shotXs.add(bases.shotX);
+                replay.shotYs.add(bases.shotY);
+            }
+        }
+    }
+
+    // Previous values every delta is taken against; all start at zero
+    private static final class Bases {
+        int time;
+        int timeDelta;
+        int x;
+        int xDelta;
+        int y;
+        int yDelta;
+        long shotTick;
+        long shotTime;
+        int shotX;
+        int shotY;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
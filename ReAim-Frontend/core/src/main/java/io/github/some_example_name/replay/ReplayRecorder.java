@@ -0,0 +1,203 @@
+package io.github.some_example_name.replay;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Records an attempt to a replay file while it is played. The game thread only copies each
+ * cursor sample and shot into one of two preallocated chunks; when a chunk fills up it is handed
+ * to a writer thread, which delta-encodes and deflates it into the file while the game fills the
+ * other one. Recording therefore allocates nothing per sample, and only waits if the writer is
+ * still busy with the previous chunk, several seconds of samples ago.
+ * <p>
+ * A recorder belongs to one attempt: {@link #finish} writes the end of the replay, and
+ * {@link #dispose} waits for the writer to close the file.
+ * <p>
+ * Retention: only the {@link #KEPT_PER_LEVEL} most recently started replays of each level are
+ * kept. Starting a recording deletes the level's older ones on the writer thread, uploaded or
+ * not; an uploaded replay is stored by the backend, and the newest stays for playback.
+ */
+public class ReplayRecorder {
+    public static final int KEPT_PER_LEVEL = 5;
+    private static final int CURSOR_SAMPLES_PER_CHUNK = 4096; // About four seconds at 1000 Hz
+    private static final int SHOTS_PER_CHUNK = 256;
+
+    private final FileHandle file;
+    private final AsyncExecutor writer = new AsyncExecutor(1, "ReplayWriter");
+    private final ReplayCodec.Encoder encoder = new ReplayCodec.Encoder();
+    private final Chunk[] chunks = {new Chunk(), new Chunk()};
+    private final AsyncResult<?>[] pending = new AsyncResult<?>[2];
+    private Chunk current;
+    private int currentIndex;
+    private int lastX = Integer.MIN_VALUE;
+    private int lastY = Integer.MIN_VALUE;
+    private boolean finished;
+
+    // Owned by the writer thread once opened
+    private DataOutputStream out;
+    private volatile boolean failed;
+
+    /**
+     * Starts a replay in the given file; the file is opened and the header written on the writer
+     * thread.
+     */
+    public ReplayRecorder(final FileHandle file, final String levelId, final long seed, final int stepRate,
+                          final int screenWidth, final int screenHeight, final float targetWidth,
+                          final float targetHeight, final float spawnTargetWidth) {
+        this.file = file;
+        current = chunks[0];
+        writer.submit(new AsyncTask<Void>() {
+            @Override
+            public Void call() {
+                // Room for this attempt's file among the kept ones
+                ReplayCodec.prune(levelId, KEPT_PER_LEVEL - 1);
+                try {
+                    out = ReplayCodec.openForWriting(file.write(false), levelId, seed, stepRate, screenWidth, screenHeight,
+                        targetWidth, targetHeight, spawnTargetWidth);
+                } catch (IOException | GdxRuntimeException e) {
+                    fail("Could not start replay " + file.path(), e);
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Records where the cursor was at the given level time. Samples that do not move the cursor
+     * are dropped.
+     * @param levelMillis level clock time, in milliseconds
+     */
+    public void recordCursor(int levelMillis, int x, int y) {
+        if (finished || (x == lastX && y == lastY)) {
+            return;
+        }
+        lastX = x;
+        lastY = y;
+        Chunk chunk = current;
+        chunk.times[chunk.cursorCount] = levelMillis;
+        chunk.xs[chunk.cursorCount] = x;
+        chunk.ys[chunk.cursorCount] = y;
+        if (++chunk.cursorCount == CURSOR_SAMPLES_PER_CHUNK) {
+            handOff();
+        }
+    }
+
+    /**
+     * Records a shot as it was judged.
+     * @param tick simulation tick it was judged at, as described in {@link Replay}
+     * @param levelMicros level clock time it was judged against the beat at, in microseconds
+     */
+    public void recordShot(long tick, long levelMicros, int x, int y) {
+        if (finished) {
+            return;
+        }
+        Chunk chunk = current;
+        chunk.shotTicks[chunk.shotCount] = tick;
+        chunk.shotTimes[chunk.shotCount] = levelMicros;
+        chunk.shotXs[chunk.shotCount] = x;
+        chunk.shotYs[chunk.shotCount] = y;
+        if (++chunk.shotCount == SHOTS_PER_CHUNK) {
+            handOff();
+        }
+    }
+
+    /**
+     * Writes out what is left and ends the replay with the attempt's final score. Does nothing
+     * if already finished.
+     */
+    public void finish(final int score) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (current.cursorCount > 0 || current.shotCount > 0) {
+            handOff();
+        }
+        writer.submit(new AsyncTask<Void>() {
+            @Override
+            public Void call() {
+                if (out == null) {
+                    return null;
+                }
+                try {
+                    if (!failed) {
+                        ReplayCodec.writeEnd(out, score);
+                    }
+                    out.close();
+                    if (!failed) {
+                        Gdx.app.log("ReplayRecorder", "Saved replay " + file.path() + " (" + file.length() + " bytes)");
+                    }
+                } catch (IOException e) {
+                    fail("Could not finish replay " + file.path(), e);
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @return the file the replay is written to; complete once {@link #dispose} returns
+     */
+    public FileHandle getFile() {
+        return file;
+    }
+
+    /**
+     * Waits for the writer to close the file. Call {@link #finish} first, or the replay is left
+     * without its end and cannot be played.
+     */
+    public void dispose() {
+        writer.dispose();
+    }
+
+    // Queues the current chunk for writing and switches to the other one
+    private void handOff() {
+        pending[currentIndex] = writer.submit(current);
+        currentIndex ^= 1;
+        current = chunks[currentIndex];
+        if (pending[currentIndex] != null) {
+            pending[currentIndex].get(); // Only blocks if the writer has fallen a whole chunk behind
+            pending[currentIndex] = null;
+        }
+    }
+
+    private void fail(String message, Exception e) {
+        failed = true;
+        Gdx.app.error("ReplayRecorder", message, e);
+    }
+
+    // Samples collected on the game thread, encoded on the writer thread
+    private final class Chunk implements AsyncTask<Void> {
+        final int[] times = new int[CURSOR_SAMPLES_PER_CHUNK];
+        final int[] xs = new int[CURSOR_SAMPLES_PER_CHUNK];
+        final int[] ys = new int[CURSOR_SAMPLES_PER_CHUNK];
+        final long[] shotTicks = new long[SHOTS_PER_CHUNK];
+        final long[] shotTimes = new long[SHOTS_PER_CHUNK];
+        final int[] shotXs = new int[SHOTS_PER_CHUNK];
+        final int[] shotYs = new int[SHOTS_PER_CHUNK];
+        int cursorCount;
+        int shotCount;
+
+        @Override
+        public Void call() {
+            try {
+                if (out != null && !failed) {
+                    encoder.writeBlock(out, times, xs, ys, cursorCount, shotTicks, shotTimes, shotXs, shotYs, shotCount);
+                }
+            } catch (IOException e) {
+                fail("Could not write replay " + file.path(), e);
+            } finally {
+                cursorCount = 0;
+                shotCount = 0;
+            }
+            return null;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.Net;
 import com.badlogic.gdx.net.HttpRequestBuilder;
 import com.badlogic.gdx.graphics.Color;
@@ -14,20 +15,33 @@ import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Input; // For key codes
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.TimeUtils;
 import io.github.some_example_name.Main;
 import io.github.some_example_name.assets.GameAssets;
-import io.github.some_example_name.models.*; // ScoreEffect will be covered by this wildcard
+import io.github.some_example_name.ecs.GameplayWorld;
+import io.github.some_example_name.ecs.components.HitBox;
+import io.github.some_example_name.ecs.systems.RenderSystem;
+import io.github.some_example_name.input.LatencyRecorder;
+import io.github.some_example_name.input.ShotQueue;
+import io.github.some_example_name.models.*;
 import io.github.some_example_name.managers.LevelManager;
-import java.util.List;
-import java.util.ArrayList;
-import java.util.Iterator; // For safely removing elements from list while iterating
+import io.github.some_example_name.replay.Replay;
+import io.github.some_example_name.replay.ReplayCodec;
+import io.github.some_example_name.replay.ReplayRecorder;
+
+import java.io.ByteArrayInputStream;
 
 public class GameScreen implements Screen {
+    private static final int ON_BEAT_MULTIPLIER = 2;
+    private static final float[] LATENCY_PERCENTILES = {50f, 95f, 99f};
+
     private final Main game;
     private final Player player;
     private SpriteBatch batch;
@@ -37,11 +51,22 @@ public class GameScreen implements Screen {
     // Game objects
     private Gun gun;
     private Crosshair crosshair;
-    private Array<Bullet> bulletCasings;
-    private List<Target> activeTargets;
-    private List<ScoreEffect> activeScoreEffects; // Added for score effects
+    // Targets, bullet casings and score popups
+    private GameplayWorld gameplayWorld;
+    private FixedStepClock simulationClock; // Targets, casings and popups advance in fixed steps
+    private final ShotQueue shotQueue = new ShotQueue(16);
+    private final LatencyRecorder inputLatency = new LatencyRecorder(1024); // Input event to judgement
+    private final long[] latencyPercentiles = new long[3];
+    private long lastFrameNanos;
+    private long simulationSteps = 0; // Steps run since the level started; shots are timed in ticks of these
     private LevelManager levelManager;
 
+    // Every attempt is recorded; a screen made from a replay plays it back instead of taking input
+    private ReplayRecorder replayRecorder;
+    private final Replay replay;
+    private int nextReplayCursor = 0;
+    private int nextReplayShot = 0;
+
     // Gun movement and rendering properties
     private Vector2 gunPosition;
     private float gunLagFactor = 0.1f;
@@ -52,37 +77,79 @@ public class GameScreen implements Screen {
     private TextureRegion staticGunTextureRegion;
 
     // Background textures
-    private Texture bar1Texture;
-    private Texture bar2Texture;
+    private TextureRegion bar1Texture;
+    private TextureRegion bar2Texture;
+
+    // GL call counts, logged once a second at debug log level
+    private GLProfiler glProfiler;
+    private float profilerLogTimer = 0f;
+    private int profiledFrames = 0;
+    private int profiledTextureBindings = 0;
+    private int profiledDrawCalls = 0;
 
     // Sound effects
     private Sound gunshotSound;
     private Sound gunpingSound;
     private int shotCounter = 0;
     private int currentScore = 0;
+    private int onBeatHits = 0;
     private boolean scoreSubmittedThisAttempt = false; // Flag to ensure score is submitted only once
     private String currentLevelId; // Store the ID of the level being played
     private InputAdapter gameInputAdapter; // Input processor for this screen
     private BitmapFont scoreFont;
-    private GlyphLayout glyphLayout; // For text measurement
+
+    // HUD text is laid out only when it changes, so a frame of play builds no strings
+    private final StringBuilder scoreText = new StringBuilder(16);
+    private final GlyphLayout scoreLayout = new GlyphLayout();
+    private int displayedScore = -1;
+    private GlyphLayout pausedLayout;
+    private GlyphLayout resumeLayout;
+    private GlyphLayout quitLayout;
+    private boolean loggedWaitingForTargets = false;
 
     private boolean isPaused = false;
     private TextureRegion pauseOverlayTexture; // For dimming the screen
     private boolean hasReturnedToLevelSelect = false; // Flag to prevent multiple transitions
 
+    // Size of the play area, fixed for the whole attempt: the window size it started at, or the
+    // replay's. Targets spawn and are culled within it, and a resized window scales the view
+    // rather than changing it, so the recorded replay plays out the same on the server.
+    private final int viewWidth;
+    private final int viewHeight;
+
     public GameScreen(Main game, Player player, String levelIdToPlay) {
+        this(game, player, levelIdToPlay, null);
+    }
+
+    /**
+     * Plays back a recorded attempt: the level starts with the replay's seed, spawn area and
+     * step rate, and the crosshair and shots follow the recording.
+     */
+    public GameScreen(Main game, Player player, Replay replay) {
+        this(game, player, replay.levelId, replay);
+    }
+
+    private GameScreen(Main game, Player player, String levelIdToPlay, Replay replay) {
         this.game = game;
         this.player = player;
         this.currentLevelId = levelIdToPlay; // Store the passed level ID
-        
+        this.replay = replay;
+        viewWidth = replay != null ? replay.screenWidth : Gdx.graphics.getWidth();
+        viewHeight = replay != null ? replay.screenHeight : Gdx.graphics.getHeight();
+
         batch = new SpriteBatch();
+        batch.getProjectionMatrix().setToOrtho2D(0, 0, viewWidth, viewHeight);
         shapeRenderer = new ShapeRenderer();
         gameAssets = GameAssets.getInstance();
         scoreFont = gameAssets.getFont("font"); // Assuming GameAssets has a method to get a font
-        glyphLayout = new GlyphLayout();
+        if (scoreFont != null) {
+            pausedLayout = new GlyphLayout(scoreFont, "Paused");
+            resumeLayout = new GlyphLayout(scoreFont, "Resume (Click or ESC)");
+            quitLayout = new GlyphLayout(scoreFont, "Quit to Level Select");
+        }
 
         // Create a 1x1 white pixel texture for the overlay
-        Texture whitePixel = new Texture(Gdx.files.internal("libgdx.png")); // Placeholder, ideally a 1x1 white pixel
+        Texture whitePixel = gameAssets.getTexture(GameAssets.OVERLAY_TEXTURE); // Placeholder, ideally a 1x1 white pixel
         // For a real 1x1 white pixel, you might create it programmatically if not available as an asset
         // Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
         // pixmap.setColor(Color.WHITE);
@@ -99,25 +166,42 @@ public class GameScreen implements Screen {
         bar1Texture = gameAssets.getBarTexture("bar1");
         bar2Texture = gameAssets.getBarTexture("bar2");
 
-        // Load sound effects
-        gunshotSound = Gdx.audio.newSound(Gdx.files.internal("GUN & BULLETS/GUNSHOOT.mp3"));
-        gunpingSound = Gdx.audio.newSound(Gdx.files.internal("GUN & BULLETS/GUNPING.mp3"));
+        // Sound effects, preloaded by GameAssets
+        gunshotSound = gameAssets.getSound(GameAssets.GUNSHOT_SOUND);
+        gunpingSound = gameAssets.getSound(GameAssets.GUNPING_SOUND);
 
         // Initialize game objects
         crosshair = new Crosshair("3R");
         gun = new Gun(0, 0);
-        gunPosition = new Vector2(Gdx.graphics.getWidth() / 2f, fixedGunY);
+        gunPosition = new Vector2(viewWidth / 2f, fixedGunY);
         gun.setPosition(gunPosition.x, gunPosition.y);
 
-        bulletCasings = new Array<>();
-        staticGunTextureRegion = new TextureRegion(gameAssets.getGunTexture("gub1"));
+        staticGunTextureRegion = gameAssets.getGunTexture("gub1");
+
+        if (Gdx.app.getLogLevel() >= Application.LOG_DEBUG) {
+            glProfiler = new GLProfiler(Gdx.graphics);
+            glProfiler.enable();
+        }
         
         // Initialize level system
         levelManager = LevelManager.getInstance(); // Use singleton instance
-        activeTargets = new ArrayList<>();
-        activeScoreEffects = new ArrayList<>(); // Initialize the list for score effects
-        if (this.currentLevelId != null && !this.currentLevelId.isEmpty()) {
-            levelManager.startLevel(this.currentLevelId);
+        gameplayWorld = new GameplayWorld(gameAssets.getTargetTexture("target1"), gameAssets.getTargetAnimation(),
+            gameAssets.getBulletCasingAnimation(), viewHeight);
+        simulationClock = new FixedStepClock(replay != null ? replay.stepRate : game.simulationStepRate);
+        lastFrameNanos = TimeUtils.nanoTime();
+        if (replay != null) {
+            levelManager.startLevel(replay.levelId, replay.seed, viewWidth, viewHeight, replay.spawnTargetWidth);
+            Gdx.app.log("GameScreen", "Playing back replay of " + replay.levelId + ": " + replay.getCursorCount()
+                + " cursor samples, " + replay.getShotCount() + " shots");
+        } else if (this.currentLevelId != null && !this.currentLevelId.isEmpty()) {
+            // Spawns are kept inside the screen by the width targets are drawn at
+            float spawnTargetWidth = gameplayWorld.getTargetWidth();
+            levelManager.startLevel(this.currentLevelId, MathUtils.random.nextLong(), viewWidth, viewHeight, spawnTargetWidth);
+            if (levelManager.getLevel(this.currentLevelId) != null) {
+                replayRecorder = new ReplayRecorder(ReplayCodec.newFile(this.currentLevelId, TimeUtils.millis()),
+                    this.currentLevelId, levelManager.getLevelSeed(), simulationClock.getStepRate(),
+                    viewWidth, viewHeight, gameplayWorld.getTargetWidth(), gameplayWorld.getTargetHeight(), spawnTargetWidth);
+            }
         } else {
             Gdx.app.error("GameScreen", "No level ID provided, cannot start level.");
             // Fallback or error handling:
@@ -139,22 +223,23 @@ public class GameScreen implements Screen {
                 if (isPaused) {
                     // Handle pause menu clicks
                     // Convert screenY to world Y
-                    float worldY = Gdx.graphics.getHeight() - screenY;
-                    float menuCenterX = Gdx.graphics.getWidth() / 2f;
-                    float resumeButtonY = Gdx.graphics.getHeight() / 2f + 25; // Approximate position
-                    float quitButtonY = Gdx.graphics.getHeight() / 2f - 25;   // Approximate position
+                    float worldX = toViewX(screenX);
+                    float worldY = toViewY(screenY);
+                    float menuCenterX = viewWidth / 2f;
+                    float resumeButtonY = viewHeight / 2f + 25; // Approximate position
+                    float quitButtonY = viewHeight / 2f - 25;   // Approximate position
                     float buttonWidth = 200; // Approximate width
                     float buttonHeight = 50; // Approximate height
 
                     // Resume button
-                    if (screenX >= menuCenterX - buttonWidth / 2 && screenX <= menuCenterX + buttonWidth / 2 &&
+                    if (worldX >= menuCenterX - buttonWidth / 2 && worldX <= menuCenterX + buttonWidth / 2 &&
                         worldY >= resumeButtonY - buttonHeight / 2 && worldY <= resumeButtonY + buttonHeight / 2) {
                         resumeGame();
                         return true;
                     }
 
                     // Quit button
-                    if (screenX >= menuCenterX - buttonWidth / 2 && screenX <= menuCenterX + buttonWidth / 2 &&
+                    if (worldX >= menuCenterX - buttonWidth / 2 && worldX <= menuCenterX + buttonWidth / 2 &&
                         worldY >= quitButtonY - buttonHeight / 2 && worldY <= quitButtonY + buttonHeight / 2) {
                         quitToLevelSelect();
                         return true;
@@ -163,71 +248,31 @@ public class GameScreen implements Screen {
                 }
 
                 if (button == com.badlogic.gdx.Input.Buttons.LEFT) {
-                    gun.shoot();
-
-                    if (gunshotSound != null) {
-                        float volume = 0.15f;
-                        float pitch = MathUtils.random(0.95f, 1.05f);
-                        gunshotSound.play(volume, pitch, 0f);
-                    }
-                    shotCounter++;
-                    if (gunpingSound != null && shotCounter % 8 == 0) {
-                        float volume = 0.2f;
-                        float pitch = MathUtils.random(0.98f, 1.02f);
-                        gunpingSound.play(volume, pitch, 0f);
+                    if (replay != null) {
+                        return true; // Shots come from the replay
                     }
+                    fireGun();
 
-                    bulletCasings.add(new Bullet(gun.getX() - 1250f, gun.getY() + 20f));
-
-                    float mouseX = crosshair.getCenterX();
-                    float mouseY = crosshair.getCenterY();
-                    for (Target target : activeTargets) {
-                        if (!target.isDestroyed() && target.isHit(mouseX, mouseY)) {
-                            target.destroy(); // Mark target as destroyed
-
-                            // Determine score based on accuracy
-                            float targetCenterX = target.getCenterX();
-                            float targetCenterY = target.getCenterY();
-                            float distance = Vector2.dst(mouseX, mouseY, targetCenterX, targetCenterY);
-
-                            // Define score tiers based on distance from center
-                            // Target.bounds.width and Target.bounds.height are already scaled
-                            float maxDistanceForMaxScore = Math.min(target.getBounds().width, target.getBounds().height) * 0.15f; // e.g., 15% of smallest dimension for highest score
-                            float maxDistanceForMidScore = Math.min(target.getBounds().width, target.getBounds().height) * 0.30f; // e.g., 30% for mid
-                            float maxDistanceForLowScore = Math.min(target.getBounds().width, target.getBounds().height) * 0.50f; // e.g., 50% for low
-
-                            int scoreValue;
-                            if (distance <= maxDistanceForMaxScore) {
-                                scoreValue = 1000;
-                            } else if (distance <= maxDistanceForMidScore) {
-                                scoreValue = 600;
-                            } else if (distance <= maxDistanceForLowScore) {
-                                scoreValue = 300;
-                            } else {
-                                scoreValue = 100; // Hit was on the edge
-                            }
-                            currentScore += scoreValue; // Add to total score
-
-                            // Create score effect
-                            String scoreTextureKey = "score" + scoreValue;
-                            Texture scoreTexture = gameAssets.getScoreTexture(scoreTextureKey);
-                            if (scoreTexture != null) {
-                                // Use existing getCenterX() and getCenterY() from Target model
-                                // float targetCenterX = target.getCenterX(); // Already defined above
-                                // float targetCenterY = target.getCenterY(); // Already defined above
-                                ScoreEffect effect = new ScoreEffect(scoreTexture, targetCenterX, targetCenterY, 0.75f); // 0.75 second fade
-                                activeScoreEffects.add(effect);
-                            }
-                            
-                            // submitScore(); // Moved to end of level
-                            break; // Assume one bullet hits one target
-                        }
-                    }
+                    // Judged while the simulation steps through this frame, against the
+                    // targets as they were at the event's time and the cursor where it was then
+                    shotQueue.add(currentEventNanos(), toViewX(screenX), toViewY(screenY));
                     return true;
                 }
                 return false;
             }
 
+            @Override
+            public boolean mouseMoved(int screenX, int screenY) {
+                recordCursor(screenX, screenY);
+                return false;
+            }
+
+            @Override
+            public boolean touchDragged(int screenX, int screenY, int pointer) {
+                recordCursor(screenX, screenY);
+                return false;
+            }
+
             @Override
             public boolean keyDown(int keycode) {
                 if (keycode == Input.Keys.ESCAPE) {
@@ -239,6 +284,177 @@ public class GameScreen implements Screen {
         };
     }
 
+    // Shot animation, sounds and casing, for both live and replayed shots
+    private void fireGun() {
+        gun.shoot();
+
+        if (gunshotSound != null) {
+            float volume = 0.15f;
+            float pitch = MathUtils.random(0.95f, 1.05f);
+            gunshotSound.play(volume, pitch, 0f);
+        }
+        shotCounter++;
+        if (gunpingSound != null && shotCounter % 8 == 0) {
+            float volume = 0.2f;
+            float pitch = MathUtils.random(0.98f, 1.02f);
+            gunpingSound.play(volume, pitch, 0f);
+        }
+
+        gameplayWorld.createCasing(gun.getX() - 1250f, gun.getY() + 20f);
+    }
+
+    private static long currentEventNanos() {
+        long eventNanos = Gdx.input.getCurrentEventTime();
+        long now = TimeUtils.nanoTime();
+        if (eventNanos <= 0L || eventNanos > now) {
+            eventNanos = now; // Backend without event times, or an injected event
+        }
+        return eventNanos;
+    }
+
+    // Records a cursor move at the level time it happened, going on from the last frame's
+    private void recordCursor(int screenX, int screenY) {
+        if (replayRecorder == null || isPaused) {
+            return;
+        }
+        double levelTime = levelManager.getLevelTime() + Math.max(0L, currentEventNanos() - lastFrameNanos) / 1e9;
+        replayRecorder.recordCursor((int) Math.round(levelTime * 1000.0), Math.round(toViewX(screenX)), Math.round(toViewY(screenY)));
+    }
+
+    // Window pixels to play-area coordinates, y up
+    private float toViewX(int screenX) {
+        return screenX * (float) viewWidth / Gdx.graphics.getWidth();
+    }
+
+    private float toViewY(int screenY) {
+        return (Gdx.graphics.getHeight() - screenY) * (float) viewHeight / Gdx.graphics.getHeight();
+    }
+
+    /**
+     * Judges the queued shots fired during the step just run. This frame's steps are spread
+     * evenly over the wall-clock time since the last frame, so a shot's event time tells which
+     * step it falls in and how far through it; the targets are placed at that fraction of the
+     * step when the shot is resolved.
+     * @param stepsDone steps run so far this frame
+     * @param steps steps this frame runs in total; with none, every queued shot is judged now
+     */
+    private void judgeQueuedShots(int stepsDone, int steps, long frameNanos, double frameStartLevelTime, float levelAdvance) {
+        long frameSpan = Math.max(1L, frameNanos - lastFrameNanos);
+        while (!shotQueue.isEmpty()) {
+            long eventNanos = shotQueue.peekTime();
+            // Events from before the last frame (or with no usable time) count as its start
+            float framePosition = MathUtils.clamp((eventNanos - lastFrameNanos) / (float) frameSpan, 0f, 1f);
+            float stepPosition = framePosition * steps;
+            if (steps > 0 && stepPosition > stepsDone) {
+                return; // Fired during a later step
+            }
+            float alpha = steps == 0 ? 1f : MathUtils.clamp(stepPosition - (stepsDone - 1), 0f, 1f);
+            // Rounded to a whole tick and microsecond, so a replay lands the shot on the same state
+            int tickInStep = steps == 0 ? Replay.TICKS_PER_STEP
+                : MathUtils.clamp(Math.round(alpha * Replay.TICKS_PER_STEP), 1, Replay.TICKS_PER_STEP);
+            long tick = (simulationSteps - 1) * Replay.TICKS_PER_STEP + tickInStep;
+            long levelMicros = Math.round((frameStartLevelTime + framePosition * levelAdvance) * 1e6);
+            int x = (int) shotQueue.peekX();
+            int y = (int) shotQueue.peekY();
+            judgeShotAtTick(x, y, tick, levelMicros);
+            if (replayRecorder != null) {
+                replayRecorder.recordShot(tick, levelMicros, x, y);
+            }
+            inputLatency.record(Math.max(0L, TimeUtils.nanoTime() - eventNanos));
+            shotQueue.pop();
+        }
+    }
+
+    /**
+     * Fires the replay's shots up to the end of the step just run.
+     */
+    private void playReplayShots() {
+        long lastTick = simulationSteps * Replay.TICKS_PER_STEP;
+        while (nextReplayShot < replay.getShotCount() && replay.shotTicks.get(nextReplayShot) <= lastTick) {
+            fireGun();
+            judgeShotAtTick(replay.shotXs.get(nextReplayShot), replay.shotYs.get(nextReplayShot),
+                replay.shotTicks.get(nextReplayShot), replay.shotTimes.get(nextReplayShot));
+            nextReplayShot++;
+        }
+    }
+
+    // Moves the crosshair to the replay's latest cursor sample
+    private void moveReplayCursor() {
+        int levelMillis = (int) Math.round(levelManager.getLevelTime() * 1000.0);
+        while (nextReplayCursor < replay.getCursorCount() && replay.cursorTimes.get(nextReplayCursor) <= levelMillis) {
+            nextReplayCursor++;
+        }
+        if (nextReplayCursor > 0) {
+            crosshair.setCenter(replay.cursorXs.get(nextReplayCursor - 1), replay.cursorYs.get(nextReplayCursor - 1));
+        }
+    }
+
+    // Judges a shot at a tick of the last step, see Replay
+    private void judgeShotAtTick(int x, int y, long tick, long levelMicros) {
+        float alpha = (tick - (simulationSteps - 1) * Replay.TICKS_PER_STEP) / (float) Replay.TICKS_PER_STEP;
+        judgeShot(x, y, alpha, levelMicros / 1e6);
+    }
+
+    /**
+     * Resolves one queued shot against the targets as they were at the moment it was fired.
+     * @param alpha how far through the last simulation step the shot was fired
+     * @param levelTime level clock time of the shot, for judging it against the beat
+     */
+    private void judgeShot(float mouseX, float mouseY, float alpha, double levelTime) {
+        // Overlapping targets resolve to the one whose centre is closest to the shot
+        int target = gameplayWorld.findHit(mouseX, mouseY, alpha);
+        if (target == -1) {
+            return;
+        }
+        gameplayWorld.destroyTarget(target); // Destroyed targets cannot be hit again
+
+        // Determine score based on accuracy
+        float targetCenterX = gameplayWorld.getCenterX(target, alpha);
+        float targetCenterY = gameplayWorld.getCenterY(target, alpha);
+        float distance = Vector2.dst(mouseX, mouseY, targetCenterX, targetCenterY);
+
+        // Define score tiers based on distance from center
+        // The hit box is already scaled
+        HitBox hitBox = gameplayWorld.getHitBox(target);
+        float maxDistanceForMaxScore = Math.min(hitBox.width, hitBox.height) * 0.15f; // e.g., 15% of smallest dimension for highest score
+        float maxDistanceForMidScore = Math.min(hitBox.width, hitBox.height) * 0.30f; // e.g., 30% for mid
+        float maxDistanceForLowScore = Math.min(hitBox.width, hitBox.height) * 0.50f; // e.g., 50% for low
+
+        int scoreValue;
+        if (distance <= maxDistanceForMaxScore) {
+            scoreValue = 1000;
+        } else if (distance <= maxDistanceForMidScore) {
+            scoreValue = 600;
+        } else if (distance <= maxDistanceForLowScore) {
+            scoreValue = 300;
+        } else {
+            scoreValue = 100; // Hit was on the edge
+        }
+        // Shots inside a beat's hit window score double
+        if (levelManager.judgeShot(levelTime) != -1) {
+            currentScore += scoreValue * ON_BEAT_MULTIPLIER;
+            onBeatHits++;
+        } else {
+            currentScore += scoreValue; // Add to total score
+        }
+
+        // Create score effect
+        TextureRegion scoreTexture = gameAssets.getScoreTexture(scoreTextureKey(scoreValue));
+        if (scoreTexture != null) {
+            gameplayWorld.createScoreEffect(scoreTexture, targetCenterX, targetCenterY, 0.75f); // 0.75 second fade
+        }
+    }
+
+    // Constant keys, so a hit does not build a new string
+    private static String scoreTextureKey(int scoreValue) {
+        switch (scoreValue) {
+            case 1000: return "score1000";
+            case 600: return "score600";
+            case 300: return "score300";
+            default: return "score100";
+        }
+    }
+
     private void togglePause() {
         isPaused = !isPaused;
         Gdx.input.setCursorCatched(!isPaused); // Show cursor when paused
@@ -266,6 +482,9 @@ public class GameScreen implements Screen {
         // Ensure cursor is visible and input processor is cleared before changing screens
         Gdx.input.setCursorCatched(false);
         Gdx.input.setInputProcessor(null); // Important to clear processor for the current screen
+        if (replayRecorder != null) {
+            replayRecorder.finish(currentScore); // Quitting still keeps the attempt's replay
+        }
         levelManager.stopLevel(); // Clean up level manager state (stops music, disposes current music)
         game.setScreen(new LevelSelectScreen(game, player));
         dispose(); // Dispose current game screen resources
@@ -303,16 +522,22 @@ public class GameScreen implements Screen {
                      "\"playerLevel\":" + 0 + "}") // Sending playerLevel as 0, adjust if a different value is needed
             .build();
 
+        final FileHandle replayFile = replayRecorder != null ? replayRecorder.getFile() : null;
         Gdx.net.sendHttpRequest(request, new Net.HttpResponseListener() {
             @Override
             public void handleHttpResponse(Net.HttpResponse httpResponse) {
                 Gdx.app.log("Score", "Score submitted: " + currentScore);
+                final String scoreId = submittedScoreId(httpResponse);
                 Gdx.app.postRunnable(new Runnable() {
                     @Override
                     public void run() {
                         if (!hasReturnedToLevelSelect) { // Check flag before transitioning
                            returnToLevelSelectScreen();
                         }
+                        // Leaving the screen waited for the replay file to be closed
+                        if (scoreId != null && replayFile != null && replayFile.exists()) {
+                            uploadReplay(scoreId, replayFile);
+                        }
                     }
                 });
             }
@@ -345,10 +570,54 @@ public class GameScreen implements Screen {
         });
     }
 
+    // Id of the score the server stored, or null if it did not accept it
+    private static String submittedScoreId(Net.HttpResponse httpResponse) {
+        if (httpResponse.getStatus().getStatusCode() != 200) {
+            return null;
+        }
+        try {
+            return new JsonReader().parse(httpResponse.getResultAsString()).getString("id", null);
+        } catch (RuntimeException e) {
+            Gdx.app.error("Score", "Unreadable score submission response", e);
+            return null;
+        }
+    }
+
+    /**
+     * Uploads the attempt's replay for a submitted score, so the server can re-simulate it and
+     * check the score against it.
+     */
+    private static void uploadReplay(final String scoreId, final FileHandle replayFile) {
+        byte[] replayBytes = replayFile.readBytes();
+        Net.HttpRequest request = new HttpRequestBuilder()
+            .newRequest()
+            .method(Net.HttpMethods.POST)
+            .url("http://localhost:3000/api/scores/" + scoreId + "/replay")
+            .header("Content-Type", "application/octet-stream")
+            .content(new ByteArrayInputStream(replayBytes), replayBytes.length)
+            .build();
+
+        Gdx.net.sendHttpRequest(request, new Net.HttpResponseListener() {
+            @Override
+            public void handleHttpResponse(Net.HttpResponse httpResponse) {
+                Gdx.app.log("Score", "Replay uploaded for score " + scoreId + ": HTTP " + httpResponse.getStatus().getStatusCode());
+            }
+
+            @Override
+            public void failed(Throwable t) {
+                Gdx.app.error("Score", "Failed to upload replay " + replayFile.path(), t);
+            }
+
+            @Override
+            public void cancelled() {
+                Gdx.app.log("Score", "Replay upload cancelled.");
+            }
+        });
+    }
+
     @Override
     public void render(float delta) {
         if (!isPaused) {
-            gameAssets.update(delta);
             updateGameState(delta);
         }
         
@@ -358,12 +627,55 @@ public class GameScreen implements Screen {
         if (isPaused) {
             drawPauseMenu(); // Then draw pause menu on top
         }
+
+        if (glProfiler != null) {
+            logGlProfile(delta);
+        }
+    }
+
+    /**
+     * Accumulates this frame's texture bindings and draw calls and logs the per-frame average
+     * once a second, along with how far the level clock is from the music and the input latency
+     * percentiles. With the sprites packed into atlases a gameplay frame should only bind the
+     * background, gameplay and font textures.
+     */
+    private void logGlProfile(float delta) {
+        profiledFrames++;
+        profiledTextureBindings += glProfiler.getTextureBindings();
+        profiledDrawCalls += glProfiler.getDrawCalls();
+        glProfiler.reset();
+
+        profilerLogTimer += delta;
+        if (profilerLogTimer >= 1f) {
+            Gdx.app.debug("GameScreen", String.format("GL per frame: %.1f texture bindings, %.1f draw calls (%d frames); audio clock drift %.1f ms",
+                profiledTextureBindings / (float) profiledFrames, profiledDrawCalls / (float) profiledFrames, profiledFrames,
+                levelManager.getClockDrift() * 1000f));
+            logInputLatency();
+            profilerLogTimer = 0f;
+            profiledFrames = 0;
+            profiledTextureBindings = 0;
+            profiledDrawCalls = 0;
+        }
+    }
+
+    // Percentiles over the latest shots of the time from input event to judgement
+    private void logInputLatency() {
+        if (inputLatency.getCount() == 0) {
+            return;
+        }
+        inputLatency.percentiles(LATENCY_PERCENTILES, latencyPercentiles);
+        Gdx.app.log("GameScreen", String.format("Input to judgement over %d shots: p50 %.2f ms, p95 %.2f ms, p99 %.2f ms",
+            inputLatency.getCount(), latencyPercentiles[0] / 1e6f, latencyPercentiles[1] / 1e6f, latencyPercentiles[2] / 1e6f));
     }
 
     private void updateGameState(float delta) {
         if (isPaused) return; // Don't update game state if paused
 
-        crosshair.updatePosition();
+        if (replay != null) {
+            moveReplayCursor();
+        } else {
+            crosshair.setCenter(toViewX(Gdx.input.getX()), toViewY(Gdx.input.getY()));
+        }
 
         float targetX = crosshair.getCenterX() + gunOffsetX;
         gunPosition.x = MathUtils.lerp(gunPosition.x, targetX, delta * (1.0f / gunLagFactor));
@@ -372,48 +684,71 @@ public class GameScreen implements Screen {
         gun.setPosition(gunPosition.x, gunPosition.y);
         gun.update(delta);
 
-        // Update bullet casings
-        for (int i = bulletCasings.size - 1; i >= 0; i--) {
-            Bullet casing = bulletCasings.get(i);
-            casing.update(delta);
-            if (casing.isAnimationFinished()) {
-                bulletCasings.removeIndex(i);
-            }
+        // Spawn new targets, then move, animate and cull every target, casing and score popup, in
+        // as many fixed steps as the level clock moved this frame; what is left over is
+        // interpolated when drawing. The level clock follows the music, not the frame delta.
+        long frameNanos = TimeUtils.nanoTime();
+        double frameStartLevelTime = levelManager.getLevelTime();
+        float levelAdvance = levelManager.advanceClock(delta);
+        int steps = simulationClock.advance(levelAdvance);
+        float stepSeconds = simulationClock.getStepSeconds();
+        if (replay != null) {
+            playReplayShots(); // Shots fired before the first step
         }
-
-        // Update targets
-        List<Target> newTargets = levelManager.update(delta);
-        activeTargets.addAll(newTargets);
-        activeTargets.removeIf(target -> target.update(delta)); // Targets remove themselves if destroyed or timed out
-
-        // Update score effects
-        Iterator<ScoreEffect> effectIterator = activeScoreEffects.iterator();
-        while (effectIterator.hasNext()) {
-            ScoreEffect effect = effectIterator.next();
-            if (!effect.update(delta)) { // update returns false if effect is finished
-                effectIterator.remove();
+        for (int i = 0; i < steps; i++) {
+            levelManager.update(stepSeconds, gameplayWorld);
+            gameplayWorld.update(stepSeconds);
+            simulationSteps++;
+            if (replay != null) {
+                playReplayShots();
             }
+            judgeQueuedShots(i + 1, steps, frameNanos, frameStartLevelTime, levelAdvance);
+        }
+        if (steps == 0) {
+            judgeQueuedShots(0, 0, frameNanos, frameStartLevelTime, levelAdvance);
         }
+        lastFrameNanos = frameNanos;
 
         // Check for level completion and submit score
         if (!scoreSubmittedThisAttempt && levelManager.isSpawningComplete()) {
             // Spawning is done. Now check if music has finished OR if all active targets are also cleared.
             // Using music finishing as the primary trigger after spawning is complete.
             if (!levelManager.isMusicPlaying()) {
-                 // As an additional condition, you might want to wait for activeTargets.isEmpty()
+                 // As an additional condition, you might want to wait for all targets to leave the screen
                  // if targets can exist after music stops. For now, music stop + spawn complete is the trigger.
-                if (activeTargets.isEmpty()) { // Let's wait for targets to clear too
-                    Gdx.app.log("GameScreen", "Level complete! Spawning finished, music stopped, and targets cleared. Final score: " + currentScore);
+                if (gameplayWorld.getTargetCount() == 0) { // Let's wait for targets to clear too
+                    Gdx.app.log("GameScreen", "Level complete! Spawning finished, music stopped, and targets cleared. Final score: " + currentScore
+                        + " (" + onBeatHits + " hits on beat)");
+                    logInputLatency();
                     // Set flag before calling submitScore, which now handles the transition.
                     scoreSubmittedThisAttempt = true; 
-                    submitScore(); 
+                    if (replay != null) {
+                        // A replay is not a new score; just check it played out the same way
+                        Gdx.app.log("GameScreen", "Replay finished with score " + currentScore + ", recorded " + replay.score);
+                        Gdx.app.postRunnable(new Runnable() {
+                            @Override
+                            public void run() {
+                                if (!hasReturnedToLevelSelect) {
+                                    returnToLevelSelectScreen();
+                                }
+                            }
+                        });
+                    } else {
+                        if (replayRecorder != null) {
+                            replayRecorder.finish(currentScore);
+                        }
+                        submitScore();
+                    }
                     // The transition to LevelSelectScreen will be handled by submitScore's callbacks.
-                } else if (!levelManager.isMusicPlaying() && levelManager.isSpawningComplete() && !activeTargets.isEmpty()){
+                } else if (!levelManager.isMusicPlaying() && levelManager.isSpawningComplete() && gameplayWorld.getTargetCount() > 0){
                     // This case: Spawning done, music stopped, but targets still on screen.
                     // If we want to end the level here regardless of remaining targets (e.g. music ended is the hard stop)
                     // then we could also call submitScore() here.
-                    // For now, the logic requires activeTargets to be empty.
-                    Gdx.app.log("GameScreen", "Music ended and spawning complete, but targets still active. Waiting for targets to clear.");
+                    // For now, the logic requires every target to have left the screen.
+                    if (!loggedWaitingForTargets) {
+                        Gdx.app.log("GameScreen", "Music ended and spawning complete, but targets still active. Waiting for targets to clear.");
+                        loggedWaitingForTargets = true;
+                    }
                     // If targets have very long lifetimes, this might feel like the game is stuck.
                     // Consider adding a timeout for remaining targets after music ends if this becomes an issue.
                 }
@@ -428,45 +763,39 @@ public class GameScreen implements Screen {
 
         // Draw backgrounds
         if (bar2Texture != null) {
-            batch.draw(bar2Texture, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+            GameAssets.drawRegion(batch, bar2Texture, 0, 0, viewWidth, viewHeight);
         }
 
         if (bar1Texture != null) {
-            float screenWidth = Gdx.graphics.getWidth();
-            float originalBar1Width = bar1Texture.getWidth();
-            float originalBar1Height = bar1Texture.getHeight();
+            float screenWidth = viewWidth;
+            float originalBar1Width = GameAssets.regionWidth(bar1Texture);
+            float originalBar1Height = GameAssets.regionHeight(bar1Texture);
             float scaledBar1Height = originalBar1Height * (screenWidth / originalBar1Width);
             float bar1YOffset = -30f;
 
-            // Draw targets
-            for (Target target : activeTargets) {
-                target.render(batch);
-            }
+            // Draw targets, then score effects
+            gameplayWorld.draw(batch, RenderSystem.LAYER_TARGETS, simulationClock.getAlpha());
+            gameplayWorld.draw(batch, RenderSystem.LAYER_EFFECTS, simulationClock.getAlpha());
 
-            // Draw score effects
-            for (ScoreEffect effect : activeScoreEffects) {
-                effect.render(batch);
-            }
-
-            batch.draw(bar1Texture, 0, bar1YOffset, screenWidth, scaledBar1Height);
+            GameAssets.drawRegion(batch, bar1Texture, 0, bar1YOffset, screenWidth, scaledBar1Height);
         }
 
         // Draw gun
-        TextureRegion currentGunFrame = gun.isAnimating() ? gameAssets.getCurrentGunFrame() : staticGunTextureRegion;
-        float gunFrameWidth = currentGunFrame.getRegionWidth();
-        float gunFrameHeight = currentGunFrame.getRegionHeight();
+        TextureRegion currentGunFrame = gun.isAnimating() ? gun.getCurrentFrame() : staticGunTextureRegion;
+        float gunFrameWidth = GameAssets.regionWidth(currentGunFrame);
+        float gunFrameHeight = GameAssets.regionHeight(currentGunFrame);
         float originX = gunFrameWidth / 2f;
         float originY = gunFrameHeight;
 
         // Calculate gun tilt
         float cursorY = crosshair.getCenterY();
-        float screenHeight = Gdx.graphics.getHeight();
+        float screenHeight = viewHeight;
         float gunToScreenTop = screenHeight - fixedGunY;
         float relativeCursorY = cursorY - fixedGunY;
         float tiltRatio = gunToScreenTop > 0 ? Math.max(0f, Math.min(1f, relativeCursorY / gunToScreenTop)) : 0f;
         float currentTilt = maxTiltAngle * tiltRatio;
 
-        batch.draw(currentGunFrame,
+        GameAssets.drawRegion(batch, currentGunFrame,
                    gunPosition.x - originX,
                    gunPosition.y,
                    originX, originY,
@@ -475,19 +804,21 @@ public class GameScreen implements Screen {
                    currentTilt);
 
         // Draw bullet casings
-        for (Bullet casing : bulletCasings) {
-            casing.render(batch);
-        }
+        gameplayWorld.draw(batch, RenderSystem.LAYER_CASINGS, simulationClock.getAlpha());
 
         crosshair.render(batch);
 
         // Draw Score Tracker
         if (scoreFont != null) {
-            String scoreText = "Score: " + currentScore;
-            glyphLayout.setText(scoreFont, scoreText);
-            float scoreX = Gdx.graphics.getWidth() - glyphLayout.width - 20; // 20px padding from right
-            float scoreY = glyphLayout.height + 20; // 20px padding from bottom
-            scoreFont.draw(batch, scoreText, scoreX, scoreY);
+            if (displayedScore != currentScore) {
+                displayedScore = currentScore;
+                scoreText.setLength(0);
+                scoreText.append("Score: ").append(currentScore);
+                scoreLayout.setText(scoreFont, scoreText);
+            }
+            float scoreX = viewWidth - scoreLayout.width - 20; // 20px padding from right
+            float scoreY = scoreLayout.height + 20; // 20px padding from bottom
+            scoreFont.draw(batch, scoreLayout, scoreX, scoreY);
         }
 
         batch.end();
@@ -498,25 +829,19 @@ public class GameScreen implements Screen {
         // Draw semi-transparent overlay
         batch.setColor(0, 0, 0, 0.7f); // Black with 70% opacity
         if (pauseOverlayTexture != null) {
-             batch.draw(pauseOverlayTexture, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+             batch.draw(pauseOverlayTexture, 0, 0, viewWidth, viewHeight);
         }
         batch.setColor(Color.WHITE); // Reset color
 
         // Draw "Paused" text
         if (scoreFont != null) { // Reusing scoreFont for simplicity
-            String pausedText = "Paused";
-            glyphLayout.setText(scoreFont, pausedText);
-            scoreFont.draw(batch, pausedText, Gdx.graphics.getWidth() / 2f - glyphLayout.width / 2f, Gdx.graphics.getHeight() * 0.75f);
+            scoreFont.draw(batch, pausedLayout, viewWidth / 2f - pausedLayout.width / 2f, viewHeight * 0.75f);
 
             // Draw "Resume" button text
-            String resumeText = "Resume (Click or ESC)";
-            glyphLayout.setText(scoreFont, resumeText);
-            scoreFont.draw(batch, resumeText, Gdx.graphics.getWidth() / 2f - glyphLayout.width / 2f, Gdx.graphics.getHeight() / 2f + 25);
+            scoreFont.draw(batch, resumeLayout, viewWidth / 2f - resumeLayout.width / 2f, viewHeight / 2f + 25);
             
             // Draw "Quit to Level Select" button text
-            String quitText = "Quit to Level Select";
-            glyphLayout.setText(scoreFont, quitText);
-            scoreFont.draw(batch, quitText, Gdx.graphics.getWidth() / 2f - glyphLayout.width / 2f, Gdx.graphics.getHeight() / 2f - 25);
+            scoreFont.draw(batch, quitLayout, viewWidth / 2f - quitLayout.width / 2f, viewHeight / 2f - 25);
         }
         batch.end();
     }
@@ -524,7 +849,7 @@ public class GameScreen implements Screen {
 
     @Override
     public void resize(int width, int height) {
-        // Method is currently empty, but correctly defined.
+        // The play area keeps its size; the batch's fixed projection stretches it over the window
     }
 
     @Override
@@ -552,8 +877,10 @@ public class GameScreen implements Screen {
         // Gdx.input.setCursorCatched(false); // Moved to hide()
         batch.dispose();
         if (shapeRenderer != null) shapeRenderer.dispose();
-        if (gunshotSound != null) gunshotSound.dispose();
-        if (gunpingSound != null) gunpingSound.dispose();
+        gameplayWorld.dispose();
+        if (replayRecorder != null) replayRecorder.dispose(); // Waits for the replay file to be closed
+        if (glProfiler != null) glProfiler.disable();
+        // Sounds and the overlay texture are owned by GameAssets
         // if (scoreFont != null) scoreFont.dispose(); // If GameAssets manages font, it should dispose it.
                                                     // If created here, dispose here.
         if (pauseOverlayTexture != null && pauseOverlayTexture.getTexture() != null) {
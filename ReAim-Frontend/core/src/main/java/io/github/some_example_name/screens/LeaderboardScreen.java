@@ -1,7 +1,6 @@
 package io.github.some_example_name.screens;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Net;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.scenes.scene2d.Actor;
@@ -18,9 +17,15 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import io.github.some_example_name.Main;
+import io.github.some_example_name.assets.GameAssets;
+import io.github.some_example_name.managers.HttpCache;
 import io.github.some_example_name.models.Player; // Frontend player model for current user
 
 public class LeaderboardScreen implements Screen {
+    private static final String SCORES_API_URL = "http://localhost:3000/api/scores";
+    private static final int NEIGHBOURHOOD_RADIUS = 10; // Entries shown above and below the player
+    private static final int TOP_SCORES_LIMIT = 20;     // Entries shown when the player has no score yet
+
     private final Main game;
     private final Player currentPlayer; // Logged-in player (renamed for clarity)
     private final String levelId;
@@ -45,12 +50,19 @@ public class LeaderboardScreen implements Screen {
     }
 
     public static class ScoreEntry { // Represents a single entry in the leaderboard
+        public int rank;  // 1-based position on the leaderboard
         public String id; // The score entry's own ID
         public PlayerInfo player; // Nested player information
         public LevelInfo level;   // Nested level information (might not be used for display if level is known)
         public int score;         // Direct integer score
         // public int playerLevel; // Can be added if needed
     }
+
+    public static class PlayerWindow { // The player's rank plus the entries around it
+        public int rank;
+        public long total;
+        public Array<ScoreEntry> entries;
+    }
     // --- End of JSON structure classes ---
 
 
@@ -66,7 +78,7 @@ public class LeaderboardScreen implements Screen {
         Gdx.input.setInputProcessor(stage);
 
         try {
-            skin = new Skin(Gdx.files.internal("ui/uiskin.json"));
+            skin = GameAssets.getInstance().getSkin();
         } catch (Exception e) {
             Gdx.app.error("LeaderboardScreen", "Could not load skin 'ui/uiskin.json'", e);
             skin = new Skin(); 
@@ -111,38 +123,102 @@ public class LeaderboardScreen implements Screen {
     }
 
     private void fetchLeaderboard() {
-        Net.HttpRequest httpRequest = new Net.HttpRequest(Net.HttpMethods.GET);
-        httpRequest.setUrl("http://localhost:3000/api/scores/level/" + levelId); 
-        httpRequest.setHeader("Content-Type", "application/json");
+        if (currentPlayer != null && currentPlayer.getId() != null) {
+            fetchPlayerWindow();
+        } else {
+            fetchTopScores();
+        }
+    }
+
+    /**
+     * Requests only the player's rank and the entries around it instead of the whole board.
+     * Falls back to the top of the board when the player has no score on this level.
+     */
+    private void fetchPlayerWindow() {
+        String url = SCORES_API_URL + "/leaderboard/" + levelId + "/player/" + currentPlayer.getId()
+            + "/around?radius=" + NEIGHBOURHOOD_RADIUS;
+        Gdx.app.log("LeaderboardScreen", "Fetching leaderboard window from: " + url);
+
+        // Revalidated with If-None-Match; an unchanged board is answered with 304 and reused
+        HttpCache.getInstance().get(url, new HttpCache.Listener() {
+            @Override
+            public void handleResponse(int statusCode, String responseString, boolean fromCache) {
+                Gdx.app.log("LeaderboardScreen", "Server responded with status: " + statusCode + (fromCache ? " (not modified)" : ""));
+
+                if (statusCode == 404) {
+                    // No score for this player yet
+                    fetchTopScores();
+                    return;
+                }
+                if (statusCode != 200) {
+                    setStatus("Failed to load leaderboard. Status: " + statusCode);
+                    Gdx.app.error("LeaderboardScreen", "Failed to load leaderboard. Response: " + responseString);
+                    return;
+                }
+                try {
+                    Json json = new Json();
+                    json.setIgnoreUnknownFields(true);
+                    json.setElementType(PlayerWindow.class, "entries", ScoreEntry.class);
+                    final PlayerWindow window = json.fromJson(PlayerWindow.class, responseString);
+                    Gdx.app.postRunnable(new Runnable() {
+                        @Override
+                        public void run() {
+                            statusLabel.setText("Your rank: " + window.rank + " of " + window.total);
+                            populateLeaderboardTable(window.entries != null ? window.entries : new Array<ScoreEntry>());
+                        }
+                    });
+                } catch (Exception e) {
+                    Gdx.app.error("LeaderboardScreen", "Could not parse leaderboard data. Response was: " + responseString, e);
+                    setStatus("Error parsing leaderboard data.");
+                }
+            }
+
+            @Override
+            public void failed(Throwable t) {
+                Gdx.app.error("LeaderboardScreen", "HTTP request failed!", t);
+                setStatus("Error: Could not connect to server.");
+            }
+
+            @Override
+            public void cancelled() {
+                Gdx.app.error("LeaderboardScreen", "HTTP request was cancelled.");
+                setStatus("Error: Request cancelled.");
+            }
+        });
+    }
 
-        Gdx.app.log("LeaderboardScreen", "Fetching leaderboard from: " + httpRequest.getUrl());
+    private void fetchTopScores() {
+        String url = SCORES_API_URL + "/leaderboard/" + levelId + "?limit=" + TOP_SCORES_LIMIT;
+        Gdx.app.log("LeaderboardScreen", "Fetching leaderboard from: " + url);
 
-        Gdx.net.sendHttpRequest(httpRequest, new Net.HttpResponseListener() {
+        HttpCache.getInstance().get(url, new HttpCache.Listener() {
             @Override
-            public void handleHttpResponse(Net.HttpResponse httpResponse) {
-                int statusCode = httpResponse.getStatus().getStatusCode();
-                String responseString = httpResponse.getResultAsString();
-                Gdx.app.log("LeaderboardScreen", "Server responded with status: " + statusCode);
+            public void handleResponse(int statusCode, String responseString, boolean fromCache) {
+                Gdx.app.log("LeaderboardScreen", "Server responded with status: " + statusCode + (fromCache ? " (not modified)" : ""));
                 // Gdx.app.log("LeaderboardScreen", "Response: " + responseString); // Log if needed for debugging
 
                 if (statusCode == 200) {
                     try {
                         Json json = new Json();
                         json.setIgnoreUnknownFields(true); // Important for flexibility
-                        Array<ScoreEntry> scores = json.fromJson(Array.class, ScoreEntry.class, responseString);
-                        
-                        if (scores != null && !scores.isEmpty()) {
-                            statusLabel.setText("Top Scores:");
-                            populateLeaderboardTable(scores);
-                        } else {
-                            statusLabel.setText("No scores found for this level.");
-                        }
+                        final Array<ScoreEntry> scores = json.fromJson(Array.class, ScoreEntry.class, responseString);
+                        Gdx.app.postRunnable(new Runnable() {
+                            @Override
+                            public void run() {
+                                if (scores != null && !scores.isEmpty()) {
+                                    statusLabel.setText("Top Scores:");
+                                    populateLeaderboardTable(scores);
+                                } else {
+                                    statusLabel.setText("No scores found for this level.");
+                                }
+                            }
+                        });
                     } catch (Exception e) {
                         Gdx.app.error("LeaderboardScreen", "Could not parse leaderboard data. Response was: " + responseString, e);
-                        statusLabel.setText("Error parsing leaderboard data.");
+                        setStatus("Error parsing leaderboard data.");
                     }
                 } else {
-                    statusLabel.setText("Failed to load leaderboard. Status: " + statusCode);
+                    setStatus("Failed to load leaderboard. Status: " + statusCode);
                     Gdx.app.error("LeaderboardScreen", "Failed to load leaderboard. Response: " + responseString);
                 }
             }
@@ -150,13 +226,22 @@ public class LeaderboardScreen implements Screen {
             @Override
             public void failed(Throwable t) {
                 Gdx.app.error("LeaderboardScreen", "HTTP request failed!", t);
-                statusLabel.setText("Error: Could not connect to server.");
+                setStatus("Error: Could not connect to server.");
             }
 
             @Override
             public void cancelled() {
                 Gdx.app.error("LeaderboardScreen", "HTTP request was cancelled.");
-                statusLabel.setText("Error: Request cancelled.");
+                setStatus("Error: Request cancelled.");
+            }
+        });
+    }
+
+    private void setStatus(final String text) {
+        Gdx.app.postRunnable(new Runnable() {
+            @Override
+            public void run() {
+                statusLabel.setText(text);
             }
         });
     }
@@ -187,10 +272,22 @@ public class LeaderboardScreen implements Screen {
             if (entry.player != null && entry.player.username != null) {
                 playerName = entry.player.username;
             }
-            
-            leaderboardTable.add(new Label(String.valueOf(rank++), skin)).pad(5).center();
-            leaderboardTable.add(new Label(playerName, skin)).pad(5).left();
-            leaderboardTable.add(new Label(String.valueOf(entry.score), skin)).pad(5).right().row();
+            int displayRank = entry.rank > 0 ? entry.rank : rank; // Backend ranks are absolute, even inside a window
+            rank = displayRank + 1;
+
+            Label rankLabel = new Label(String.valueOf(displayRank), skin);
+            Label nameLabel = new Label(playerName, skin);
+            Label scoreLabel = new Label(String.valueOf(entry.score), skin);
+            if (currentPlayer != null && entry.player != null && currentPlayer.getId() != null
+                && currentPlayer.getId().equals(entry.player.id)) {
+                rankLabel.setColor(com.badlogic.gdx.graphics.Color.GOLD);
+                nameLabel.setColor(com.badlogic.gdx.graphics.Color.GOLD);
+                scoreLabel.setColor(com.badlogic.gdx.graphics.Color.GOLD);
+            }
+
+            leaderboardTable.add(rankLabel).pad(5).center();
+            leaderboardTable.add(nameLabel).pad(5).left();
+            leaderboardTable.add(scoreLabel).pad(5).right().row();
         }
         if (scores.isEmpty()) {
              leaderboardTable.add(new Label("No scores yet for this level!", skin)).colspan(3).center().pad(20);
@@ -6,19 +6,29 @@ import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.InputListener;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.utils.JsonWriter;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import io.github.some_example_name.Main;
+import io.github.some_example_name.assets.GameAssets;
 import io.github.some_example_name.Main.Levels; // Imports the structure for reading the local file
+import io.github.some_example_name.managers.HttpCache;
 import io.github.some_example_name.managers.LevelManager;
 import io.github.some_example_name.models.Player; // Frontend Player model
+import io.github.some_example_name.replay.Replay;
+import io.github.some_example_name.replay.ReplayCodec;
 
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 // Removed HashMap import as levelDisplayToIdMap might not be needed in the same way.
 
 public class LevelSelectScreen implements Screen {
@@ -32,21 +42,18 @@ public class LevelSelectScreen implements Screen {
     private Table levelsContainerTable; // Renamed from levelsTable to avoid confusion with main table
     private ScrollPane scrollPane;
 
-    // --- Data Structures for building the SERVER-SIDE JSON payload (unchanged) ---
+    private static final String LEVELS_API_URL = "http://localhost:3000/api/levels";
+
+    // --- Data Structures for building the SERVER-SIDE JSON payload ---
     public static class CreatorPayload {
         public String id;
     }
-    public static class LevelPayload {
-        public String _id;
+    public static class LevelPayload { // Matches the backend Level accepted by /api/levels/create
         public String name;
-        public String musicFileName;
-        public String analysisFileName;
+        public String jsonFile;
         public String difficulty;
         public CreatorPayload creator;
     }
-    public static class LevelsPayload {
-        public Array<LevelPayload> levels = new Array<>();
-    }
 
     public LevelSelectScreen(Main game, Player player) {
         this.game = game;
@@ -62,7 +69,7 @@ public class LevelSelectScreen implements Screen {
         loadLevelsAndPost(); // Keep this for server interaction
 
         try {
-            skin = new Skin(Gdx.files.internal("ui/uiskin.json"));
+            skin = GameAssets.getInstance().getSkin();
         } catch (Exception e) {
             Gdx.app.error("LevelSelectScreen", "Could not load skin 'ui/uiskin.json'", e);
             skin = new Skin(); // Minimal fallback
@@ -136,7 +143,52 @@ public class LevelSelectScreen implements Screen {
                 @Override
                 public void changed(ChangeEvent event, Actor actor) {
                     Gdx.app.log("LevelSelectScreen", "Starting game with level: " + currentLevelId);
-                    game.setScreen(new GameScreen(game, player, currentLevelId));
+                    levelManager.preloadLevel(currentLevelId);
+                    // GameScreen is created once the level's music, beatmap and the gun sounds are loaded
+                    game.setScreen(new LoadingScreen(game, "Loading " + levelData.getName(), new LoadingScreen.Target() {
+                        @Override
+                        public boolean isReady() {
+                            return GameAssets.getInstance().isGameBundleLoaded() && levelManager.isLevelLoaded(currentLevelId);
+                        }
+
+                        @Override
+                        public Screen createScreen() {
+                            return new GameScreen(game, player, currentLevelId);
+                        }
+                    }));
+                }
+            });
+
+            // Plays back the level's most recent attempt
+            final FileHandle replayFile = ReplayCodec.latest(currentLevelId);
+            TextButton replayButton = new TextButton("Replay", skin);
+            replayButton.setDisabled(replayFile == null);
+            replayButton.addListener(new ChangeListener() {
+                @Override
+                public void changed(ChangeEvent event, Actor actor) {
+                    if (replayFile == null) {
+                        return;
+                    }
+                    final Replay replay;
+                    try {
+                        replay = ReplayCodec.read(replayFile);
+                    } catch (GdxRuntimeException e) {
+                        Gdx.app.error("LevelSelectScreen", "Could not read replay " + replayFile.path(), e);
+                        return;
+                    }
+                    Gdx.app.log("LevelSelectScreen", "Playing back replay " + replayFile.name());
+                    levelManager.preloadLevel(currentLevelId);
+                    game.setScreen(new LoadingScreen(game, "Loading replay of " + levelData.getName(), new LoadingScreen.Target() {
+                        @Override
+                        public boolean isReady() {
+                            return GameAssets.getInstance().isGameBundleLoaded() && levelManager.isLevelLoaded(currentLevelId);
+                        }
+
+                        @Override
+                        public Screen createScreen() {
+                            return new GameScreen(game, player, replay);
+                        }
+                    }));
                 }
             });
 
@@ -149,19 +201,29 @@ public class LevelSelectScreen implements Screen {
                 }
             });
 
+            // Start loading the level's beatmap and music in the background as soon as the row is hovered
+            InputListener preloadOnHover = new InputListener() {
+                @Override
+                public void enter(InputEvent event, float x, float y, int pointer, Actor fromActor) {
+                    levelManager.preloadLevel(currentLevelId);
+                }
+            };
+            levelLabel.addListener(preloadOnHover);
+            playButton.addListener(preloadOnHover);
+            replayButton.addListener(preloadOnHover);
+            leaderboardButton.addListener(preloadOnHover);
+
             // Add to the levelsContainerTable
             levelsContainerTable.add(levelLabel).left().padRight(20).expandX();
             levelsContainerTable.add(playButton).width(100).padRight(10);
+            levelsContainerTable.add(replayButton).width(100).padRight(10);
             levelsContainerTable.add(leaderboardButton).width(150);
             levelsContainerTable.row().padTop(10).padBottom(10); // Add some spacing between rows
         }
     }
     
-    // loadLevelsAndPost and postLevelsToServer methods remain unchanged as per instructions
-    // They handle backend communication and are not directly tied to the SelectBox UI that was removed.
-
     /**
-     * Loads levels.json, parses it, and then posts the data to a server.
+     * Loads levels.json, parses it, and then posts the levels the server is missing.
      */
     private void loadLevelsAndPost() {
         try {
@@ -183,7 +245,7 @@ public class LevelSelectScreen implements Screen {
             if (levelsData != null && levelsData.levels != null) {
                 Gdx.app.log("Main", "Successfully loaded " + levelsData.levels.size + " levels from local file.");
                 if (player != null && player.getId() != null) { // Only post if player is logged in
-                    postLevelsToServer();
+                    fetchServerLevelsAndPostMissing();
                 } else {
                     Gdx.app.log("Main", "Player not logged in or player ID is null, skipping postLevelsToServer.");
                 }
@@ -196,9 +258,10 @@ public class LevelSelectScreen implements Screen {
     }
 
     /**
-     * Sends the loaded level data to a server endpoint via HTTP POST.
+     * Fetches the server's level catalog (revalidated with If-None-Match, so an unchanged
+     * catalog costs an empty 304) and posts only the local levels the server does not have yet.
      */
-    private void postLevelsToServer() {
+    private void fetchServerLevelsAndPostMissing() {
         if (levelsData == null || levelsData.levels == null || levelsData.levels.isEmpty()) {
             Gdx.app.log("Main_WebServer", "No local level data to post.");
             return;
@@ -208,57 +271,80 @@ public class LevelSelectScreen implements Screen {
             return; // Cannot post without a creator
         }
 
+        HttpCache.getInstance().get(LEVELS_API_URL, new HttpCache.Listener() {
+            @Override
+            public void handleResponse(int statusCode, String body, boolean fromCache) {
+                if (statusCode != 200) {
+                    Gdx.app.error("Main_WebServer", "Could not fetch server levels. Status: " + statusCode);
+                    return;
+                }
+                Set<String> serverLevelNames = new HashSet<>();
+                try {
+                    for (JsonValue level = new JsonReader().parse(body).child; level != null; level = level.next) {
+                        serverLevelNames.add(level.getString("name", ""));
+                    }
+                } catch (Exception e) {
+                    Gdx.app.error("Main_WebServer", "Could not parse server levels", e);
+                    return;
+                }
+
+                int posted = 0;
+                for (Main.Level levelFromFile : levelsData.levels) {
+                    if (!serverLevelNames.contains(levelFromFile.name)) {
+                        postLevelToServer(levelFromFile);
+                        posted++;
+                    }
+                }
+                Gdx.app.log("Main_WebServer", "Server has " + serverLevelNames.size() + " levels" + (fromCache ? " (not modified)" : "")
+                    + ", posted " + posted + " missing ones.");
+            }
+
+            @Override
+            public void failed(Throwable t) {
+                Gdx.app.error("Main_WebServer", "HTTP request for server levels failed!", t);
+            }
 
+            @Override
+            public void cancelled() {
+                Gdx.app.error("Main_WebServer", "HTTP request for server levels was cancelled.");
+            }
+        });
+    }
+
+    /**
+     * Sends one local level to the server via HTTP POST.
+     */
+    private void postLevelToServer(Main.Level levelFromFile) {
         CreatorPayload levelCreator = new CreatorPayload();
         levelCreator.id = this.player.getId();
 
-        LevelsPayload payload = new LevelsPayload();
-        for (Main.Level levelFromFile : levelsData.levels) {
-            LevelPayload levelForServer = new LevelPayload();
-            levelForServer._id = levelFromFile._id; // Ensure this matches your Main.Level structure
-            levelForServer.name = levelFromFile.name;
-            levelForServer.musicFileName = levelFromFile.musicFileName;
-            levelForServer.analysisFileName = levelFromFile.analysisFileName;
-            levelForServer.difficulty = levelFromFile.difficulty;
-            levelForServer.creator = levelCreator; 
-            
-            payload.levels.add(levelForServer);
-        }
+        LevelPayload levelForServer = new LevelPayload();
+        levelForServer.name = levelFromFile.name;
+        levelForServer.jsonFile = levelFromFile.analysisFileName;
+        levelForServer.difficulty = levelFromFile.difficulty;
+        levelForServer.creator = levelCreator;
 
         Json json = new Json(JsonWriter.OutputType.json);
-        String jsonDataString = json.toJson(payload);
+        String jsonDataString = json.toJson(levelForServer);
 
         Net.HttpRequest httpRequest = new Net.HttpRequest(Net.HttpMethods.POST);
-        httpRequest.setUrl("http://localhost:3000/api/levels/create"); // Ensure this URL is correct
+        httpRequest.setUrl(LEVELS_API_URL + "/create");
         httpRequest.setHeader("Content-Type", "application/json");
         httpRequest.setContent(jsonDataString);
 
-        Gdx.app.log("Main_WebServer", "Posting level data to " + httpRequest.getUrl());
-        // Gdx.app.log("Main_WebServer", "Request Body: " + jsonDataString); // Potentially verbose
+        Gdx.app.log("Main_WebServer", "Posting level " + levelFromFile.name + " to " + httpRequest.getUrl());
 
         Gdx.net.sendHttpRequest(httpRequest, new Net.HttpResponseListener() {
             @Override
             public void handleHttpResponse(Net.HttpResponse httpResponse) {
                 Gdx.app.log("Main_WebServer", "Server responded with status: " + httpResponse.getStatus().getStatusCode());
-                // Gdx.app.log("Main_WebServer", "Response: " + httpResponse.getResultAsString()); // Potentially verbose
-                // The LevelManager's syncLevelsWithBackend or initial load should handle fetching/updating.
-                // We can re-populate the list here to reflect any changes.
-                // However, LevelManager.fetchLevelsFromServer with a callback isn't defined.
-                // The LevelManager's constructor calls loadLevels() and syncLevelsWithBackend().
-                // The populateLevelsList() in show() should use the levels available in LevelManager.
-                // If levels are dynamically added/updated on the server and we need to refresh,
-                // LevelManager would need a method to re-fetch and a callback.
-                // For now, we assume initial load + sync is sufficient, or a manual refresh mechanism elsewhere.
-                // If postLevelsToServer is successful, the LevelManager might already be up-to-date
-                // or a separate call to fetch/refresh levels in LevelManager would be needed.
-                // For simplicity, let's assume LevelManager handles its state.
-                // We can call populateLevelsList again if needed, ensuring it's on the GDX thread.
+                // Re-draw the list based on current LevelManager state, on the GDX thread.
                 if (stage != null && levelsContainerTable != null) {
                     Gdx.app.postRunnable(new Runnable() {
                         @Override
                         public void run() {
                             Gdx.app.log("LevelSelectScreen", "Attempting to re-populate levels list after server post response.");
-                            populateLevelsList(); // Re-draw the list based on current LevelManager state
+                            populateLevelsList();
                         }
                     });
                 }
@@ -0,0 +1,118 @@
+package io.github.some_example_name.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+import io.github.some_example_name.Main;
+import io.github.some_example_name.assets.GameAssets;
+
+/**
+ * Shows a progress bar while GameAssets loads in the background, then switches to the target
+ * screen once it reports ready. Loading is stepped with a budget of half a frame so the screen
+ * keeps rendering at the display's refresh rate.
+ */
+public class LoadingScreen implements Screen {
+
+    /**
+     * What the loading screen waits for, and the screen to show once it is ready.
+     */
+    public interface Target {
+        boolean isReady();
+
+        Screen createScreen();
+    }
+
+    private static final float BAR_WIDTH = 400f;
+    private static final float BAR_HEIGHT = 16f;
+
+    private final Main game;
+    private final String message;
+    private final Target target;
+    private final SpriteBatch batch;
+    private final ShapeRenderer shapeRenderer;
+    private final BitmapFont font; // libGDX's built-in font, available before any asset has loaded
+    private final GlyphLayout glyphLayout;
+    private final long startedAt;
+    private boolean finished = false;
+
+    public LoadingScreen(Main game, String message, Target target) {
+        this.game = game;
+        this.message = message;
+        this.target = target;
+        batch = new SpriteBatch();
+        shapeRenderer = new ShapeRenderer();
+        font = new BitmapFont();
+        glyphLayout = new GlyphLayout();
+        startedAt = TimeUtils.millis();
+    }
+
+    @Override
+    public void show() {
+        Gdx.input.setInputProcessor(null);
+    }
+
+    @Override
+    public void render(float delta) {
+        if (finished) {
+            return;
+        }
+        GameAssets assets = GameAssets.getInstance();
+        int refreshRate = Math.max(30, Gdx.graphics.getDisplayMode().refreshRate);
+        assets.updateLoading(500 / refreshRate);
+
+        if (target.isReady()) {
+            finished = true;
+            Gdx.app.log("LoadingScreen", message + " finished in " + TimeUtils.timeSinceMillis(startedAt) + " ms");
+            game.setScreen(target.createScreen());
+            dispose();
+            return;
+        }
+
+        ScreenUtils.clear(0.1f, 0.1f, 0.15f, 1f);
+        float barX = (Gdx.graphics.getWidth() - BAR_WIDTH) / 2f;
+        float barY = Gdx.graphics.getHeight() / 2f - BAR_HEIGHT / 2f;
+
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(0.25f, 0.25f, 0.3f, 1f);
+        shapeRenderer.rect(barX, barY, BAR_WIDTH, BAR_HEIGHT);
+        shapeRenderer.setColor(Color.WHITE);
+        shapeRenderer.rect(barX, barY, BAR_WIDTH * assets.getLoadingProgress(), BAR_HEIGHT);
+        shapeRenderer.end();
+
+        batch.begin();
+        glyphLayout.setText(font, message);
+        font.draw(batch, message, (Gdx.graphics.getWidth() - glyphLayout.width) / 2f, barY + BAR_HEIGHT + 30f);
+        batch.end();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        batch.getProjectionMatrix().setToOrtho2D(0, 0, width, height);
+        shapeRenderer.getProjectionMatrix().setToOrtho2D(0, 0, width, height);
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void hide() {
+    }
+
+    @Override
+    public void dispose() {
+        batch.dispose();
+        shapeRenderer.dispose();
+        font.dispose();
+    }
+}
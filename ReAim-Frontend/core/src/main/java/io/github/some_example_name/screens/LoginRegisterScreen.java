@@ -9,6 +9,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import io.github.some_example_name.Main;
+import io.github.some_example_name.assets.GameAssets;
 // import io.github.some_example_name.screens.GameScreen; // No longer directly transitioning to GameScreen
 import io.github.some_example_name.screens.LevelSelectScreen; // Import LevelSelectScreen
 import io.github.some_example_name.screens.MainMenuScreen;
@@ -27,7 +28,7 @@ public class LoginRegisterScreen implements Screen {
     public LoginRegisterScreen(Main game) {
         this.game = game;
         stage = new Stage(new ScreenViewport());
-        skin = new Skin(Gdx.files.internal("ui/uiskin.json"));
+        skin = GameAssets.getInstance().getSkin();
 
         Table table = new Table();
         table.setFillParent(true);
@@ -283,6 +284,6 @@ public class LoginRegisterScreen implements Screen {
     @Override
     public void dispose() {
         stage.dispose();
-        skin.dispose();
+        // The skin is shared and owned by GameAssets
     }
 }
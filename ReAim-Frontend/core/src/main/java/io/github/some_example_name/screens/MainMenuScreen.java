@@ -11,6 +11,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import io.github.some_example_name.Main;
+import io.github.some_example_name.assets.GameAssets;
 import io.github.some_example_name.screens.LoginRegisterScreen;
 
 public class MainMenuScreen implements Screen {
@@ -24,10 +25,9 @@ public class MainMenuScreen implements Screen {
         stage = new Stage(new ScreenViewport());
         Gdx.input.setInputProcessor(stage);
 
-        // Load the skin (uiskin.json is expected to be in assets/ui)
-        // Ensure you have a uiskin.json, uiskin.atlas, and uiskin.png in your assets/ui folder
+        // The shared skin (ui/uiskin.json) is loaded by GameAssets before this screen is shown
         try {
-            skin = new Skin(Gdx.files.internal("ui/uiskin.json"));
+            skin = GameAssets.getInstance().getSkin();
         } catch (Exception e) {
             Gdx.app.error("MainMenuScreen", "Error loading skin: ui/uiskin.json", e);
             // Fallback to a default skin or handle error appropriately
@@ -92,8 +92,6 @@ public class MainMenuScreen implements Screen {
     @Override
     public void dispose() {
         stage.dispose();
-        if (skin != null) {
-            skin.dispose();
-        }
+        // The skin is shared and owned by GameAssets
     }
 }
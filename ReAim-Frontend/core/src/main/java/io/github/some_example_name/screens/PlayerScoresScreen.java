@@ -12,6 +12,7 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import io.github.some_example_name.Main;
+import io.github.some_example_name.assets.GameAssets;
 import io.github.some_example_name.models.Player; // Frontend player model for current user
 import io.github.some_example_name.managers.LevelManager; // To get level names if needed, though backend provides name
 
@@ -60,7 +61,7 @@ public class PlayerScoresScreen implements Screen {
         Gdx.input.setInputProcessor(stage);
 
         try {
-            skin = new Skin(Gdx.files.internal("ui/uiskin.json"));
+            skin = GameAssets.getInstance().getSkin();
         } catch (Exception e) {
             Gdx.app.error("PlayerScoresScreen", "Could not load skin 'ui/uiskin.json'", e);
             skin = new Skin(); 
@@ -0,0 +1,149 @@
+package io.github.some_example_name.lwjgl3;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import io.github.some_example_name.beatmap.Beatmap;
+import io.github.some_example_name.beatmap.BeatmapCodec;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+
+/**
+ * Compares ways of parsing the bundled *_analysis.json files, reporting parse time and bytes
+ * allocated per parse for each file. Run through the benchmarkAnalysisParser Gradle task.
+ * <ul>
+ * <li>reflective: libGDX Json.fromJson into the old LevelAnalysis DTOs with Array&lt;Float&gt; fields</li>
+ * <li>tree: JsonReader into a JsonValue tree, then copied into a Beatmap</li>
+ * <li>streaming: {@link BeatmapCodec#fromAnalysisJson(byte[])}, which skips unused arrays</li>
+ * </ul>
+ * Allocation is measured with HotSpot's per-thread allocation counter, so it includes the
+ * String decoding the first two need but not reading the file, which all three share.
+ */
+public final class AnalysisParserBenchmark {
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Checked after each run so the JIT cannot discard the parse
+    private static int sink;
+
+    private AnalysisParserBenchmark() {
+    }
+
+    private interface Parser {
+        int parse(byte[] analysisJson);
+    }
+
+    // Shape of the analysis DTOs LevelManager used before beatmaps were introduced
+    public static class LevelAnalysis {
+        public float tempo;
+        public Array<Float> beat_times;
+        public Array<Float> onset_times;
+        public Array<Float> rms_peak_times;
+        public Array<Float> ideal_beat_times;
+        public Array<TapTarget> tap_targets;
+        public Array<Object> spike_targets;
+        public SubdivisionData subdivisions;
+    }
+
+    public static class TapTarget {
+        public float time;
+        public Array<Float> window;
+        public float confidence;
+    }
+
+    public static class SubdivisionData {
+        public int count;
+        public Array<Float> times;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: AnalysisParserBenchmark <analysis directory>");
+            System.exit(1);
+        }
+        File[] analysisFiles = new File(args[0]).listFiles((dir, name) -> name.endsWith("_analysis.json"));
+        if (analysisFiles == null || analysisFiles.length == 0) {
+            System.err.println("No *_analysis.json files in " + args[0]);
+            System.exit(1);
+        }
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        final Json json = new Json();
+        json.setIgnoreUnknownFields(true);
+        Parser reflective = analysisJson -> {
+            LevelAnalysis analysis = json.fromJson(LevelAnalysis.class, new String(analysisJson, StandardCharsets.UTF_8));
+            return analysis.tap_targets != null ? analysis.tap_targets.size : 0;
+        };
+        Parser tree = analysisJson -> treeToBeatmap(new String(analysisJson, StandardCharsets.UTF_8)).size();
+        Parser streaming = analysisJson -> BeatmapCodec.fromAnalysisJson(analysisJson).size();
+
+        System.out.println(String.format(Locale.ROOT, "%-44s %8s %7s  %12s %12s  %12s %12s  %12s %12s",
+            "file", "bytes", "targets",
+            "reflect us", "reflect KB", "tree us", "tree KB", "stream us", "stream KB"));
+        for (File analysisFile : analysisFiles) {
+            byte[] analysisJson = Files.readAllBytes(analysisFile.toPath());
+            int targets = streaming.parse(analysisJson);
+            if (reflective.parse(analysisJson) != targets || tree.parse(analysisJson) != targets) {
+                throw new IllegalStateException("Parsers disagree on target count for " + analysisFile.getName());
+            }
+            long[] reflectResult = measure(reflective, analysisJson);
+            long[] treeResult = measure(tree, analysisJson);
+            long[] streamResult = measure(streaming, analysisJson);
+            System.out.println(String.format(Locale.ROOT, "%-44s %8d %7d  %12.1f %12.1f  %12.1f %12.1f  %12.1f %12.1f",
+                analysisFile.getName(), analysisJson.length, targets,
+                reflectResult[0] / 1000.0, reflectResult[1] / 1024.0,
+                treeResult[0] / 1000.0, treeResult[1] / 1024.0,
+                streamResult[0] / 1000.0, streamResult[1] / 1024.0));
+        }
+        if (sink == Integer.MIN_VALUE) {
+            System.out.println();
+        }
+    }
+
+    /** @return mean nanoseconds and mean allocated bytes per parse */
+    private static long[] measure(Parser parser, byte[] analysisJson) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += parser.parse(analysisJson);
+        }
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += parser.parse(analysisJson);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new long[] {elapsed / MEASURED_ROUNDS, allocated / MEASURED_ROUNDS};
+    }
+
+    // The JsonReader-based conversion BeatmapCodec used before the streaming parser
+    private static Beatmap treeToBeatmap(String analysisJson) {
+        JsonValue root = new JsonReader().parse(analysisJson);
+        JsonValue tapTargets = root.get("tap_targets");
+        int count = tapTargets != null ? tapTargets.size : 0;
+        float[] tapTimes = new float[count];
+        float[] windowStarts = new float[count];
+        float[] windowEnds = new float[count];
+        float[] confidences = new float[count];
+
+        int i = 0;
+        for (JsonValue target = tapTargets != null ? tapTargets.child : null; target != null; target = target.next, i++) {
+            float time = target.getFloat("time", 0f);
+            JsonValue window = target.get("window");
+            tapTimes[i] = time;
+            windowStarts[i] = window != null && window.size > 0 ? window.getFloat(0) : time;
+            windowEnds[i] = window != null && window.size > 1 ? window.getFloat(1) : time;
+            confidences[i] = target.getFloat("confidence", 0f);
+        }
+        return new Beatmap(root.getFloat("tempo", 0f), tapTimes, windowStarts, windowEnds, confidences);
+    }
+}
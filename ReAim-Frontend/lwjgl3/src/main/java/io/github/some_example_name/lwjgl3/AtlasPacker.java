@@ -0,0 +1,68 @@
+package io.github.some_example_name.lwjgl3;
+
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+
+import java.io.File;
+
+/**
+ * Build-time entry point behind the packTextures Gradle task: packs the sprite PNGs GameAssets
+ * loads into two atlases under assets/atlas/. Every source image is a full-screen canvas with the
+ * sprite somewhere inside it, so transparent borders are stripped when packing and restored from
+ * the region offsets when drawing (see GameAssets.drawRegion).
+ * <p>
+ * "gameplay" holds everything drawn between the background and the HUD during a level (targets,
+ * score popups, the foreground bar, gun, casings, crosshairs), so a frame of gameplay binds it
+ * once; "background" holds the full-screen bar backdrop and the menu decorations.
+ */
+public final class AtlasPacker {
+    private static final String[] GAMEPLAY = {
+        "BAR/BAR1.png",
+        "CROSSHAIRS/CROSSHAIR1.png", "CROSSHAIRS/CROSSHAIR1R.png",
+        "CROSSHAIRS/CROSSHAIR2.png", "CROSSHAIRS/CROSSHAIR2R.png",
+        "CROSSHAIRS/CROSSHAIR3.png", "CROSSHAIRS/CROSSHAIR3R.png",
+        "GUN & BULLETS/BULLET1.png", "GUN & BULLETS/BULLET2.png", "GUN & BULLETS/BULLET3.png", "GUN & BULLETS/BULLET4.png",
+        "GUN & BULLETS/GUB1.png", "GUN & BULLETS/GUB2.png", "GUN & BULLETS/GUB3.png", "GUN & BULLETS/GUB4.png",
+        "TARGET & SCORES/TARGET1.png", "TARGET & SCORES/TARGET2.png", "TARGET & SCORES/TARGET3.png", "TARGET & SCORES/TARGET4.png",
+        "TARGET & SCORES/100.png", "TARGET & SCORES/300.png", "TARGET & SCORES/600.png", "TARGET & SCORES/1000.png",
+    };
+
+    private static final String[] BACKGROUND = {
+        "BAR/BAR2.png", "BAR/BARJUKEBOX.png", "BAR/BARNOTE.png", "BAR/BARNOTE2.png", "BAR/BARNOTE3.png",
+    };
+
+    private AtlasPacker() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: AtlasPacker <assets directory>");
+            System.exit(1);
+        }
+        File assetsDir = new File(args[0]);
+        File outputDir = new File(assetsDir, "atlas");
+
+        TexturePacker.Settings settings = new TexturePacker.Settings();
+        settings.maxWidth = 4096;
+        settings.maxHeight = 4096;
+        settings.stripWhitespaceX = true;
+        settings.stripWhitespaceY = true;
+        settings.duplicatePadding = true;
+        settings.useIndexes = false;
+
+        pack(settings, assetsDir, outputDir, "gameplay", GAMEPLAY);
+        pack(settings, assetsDir, outputDir, "background", BACKGROUND);
+    }
+
+    private static void pack(TexturePacker.Settings settings, File assetsDir, File outputDir, String atlasName, String[] images) {
+        TexturePacker packer = new TexturePacker(settings);
+        for (String image : images) {
+            File file = new File(assetsDir, image);
+            if (!file.exists()) {
+                throw new IllegalStateException("Missing sprite for atlas " + atlasName + ": " + file);
+            }
+            packer.addImage(file);
+        }
+        packer.pack(outputDir, atlasName);
+        System.out.println("Packed " + images.length + " images into " + new File(outputDir, atlasName + ".atlas"));
+    }
+}
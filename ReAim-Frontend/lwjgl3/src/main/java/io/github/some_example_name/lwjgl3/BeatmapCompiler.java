@@ -0,0 +1,50 @@
+package io.github.some_example_name.lwjgl3;
+
+import io.github.some_example_name.beatmap.Beatmap;
+import io.github.some_example_name.beatmap.BeatmapCodec;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+/**
+ * Build-time entry point behind the compileBeatmaps Gradle task: compiles every *_analysis.json
+ * in the given directories into a .beatmap next to it, skipping files whose hash is unchanged.
+ */
+public final class BeatmapCompiler {
+
+    private BeatmapCompiler() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: BeatmapCompiler <analysis directory>...");
+            System.exit(1);
+        }
+        int compiled = 0;
+        int upToDate = 0;
+        for (String arg : args) {
+            File[] analysisFiles = new File(arg).listFiles((dir, name) -> name.endsWith("_analysis.json"));
+            if (analysisFiles == null) {
+                System.err.println("Not a directory: " + arg);
+                continue;
+            }
+            for (File analysisFile : analysisFiles) {
+                byte[] analysisJson = Files.readAllBytes(analysisFile.toPath());
+                long sourceHash = BeatmapCodec.hash(analysisJson);
+                File target = new File(analysisFile.getParentFile(), BeatmapCodec.compiledName(analysisFile.getName()));
+                if (target.exists() && BeatmapCodec.readSourceHash(ByteBuffer.wrap(Files.readAllBytes(target.toPath()))) == sourceHash) {
+                    upToDate++;
+                    continue;
+                }
+                Beatmap beatmap = BeatmapCodec.fromAnalysisJson(analysisJson);
+                Files.write(target.toPath(), BeatmapCodec.encode(beatmap, sourceHash));
+                System.out.println("Compiled " + analysisFile.getName() + " -> " + target.getName()
+                    + " (" + beatmap.size() + " targets, " + analysisJson.length + " -> " + target.length() + " bytes)");
+                compiled++;
+            }
+        }
+        System.out.println("Beatmaps compiled: " + compiled + ", up to date: " + upToDate);
+    }
+}
@@ -0,0 +1,281 @@
+package io.github.some_example_name.lwjgl3;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.EntitySubscription;
+import com.artemis.World;
+import com.artemis.utils.IntBag;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import io.github.some_example_name.ecs.GameplayWorld;
+import io.github.some_example_name.ecs.components.Animated;
+import io.github.some_example_name.ecs.components.HitBox;
+import io.github.some_example_name.ecs.components.Lifetime;
+import io.github.some_example_name.ecs.components.Position;
+import io.github.some_example_name.ecs.components.Trajectory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Headless check that the ECS gameplay world behaves exactly like the object-per-entity update
+ * loop GameScreen used before (kept here as {@link Reference}, with targets since moved onto
+ * closed-form trajectories). Both are fed the same seeded spawns and shots at a fixed 60 Hz for
+ * a few minutes of play, and after every frame the score, the number of casings and score
+ * popups, and the exact position of every target must match. Run through the checkEcsParity
+ * Gradle task; exits non-zero on the first difference.
+ */
+public final class EcsParityCheck {
+    private static final float FRAME_DELTA = 1f / 60f;
+    private static final int FRAMES = 60 * 60 * 3;
+    private static final float SCREEN_WIDTH = 1920f;
+    private static final float SCREEN_HEIGHT = 1080f;
+    private static final int SPRITE_WIDTH = 1920;
+    private static final int SPRITE_HEIGHT = 1080;
+    private static final float SPAWN_CHANCE_PER_FRAME = 0.08f;
+    private static final int FRAMES_PER_SHOT = 5;
+
+    // Same constants the game uses
+    private static final float TARGET_SCALE = 0.3f;
+    private static final float GRAVITY = -500f;
+    private static final float MIN_TARGET_TRAVEL_TIME = 0.5f;
+    private static final float MAX_TARGET_TRAVEL_TIME = 2.5f;
+    private static final float SCORE_EFFECT_LIFETIME = 0.75f;
+
+    private EcsParityCheck() {
+    }
+
+    public static void main(String[] args) {
+        TextureRegion sprite = new TextureRegion() {
+            @Override
+            public int getRegionWidth() {
+                return SPRITE_WIDTH;
+            }
+
+            @Override
+            public int getRegionHeight() {
+                return SPRITE_HEIGHT;
+            }
+        };
+        Animation<TextureRegion> fourFrames = new Animation<>(0.1f, sprite, sprite, sprite, sprite);
+
+        Reference reference = new Reference(fourFrames, fourFrames);
+        GameplayWorld gameplayWorld = new GameplayWorld(sprite, fourFrames, fourFrames, SCREEN_HEIGHT);
+        World world = gameplayWorld.getWorld();
+        ComponentMapper<Position> mPosition = world.getMapper(Position.class);
+        EntitySubscription targets = world.getAspectSubscriptionManager().get(Aspect.all(Position.class, HitBox.class));
+        EntitySubscription casings = world.getAspectSubscriptionManager().get(Aspect.all(Animated.class).exclude(HitBox.class));
+        EntitySubscription scoreEffects = world.getAspectSubscriptionManager().get(Aspect.all(Lifetime.class));
+
+        Random random = new Random(20240501L);
+        int ecsScore = 0;
+        int hits = 0;
+        for (int frame = 0; frame < FRAMES; frame++) {
+            // Input first, as in GameScreen: shots resolve against last frame's positions
+            if (frame % FRAMES_PER_SHOT == 0) {
+                float[] aim = reference.pickAim(random);
+                int referenceScore = reference.shoot(aim[0], aim[1]);
+
+                gameplayWorld.createCasing(0f, 0f);
+                int target = gameplayWorld.findHit(aim[0], aim[1]);
+                int score = 0;
+                if (target != -1) {
+                    gameplayWorld.destroyTarget(target);
+                    float centerX = gameplayWorld.getCenterX(target);
+                    float centerY = gameplayWorld.getCenterY(target);
+                    HitBox hitBox = gameplayWorld.getHitBox(target);
+                    score = scoreFor(aim[0], aim[1], centerX, centerY, hitBox.width, hitBox.height);
+                    gameplayWorld.createScoreEffect(sprite, centerX, centerY, SCORE_EFFECT_LIFETIME);
+                    hits++;
+                }
+                ecsScore += score;
+                check(frame, "shot score", referenceScore, score);
+            }
+
+            if (random.nextFloat() < SPAWN_CHANCE_PER_FRAME) {
+                float travelTime = MIN_TARGET_TRAVEL_TIME + random.nextFloat() * (MAX_TARGET_TRAVEL_TIME - MIN_TARGET_TRAVEL_TIME);
+                float x = random.nextFloat() * (SCREEN_WIDTH - SPRITE_WIDTH * TARGET_SCALE);
+                float velocityY = (SCREEN_HEIGHT * 1.8f) / travelTime;
+                reference.spawn(x, 0f, velocityY);
+                gameplayWorld.createTarget(x, 0f, velocityY);
+            }
+
+            reference.update(FRAME_DELTA);
+            gameplayWorld.update(FRAME_DELTA);
+
+            check(frame, "score", reference.score, ecsScore);
+            check(frame, "casings", reference.casings.size(), casings.getEntities().size());
+            check(frame, "score popups", reference.scoreEffects.size(), scoreEffects.getEntities().size());
+            IntBag targetIds = targets.getEntities();
+            check(frame, "targets", reference.targets.size(), targetIds.size());
+            float[] ecsPositions = new float[targetIds.size() * 2];
+            for (int i = 0; i < targetIds.size(); i++) {
+                Position position = mPosition.get(targetIds.get(i));
+                ecsPositions[i * 2] = position.x;
+                ecsPositions[i * 2 + 1] = position.y;
+            }
+            if (!Arrays.equals(sortedPairs(reference.positions()), sortedPairs(ecsPositions))) {
+                fail(frame, "target positions differ");
+            }
+        }
+        gameplayWorld.dispose();
+        System.out.println("ECS matches the reference loop over " + FRAMES + " frames: "
+            + hits + " hits, final score " + ecsScore);
+    }
+
+    // Score tiers from GameScreen: closer to the centre scores more
+    private static int scoreFor(float x, float y, float centerX, float centerY, float width, float height) {
+        float distance = (float) Math.sqrt((x - centerX) * (x - centerX) + (y - centerY) * (y - centerY));
+        float smallest = Math.min(width, height);
+        if (distance <= smallest * 0.15f) return 1000;
+        if (distance <= smallest * 0.30f) return 600;
+        if (distance <= smallest * 0.50f) return 300;
+        return 100;
+    }
+
+    // Sorts (x, y) pairs so both sides compare regardless of iteration order
+    private static float[] sortedPairs(float[] pairs) {
+        long[] keys = new long[pairs.length / 2];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) Float.floatToIntBits(pairs[i * 2]) << 32) | (Float.floatToIntBits(pairs[i * 2 + 1]) & 0xffffffffL);
+        }
+        Arrays.sort(keys);
+        float[] sorted = new float[pairs.length];
+        for (int i = 0; i < keys.length; i++) {
+            sorted[i * 2] = Float.intBitsToFloat((int) (keys[i] >>> 32));
+            sorted[i * 2 + 1] = Float.intBitsToFloat((int) keys[i]);
+        }
+        return sorted;
+    }
+
+    private static void check(int frame, String what, int expected, int actual) {
+        if (expected != actual) {
+            fail(frame, what + ": reference " + expected + ", ECS " + actual);
+        }
+    }
+
+    private static void fail(int frame, String message) {
+        System.err.println("Frame " + frame + ": " + message);
+        System.exit(1);
+    }
+
+    /**
+     * The pre-ECS update rules of Target, Bullet and ScoreEffect, one object per entity. Targets
+     * follow the same Trajectory maths as the ECS, so that heights and exit times agree exactly.
+     */
+    private static final class Reference {
+        final List<FlyingTarget> targets = new ArrayList<>();
+        final List<float[]> casings = new ArrayList<>(); // animation time
+        final List<float[]> scoreEffects = new ArrayList<>(); // age
+        final Animation<TextureRegion> targetAnimation;
+        final Animation<TextureRegion> casingAnimation;
+        final float width = SPRITE_WIDTH * TARGET_SCALE;
+        final float height = SPRITE_HEIGHT * TARGET_SCALE;
+        int score = 0;
+        double clock = 0;
+
+        Reference(Animation<TextureRegion> targetAnimation, Animation<TextureRegion> casingAnimation) {
+            this.targetAnimation = targetAnimation;
+            this.casingAnimation = casingAnimation;
+        }
+
+        void spawn(float x, float y, float velocityY) {
+            FlyingTarget target = new FlyingTarget();
+            target.x = x;
+            target.y = y;
+            target.trajectory.set(y, velocityY, GRAVITY, clock);
+            target.trajectory.belowAge = target.trajectory.lastAgeAbove(-height);
+            target.trajectory.exitAge = Math.min(target.trajectory.firstAgeAbove(SCREEN_HEIGHT), target.trajectory.belowAge);
+            targets.add(target);
+        }
+
+        // Aims near a random live target most of the time, so hits, misses and overlaps all happen
+        float[] pickAim(Random random) {
+            List<FlyingTarget> live = new ArrayList<>();
+            for (FlyingTarget target : targets) {
+                if (!target.destroyed) live.add(target);
+            }
+            if (live.isEmpty() || random.nextFloat() < 0.2f) {
+                return new float[] {random.nextFloat() * SCREEN_WIDTH, random.nextFloat() * SCREEN_HEIGHT};
+            }
+            FlyingTarget target = live.get(random.nextInt(live.size()));
+            return new float[] {
+                target.x + width / 2f + (random.nextFloat() - 0.5f) * width * 1.2f,
+                target.y + height / 2f + (random.nextFloat() - 0.5f) * height * 1.2f};
+        }
+
+        int shoot(float x, float y) {
+            casings.add(new float[] {0f});
+            FlyingTarget closest = null;
+            float closestDistance2 = Float.MAX_VALUE;
+            for (FlyingTarget target : targets) {
+                boolean hit = !target.destroyed
+                    && target.x <= x && target.x + width >= x && target.y <= y && target.y + height >= y;
+                if (hit) {
+                    float dx = target.x + width / 2f - x;
+                    float dy = target.y + height / 2f - y;
+                    float distance2 = dx * dx + dy * dy;
+                    if (distance2 < closestDistance2) {
+                        closestDistance2 = distance2;
+                        closest = target;
+                    }
+                }
+            }
+            if (closest == null) {
+                return 0;
+            }
+            closest.destroyed = true;
+            closest.animationTime = 0f;
+            int shotScore = scoreFor(x, y, closest.x + width / 2f, closest.y + height / 2f, width, height);
+            score += shotScore;
+            scoreEffects.add(new float[] {0f});
+            return shotScore;
+        }
+
+        void update(float delta) {
+            clock += delta;
+            for (Iterator<float[]> it = casings.iterator(); it.hasNext(); ) {
+                float[] casing = it.next();
+                casing[0] += delta;
+                if (casingAnimation.isAnimationFinished(casing[0])) it.remove();
+            }
+            for (Iterator<FlyingTarget> it = targets.iterator(); it.hasNext(); ) {
+                FlyingTarget target = it.next();
+                Trajectory trajectory = target.trajectory;
+                trajectory.age = (float) (clock - trajectory.launchTime);
+                target.y = trajectory.yAt(trajectory.age);
+                if (target.destroyed) {
+                    target.animationTime += delta;
+                    if (targetAnimation.isAnimationFinished(target.animationTime) && trajectory.age > trajectory.belowAge) it.remove();
+                } else if (trajectory.age > trajectory.exitAge) {
+                    it.remove();
+                }
+            }
+            for (Iterator<float[]> it = scoreEffects.iterator(); it.hasNext(); ) {
+                float[] effect = it.next();
+                effect[0] += delta;
+                if (effect[0] >= SCORE_EFFECT_LIFETIME) it.remove();
+            }
+        }
+
+        float[] positions() {
+            float[] positions = new float[targets.size() * 2];
+            for (int i = 0; i < targets.size(); i++) {
+                positions[i * 2] = targets.get(i).x;
+                positions[i * 2 + 1] = targets.get(i).y;
+            }
+            return positions;
+        }
+    }
+
+    private static final class FlyingTarget {
+        final Trajectory trajectory = new Trajectory();
+        float x;
+        float y;
+        boolean destroyed;
+        float animationTime;
+    }
+}
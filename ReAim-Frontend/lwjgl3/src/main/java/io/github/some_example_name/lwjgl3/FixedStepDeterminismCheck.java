@@ -0,0 +1,201 @@
+package io.github.some_example_name.lwjgl3;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.EntitySubscription;
+import com.artemis.World;
+import com.artemis.utils.IntBag;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.RandomXS128;
+import io.github.some_example_name.beatmap.Beatmap;
+import io.github.some_example_name.beatmap.BeatmapCodec;
+import io.github.some_example_name.ecs.GameplayWorld;
+import io.github.some_example_name.ecs.components.Destroyed;
+import io.github.some_example_name.ecs.components.HitBox;
+import io.github.some_example_name.ecs.components.Position;
+import io.github.some_example_name.ecs.components.Sprite;
+import io.github.some_example_name.managers.TargetSpawner;
+import io.github.some_example_name.models.FixedStepClock;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Headless check that a level plays out bit for bit the same whatever the frame rate. Each
+ * bundled level is simulated with the same seed while the fixed-step clock is fed frames at
+ * 30, 60, 144, 240 and 360 Hz, at random frame times, and with periodic hitches longer than a
+ * clock will accept in one frame. Scripted shots land on fixed simulation steps, as replayed
+ * input would. After every step the position, sprite alpha and state of every entity is folded
+ * into a digest, and every frame pattern must end on the same digest, hits and step count.
+ * Run through the checkFixedStepDeterminism Gradle task; exits non-zero on any difference.
+ */
+public final class FixedStepDeterminismCheck {
+    private static final long SEED = 20240501L;
+    private static final int STEP_RATE = FixedStepClock.DEFAULT_STEP_RATE;
+    private static final float SCREEN_WIDTH = 1920f;
+    private static final float SCREEN_HEIGHT = 1080f;
+    private static final int SPRITE_WIDTH = 1920;
+    private static final int SPRITE_HEIGHT = 1080;
+    private static final float TARGET_SCALE = 0.3f; // Same as GameplayWorld
+    private static final float TAIL_SECONDS = 4f; // Played past the last beat so every target lands
+    private static final int STEPS_PER_SHOT = STEP_RATE / 6;
+    private static final float SCORE_EFFECT_LIFETIME = 0.75f;
+    private static final String[] FRAME_PATTERNS = {"30 Hz", "60 Hz", "144 Hz", "240 Hz", "360 Hz", "random", "hitches"};
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private FixedStepDeterminismCheck() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: FixedStepDeterminismCheck <analysis directory>");
+            System.exit(1);
+        }
+        File[] analysisFiles = new File(args[0]).listFiles((dir, name) -> name.endsWith("_analysis.json"));
+        if (analysisFiles == null || analysisFiles.length == 0) {
+            System.err.println("No *_analysis.json files in " + args[0]);
+            System.exit(1);
+        }
+        Arrays.sort(analysisFiles);
+
+        boolean identical = true;
+        for (File analysisFile : analysisFiles) {
+            Beatmap beatmap = BeatmapCodec.fromAnalysisJson(Files.readAllBytes(analysisFile.toPath()));
+            float duration = (beatmap.size() == 0 ? 0f : beatmap.getTapTime(beatmap.size() - 1)) + TAIL_SECONDS;
+            long totalSteps = (long) Math.ceil(duration * STEP_RATE);
+
+            Result expected = null;
+            for (String pattern : FRAME_PATTERNS) {
+                Result result = simulate(beatmap, totalSteps, pattern);
+                System.out.println(String.format(Locale.ROOT, "%-45s %-8s %6d frames %7d steps %4d hits  %016x",
+                    analysisFile.getName(), pattern, result.frames, result.steps, result.hits, result.digest));
+                if (expected == null) {
+                    expected = result;
+                } else if (result.digest != expected.digest || result.hits != expected.hits || result.steps != expected.steps) {
+                    System.err.println(analysisFile.getName() + ": " + pattern + " diverged from " + FRAME_PATTERNS[0]);
+                    identical = false;
+                }
+            }
+        }
+        if (!identical) {
+            System.exit(1);
+        }
+        System.out.println("Every level simulated identically at every frame pattern.");
+    }
+
+    private static Result simulate(Beatmap beatmap, long totalSteps, String pattern) {
+        TextureRegion sprite = new TextureRegion() {
+            @Override
+            public int getRegionWidth() {
+                return SPRITE_WIDTH;
+            }
+
+            @Override
+            public int getRegionHeight() {
+                return SPRITE_HEIGHT;
+            }
+        };
+        Animation<TextureRegion> fourFrames = new Animation<>(0.1f, sprite, sprite, sprite, sprite);
+        GameplayWorld gameplayWorld = new GameplayWorld(sprite, fourFrames, fourFrames, SCREEN_HEIGHT);
+        TargetSpawner spawner = new TargetSpawner(beatmap, SEED, SCREEN_WIDTH, SCREEN_HEIGHT, SPRITE_WIDTH * TARGET_SCALE);
+        FixedStepClock clock = new FixedStepClock(STEP_RATE);
+
+        World world = gameplayWorld.getWorld();
+        ComponentMapper<Position> mPosition = world.getMapper(Position.class);
+        ComponentMapper<Sprite> mSprite = world.getMapper(Sprite.class);
+        ComponentMapper<Destroyed> mDestroyed = world.getMapper(Destroyed.class);
+        EntitySubscription entities = world.getAspectSubscriptionManager().get(Aspect.all(Position.class));
+        EntitySubscription liveTargets = world.getAspectSubscriptionManager()
+            .get(Aspect.all(Position.class, HitBox.class).exclude(Destroyed.class));
+
+        // Frame times come from their own generator, shots from another; only the latter must
+        // line up between runs, and it does because shots are tied to step numbers
+        RandomXS128 frameRandom = new RandomXS128(SEED ^ pattern.hashCode());
+        RandomXS128 shotRandom = new RandomXS128(SEED);
+        float stepSeconds = clock.getStepSeconds();
+        Result result = new Result();
+        result.digest = FNV_OFFSET;
+        while (result.steps < totalSteps) {
+            int due = clock.advance(frameDelta(pattern, result.frames, frameRandom));
+            result.frames++;
+            for (int i = 0; i < due && result.steps < totalSteps; i++) {
+                if (result.steps % STEPS_PER_SHOT == 0 && shoot(gameplayWorld, liveTargets, shotRandom, sprite)) {
+                    result.hits++;
+                }
+                spawner.update(stepSeconds, gameplayWorld);
+                gameplayWorld.update(stepSeconds);
+                result.steps++;
+
+                long digest = fold(result.digest, gameplayWorld.getTargetCount());
+                IntBag ids = entities.getEntities();
+                for (int j = 0; j < ids.size(); j++) {
+                    int entityId = ids.get(j);
+                    Position position = mPosition.get(entityId);
+                    digest = fold(digest, entityId);
+                    digest = fold(digest, Float.floatToIntBits(position.x));
+                    digest = fold(digest, Float.floatToIntBits(position.y));
+                    digest = fold(digest, mSprite.has(entityId) ? Float.floatToIntBits(mSprite.get(entityId).alpha) : 0);
+                    digest = fold(digest, mDestroyed.has(entityId) ? 1 : 0);
+                }
+                result.digest = digest;
+            }
+        }
+        gameplayWorld.dispose();
+        return result;
+    }
+
+    private static float frameDelta(String pattern, long frame, RandomXS128 random) {
+        switch (pattern) {
+            case "random":
+                return 1f / 500f + random.nextFloat() * (1f / 15f - 1f / 500f);
+            case "hitches":
+                // Mostly 60 Hz, with a frame well past FixedStepClock.MAX_FRAME_TIME every two seconds
+                return frame % 120 == 119 ? 0.6f : 1f / 60f;
+            default:
+                return 1f / Integer.parseInt(pattern.substring(0, pattern.indexOf(' ')));
+        }
+    }
+
+    // Aims near a random live target most of the time, so hits, misses and overlaps all happen
+    private static boolean shoot(GameplayWorld gameplayWorld, EntitySubscription liveTargets,
+                                 RandomXS128 random, TextureRegion scoreTexture) {
+        gameplayWorld.createCasing(0f, 0f);
+        IntBag live = liveTargets.getEntities();
+        float x;
+        float y;
+        if (live.isEmpty() || random.nextFloat() < 0.2f) {
+            x = random.nextFloat() * SCREEN_WIDTH;
+            y = random.nextFloat() * SCREEN_HEIGHT;
+        } else {
+            int aimed = live.get(random.nextInt(live.size()));
+            HitBox hitBox = gameplayWorld.getHitBox(aimed);
+            x = gameplayWorld.getCenterX(aimed) + (random.nextFloat() - 0.5f) * hitBox.width * 1.2f;
+            y = gameplayWorld.getCenterY(aimed) + (random.nextFloat() - 0.5f) * hitBox.height * 1.2f;
+        }
+        int target = gameplayWorld.findHit(x, y);
+        if (target == -1) {
+            return false;
+        }
+        gameplayWorld.destroyTarget(target);
+        gameplayWorld.createScoreEffect(scoreTexture, gameplayWorld.getCenterX(target), gameplayWorld.getCenterY(target),
+            SCORE_EFFECT_LIFETIME);
+        return true;
+    }
+
+    private static long fold(long digest, int value) {
+        return (digest ^ value) * FNV_PRIME;
+    }
+
+    private static final class Result {
+        long digest;
+        long frames;
+        long steps;
+        int hits;
+    }
+}
@@ -0,0 +1,188 @@
+package io.github.some_example_name.lwjgl3;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputProcessor;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import io.github.some_example_name.Main;
+import io.github.some_example_name.assets.GameAssets;
+import io.github.some_example_name.managers.LevelManager;
+import io.github.some_example_name.models.Player;
+import io.github.some_example_name.screens.GameScreen;
+import io.github.some_example_name.screens.LoadingScreen;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Plays a bundled level for a number of simulated seconds and fails if any frame of
+ * GameScreen.render allocates more than a byte budget. Run through the checkFrameAllocations
+ * Gradle task.
+ * <p>
+ * libGDX's headless backend has no GL, so the check runs GameScreen in a hidden LWJGL3 window
+ * instead and needs a display (or Xvfb). Frames are stepped with a fixed delta regardless of how
+ * fast they render, and the cursor sweeps across the middle of the screen firing every few frames
+ * so the shot, casing, hit, score-effect and replay recording paths are exercised too. Allocation
+ * is measured with HotSpot's per-thread allocation counter around the simulated input and
+ * GameScreen.render, after a warm-up that lets the pools and glyph caches settle.
+ */
+public final class FrameAllocationCheck extends Main {
+    private static final float FRAME_DELTA = 1f / 60f;
+    private static final int WARMUP_FRAMES = 120;
+    private static final int FRAMES_PER_SHOT = 8;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final String levelId;
+    private final int measuredFrames;
+    private final long budgetBytes;
+
+    private int frame = 0;
+    private long totalAllocated = 0;
+    private long worstFrameAllocated = 0;
+    private int worstFrame = -1;
+    private int framesOverBudget = 0;
+    private boolean finished = false;
+    private boolean failed = false;
+
+    private FrameAllocationCheck(String levelId, int measuredFrames, long budgetBytes) {
+        this.levelId = levelId;
+        this.measuredFrames = measuredFrames;
+        this.budgetBytes = budgetBytes;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: FrameAllocationCheck <simulated seconds> <budget bytes per frame> [level id]");
+            System.exit(1);
+        }
+        int seconds = Integer.parseInt(args[0]);
+        long budgetBytes = Long.parseLong(args[1]);
+        String levelId = args.length == 3 ? args[2] : null;
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        Lwjgl3ApplicationConfiguration configuration = new Lwjgl3ApplicationConfiguration();
+        configuration.setTitle("ReAim allocation check");
+        configuration.setWindowedMode(1280, 720);
+        configuration.setInitialVisible(false);
+        configuration.useVsync(false);
+        configuration.setForegroundFPS(0);
+
+        FrameAllocationCheck check = new FrameAllocationCheck(levelId, Math.round(seconds / FRAME_DELTA), budgetBytes);
+        new Lwjgl3Application(check, configuration);
+        if (check.failed) {
+            System.exit(1);
+        }
+    }
+
+    @Override
+    public void create() {
+        // Skips Main's analysis script: the check only plays levels whose beatmaps are already bundled
+        batch = new SpriteBatch();
+        final LevelManager levelManager = LevelManager.getInstance();
+        final String level = levelId != null ? levelId : firstLevelId(levelManager);
+        if (level == null) {
+            System.err.println("No levels found in levels.json");
+            failed = true;
+            Gdx.app.exit();
+            return;
+        }
+        levelManager.preloadLevel(level);
+
+        final Main game = this;
+        final Player player = new Player("allocation-check", "allocation-check", null);
+        setScreen(new LoadingScreen(this, "Loading " + level, new LoadingScreen.Target() {
+            @Override
+            public boolean isReady() {
+                return GameAssets.getInstance().isGameBundleLoaded() && levelManager.isLevelLoaded(level);
+            }
+
+            @Override
+            public Screen createScreen() {
+                System.out.println("Checking allocations while playing " + level);
+                return new GameScreen(game, player, level);
+            }
+        }));
+    }
+
+    private static String firstLevelId(LevelManager levelManager) {
+        TreeSet<String> ids = new TreeSet<>(levelManager.getAllLevels().keySet());
+        return ids.isEmpty() ? null : ids.first();
+    }
+
+    @Override
+    public void render() {
+        if (finished) {
+            return;
+        }
+        Screen screen = getScreen();
+        if (!(screen instanceof GameScreen)) {
+            if (frame > 0) {
+                // The level ended (or failed to start) before the requested number of frames
+                finish();
+                return;
+            }
+            super.render();
+            return;
+        }
+        GameAssets.getInstance().updateLoading(1);
+        int cursorX = sweepCursorX();
+        int cursorY = Gdx.graphics.getHeight() / 2;
+        Gdx.input.setCursorPosition(cursorX, cursorY);
+
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        InputProcessor processor = Gdx.input.getInputProcessor();
+        if (processor != null) {
+            processor.mouseMoved(cursorX, cursorY); // Recorded into the attempt's replay
+        }
+        if (processor != null && frame % FRAMES_PER_SHOT == 0) {
+            processor.touchDown(cursorX, cursorY, 0, Input.Buttons.LEFT);
+            processor.touchUp(cursorX, cursorY, 0, Input.Buttons.LEFT);
+        }
+        screen.render(FRAME_DELTA);
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        frame++;
+        int measuredFrame = frame - WARMUP_FRAMES;
+        if (measuredFrame > 0) {
+            totalAllocated += allocated;
+            if (allocated > worstFrameAllocated) {
+                worstFrameAllocated = allocated;
+                worstFrame = measuredFrame;
+            }
+            if (allocated > budgetBytes) {
+                framesOverBudget++;
+            }
+            if (measuredFrame >= measuredFrames) {
+                finish();
+            }
+        }
+    }
+
+    // Moves the cursor back and forth across the screen once every four seconds
+    private int sweepCursorX() {
+        float sweep = (frame % 240) / 240f;
+        return Math.round(Gdx.graphics.getWidth() * (sweep < 0.5f ? sweep * 2f : 2f - sweep * 2f));
+    }
+
+    private void finish() {
+        finished = true;
+        int measured = Math.max(0, frame - WARMUP_FRAMES);
+        if (measured == 0) {
+            System.err.println("The level ended during warm-up; nothing was measured");
+            failed = true;
+        } else {
+            System.out.println(String.format(Locale.ROOT,
+                "%d frames measured: %.1f bytes per frame on average, worst %d bytes (frame %d), %d frames over the %d byte budget",
+                measured, totalAllocated / (double) measured, worstFrameAllocated, worstFrame, framesOverBudget, budgetBytes));
+            failed = framesOverBudget > 0;
+        }
+        Gdx.app.exit();
+    }
+}
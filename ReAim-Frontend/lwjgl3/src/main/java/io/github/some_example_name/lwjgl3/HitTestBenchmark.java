@@ -0,0 +1,149 @@
+package io.github.some_example_name.lwjgl3;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import io.github.some_example_name.ecs.GameplayWorld;
+import io.github.some_example_name.ecs.components.HitBox;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Compares the cost of resolving one shot against N live targets with a linear scan over all of
+ * them (what GameScreen did before) and with the grid {@link GameplayWorld#findHit} queries.
+ * Run through the benchmarkHitTesting Gradle task.
+ * <p>
+ * Targets are spread over an area that grows with N, so the number overlapping any one point
+ * stays about the same, as it would on a long, dense map scrolling past. Every shot is checked
+ * against the linear scan to make sure both pick the same target.
+ */
+public final class HitTestBenchmark {
+    private static final int[] TARGET_COUNTS = {10, 100, 1000, 10000};
+    private static final int SHOTS = 20000;
+    // Every sprite is drawn on a full-screen canvas, so this is also the size of a real target
+    private static final int SPRITE_WIDTH = 1920;
+    private static final int SPRITE_HEIGHT = 1080;
+    // Area each target gets; about two targets overlap any point
+    private static final float AREA_PER_TARGET = 576f * 324f / 2f;
+
+    // Checked after each run so the JIT cannot discard the queries
+    private static int sink;
+
+    private HitTestBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        TextureRegion sprite = new TextureRegion() {
+            @Override
+            public int getRegionWidth() {
+                return SPRITE_WIDTH;
+            }
+
+            @Override
+            public int getRegionHeight() {
+                return SPRITE_HEIGHT;
+            }
+        };
+        Random random = new Random(1234);
+
+        System.out.println(String.format(Locale.ROOT, "%8s  %14s %14s", "targets", "linear ns/shot", "grid ns/shot"));
+        for (int count : TARGET_COUNTS) {
+            float side = (float) Math.sqrt(count * AREA_PER_TARGET);
+            // Nothing leaves the top of this "screen", and a zero-length update files every target
+            GameplayWorld world = new GameplayWorld(sprite, null, null, Float.MAX_VALUE);
+            Targets targets = new Targets(count);
+            for (int i = 0; i < count; i++) {
+                float x = random.nextFloat() * side;
+                float y = random.nextFloat() * side;
+                int entityId = world.createTarget(x, y, 0f);
+                HitBox hitBox = world.getHitBox(entityId);
+                targets.add(entityId, x, y, hitBox.width, hitBox.height);
+            }
+            world.update(0f);
+            float[] shots = new float[SHOTS * 2];
+            for (int i = 0; i < shots.length; i++) {
+                shots[i] = random.nextFloat() * side;
+            }
+
+            // Also warms up both paths before they are timed
+            for (int i = 0; i < SHOTS; i++) {
+                if (linearHit(targets, shots[i * 2], shots[i * 2 + 1]) != world.findHit(shots[i * 2], shots[i * 2 + 1])) {
+                    throw new IllegalStateException("Grid and linear scan disagree for " + count + " targets");
+                }
+            }
+            long linear = measureLinear(targets, shots);
+            long gridded = measureGrid(world, shots);
+            world.dispose();
+            System.out.println(String.format(Locale.ROOT, "%8d  %14d %14d", count, linear, gridded));
+        }
+        if (sink == Integer.MIN_VALUE) {
+            System.out.println();
+        }
+    }
+
+    /** @return mean nanoseconds per shot */
+    private static long measureLinear(Targets targets, float[] shots) {
+        long start = System.nanoTime();
+        for (int i = 0; i < SHOTS; i++) {
+            sink += linearHit(targets, shots[i * 2], shots[i * 2 + 1]);
+        }
+        return (System.nanoTime() - start) / SHOTS;
+    }
+
+    /** @return mean nanoseconds per shot */
+    private static long measureGrid(GameplayWorld world, float[] shots) {
+        long start = System.nanoTime();
+        for (int i = 0; i < SHOTS; i++) {
+            sink += world.findHit(shots[i * 2], shots[i * 2 + 1]);
+        }
+        return (System.nanoTime() - start) / SHOTS;
+    }
+
+    // Every target tested, closest centre wins
+    private static int linearHit(Targets targets, float x, float y) {
+        int closest = -1;
+        float closestDistance2 = Float.MAX_VALUE;
+        for (int i = 0; i < targets.size; i++) {
+            float left = targets.x[i];
+            float bottom = targets.y[i];
+            float width = targets.width[i];
+            float height = targets.height[i];
+            if (left <= x && left + width >= x && bottom <= y && bottom + height >= y) {
+                float dx = left + width / 2f - x;
+                float dy = bottom + height / 2f - y;
+                float distance2 = dx * dx + dy * dy;
+                if (distance2 < closestDistance2) {
+                    closestDistance2 = distance2;
+                    closest = targets.ids[i];
+                }
+            }
+        }
+        return closest;
+    }
+
+    // Where the targets were placed, for the linear scan
+    private static final class Targets {
+        final int[] ids;
+        final float[] x;
+        final float[] y;
+        final float[] width;
+        final float[] height;
+        int size;
+
+        Targets(int capacity) {
+            ids = new int[capacity];
+            x = new float[capacity];
+            y = new float[capacity];
+            width = new float[capacity];
+            height = new float[capacity];
+        }
+
+        void add(int id, float left, float bottom, float targetWidth, float targetHeight) {
+            ids[size] = id;
+            x[size] = left;
+            y[size] = bottom;
+            width[size] = targetWidth;
+            height[size] = targetHeight;
+            size++;
+        }
+    }
+}
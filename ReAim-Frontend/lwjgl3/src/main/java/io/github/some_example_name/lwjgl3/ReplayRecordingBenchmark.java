@@ -0,0 +1,195 @@
+package io.github.some_example_name.lwjgl3;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.MathUtils;
+import io.github.some_example_name.models.FixedStepClock;
+import io.github.some_example_name.replay.Replay;
+import io.github.some_example_name.replay.ReplayCodec;
+import io.github.some_example_name.replay.ReplayRecorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Records a synthetic three-minute attempt with the cursor sampled at 1000 Hz and a few shots a
+ * second, then prints the replay's size, what recording cost the game thread per frame, and
+ * checks that the file reads back to exactly what was recorded. The samples are fed far faster
+ * than real time, so the cost is measured as the game thread's CPU time: wall time would also
+ * count waiting for a writer that, in play, has seconds to encode each chunk. Run through the
+ * benchmarkReplayRecording Gradle task; exits non-zero if the replay is 100 KB or more or does
+ * not read back.
+ * <p>
+ * The recorder logs through Gdx.app, so this runs in a hidden LWJGL3 window and needs a display
+ * (or Xvfb). The cursor path is a hand-like mix of slow sweeps, flicks towards targets and a
+ * pixel of jitter, so it compresses like real play rather than like a straight line.
+ */
+public final class ReplayRecordingBenchmark extends ApplicationAdapter {
+    private static final int SECONDS = 180;
+    private static final int SAMPLES_PER_SECOND = 1000;
+    private static final int FRAME_RATE = 60;
+    private static final float SHOTS_PER_SECOND = 3f;
+    private static final int SCREEN_WIDTH = 1920;
+    private static final int SCREEN_HEIGHT = 1080;
+    // A 1920x1080 target sprite drawn at GameplayWorld's 0.3 scale
+    private static final float TARGET_WIDTH = 1920 * 0.3f;
+    private static final float TARGET_HEIGHT = 1080 * 0.3f;
+    private static final long SIZE_LIMIT = 100 * 1024;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private boolean failed = false;
+
+    private ReplayRecordingBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        Lwjgl3ApplicationConfiguration configuration = new Lwjgl3ApplicationConfiguration();
+        configuration.setTitle("ReAim replay benchmark");
+        configuration.setWindowedMode(320, 240);
+        configuration.setInitialVisible(false);
+
+        ReplayRecordingBenchmark benchmark = new ReplayRecordingBenchmark();
+        new Lwjgl3Application(benchmark, configuration);
+        if (benchmark.failed) {
+            System.exit(1);
+        }
+    }
+
+    @Override
+    public void create() {
+        try {
+            failed = !run();
+        } catch (IOException e) {
+            e.printStackTrace();
+            failed = true;
+        }
+        Gdx.app.exit();
+    }
+
+    private boolean run() throws IOException {
+        int sampleCount = SECONDS * SAMPLES_PER_SECOND;
+        int[] times = new int[sampleCount];
+        int[] xs = new int[sampleCount];
+        int[] ys = new int[sampleCount];
+        boolean[] shots = new boolean[sampleCount];
+        synthesize(new Random(20240501L), times, xs, ys, shots);
+
+        File tempFile = File.createTempFile("reaim-replay", ReplayCodec.EXTENSION);
+        tempFile.deleteOnExit();
+        FileHandle file = Gdx.files.absolute(tempFile.getAbsolutePath());
+        int stepRate = FixedStepClock.DEFAULT_STEP_RATE;
+        ReplayRecorder recorder = new ReplayRecorder(file, "benchmark", 42L, stepRate, SCREEN_WIDTH, SCREEN_HEIGHT,
+            TARGET_WIDTH, TARGET_HEIGHT, TARGET_WIDTH);
+
+        // Fed a frame's worth of samples at a time, as GameScreen's input events arrive
+        long threadId = Thread.currentThread().getId();
+        int samplesPerFrame = SAMPLES_PER_SECOND / FRAME_RATE;
+        int frames = 0;
+        int shotCount = 0;
+        long totalNanos = 0;
+        long worstFrameNanos = 0;
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        for (int first = 0; first < sampleCount; first += samplesPerFrame) {
+            int end = Math.min(sampleCount, first + samplesPerFrame);
+            long start = THREADS.getCurrentThreadCpuTime();
+            for (int i = first; i < end; i++) {
+                recorder.recordCursor(times[i], xs[i], ys[i]);
+                if (shots[i]) {
+                    long tick = (long) times[i] * stepRate * Replay.TICKS_PER_STEP / 1000L;
+                    recorder.recordShot(tick, times[i] * 1000L, xs[i], ys[i]);
+                    shotCount++;
+                }
+            }
+            long frameNanos = THREADS.getCurrentThreadCpuTime() - start;
+            totalNanos += frameNanos;
+            worstFrameNanos = Math.max(worstFrameNanos, frameNanos);
+            frames++;
+        }
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        recorder.finish(123456);
+        recorder.dispose();
+
+        long size = file.length();
+        System.out.println(String.format(Locale.ROOT,
+            "%d s at %d Hz: %d cursor samples, %d shots -> %d bytes (%.1f KB, %.2f bytes per sample)",
+            SECONDS, SAMPLES_PER_SECOND, sampleCount, shotCount, size, size / 1024f, size / (float) sampleCount));
+        System.out.println(String.format(Locale.ROOT,
+            "Game thread: %.3f us of CPU per frame on average, worst %.3f us, %d bytes allocated over %d frames",
+            totalNanos / 1000.0 / frames, worstFrameNanos / 1000.0, allocated, frames));
+
+        Replay replay = ReplayCodec.read(file);
+        boolean ok = replay.getShotCount() == shotCount && replay.score == 123456 && replay.stepRate == stepRate;
+        int cursor = 0;
+        int shot = 0;
+        int lastX = Integer.MIN_VALUE;
+        int lastY = Integer.MIN_VALUE;
+        for (int i = 0; i < sampleCount && ok; i++) {
+            if (xs[i] != lastX || ys[i] != lastY) {
+                ok = cursor < replay.getCursorCount() && replay.cursorTimes.get(cursor) == times[i]
+                    && replay.cursorXs.get(cursor) == xs[i] && replay.cursorYs.get(cursor) == ys[i];
+                cursor++;
+                lastX = xs[i];
+                lastY = ys[i];
+            }
+            if (ok && shots[i]) {
+                ok = replay.shotXs.get(shot) == xs[i] && replay.shotYs.get(shot) == ys[i]
+                    && replay.shotTimes.get(shot) == times[i] * 1000L;
+                shot++;
+            }
+        }
+        ok = ok && cursor == replay.getCursorCount();
+        if (!ok) {
+            System.err.println("Replay does not read back as recorded");
+            return false;
+        }
+        if (size >= SIZE_LIMIT) {
+            System.err.println("Replay is larger than " + SIZE_LIMIT + " bytes");
+            return false;
+        }
+        System.out.println("Replay reads back as recorded");
+        return true;
+    }
+
+    // Sweeps between random aim points, with quick flicks and a pixel of hand jitter
+    private static void synthesize(Random random, int[] times, int[] xs, int[] ys, boolean[] shots) {
+        float x = SCREEN_WIDTH / 2f;
+        float y = SCREEN_HEIGHT / 2f;
+        float fromX = x;
+        float fromY = y;
+        float toX = x;
+        float toY = y;
+        int moveStart = 0;
+        int moveLength = 1;
+        for (int i = 0; i < times.length; i++) {
+            times[i] = i * 1000 / SAMPLES_PER_SECOND;
+            if (i - moveStart >= moveLength) {
+                fromX = toX;
+                fromY = toY;
+                toX = MathUtils.clamp(fromX + (random.nextFloat() - 0.5f) * 900f, 0f, SCREEN_WIDTH - 1);
+                toY = MathUtils.clamp(fromY + (random.nextFloat() - 0.5f) * 600f, 0f, SCREEN_HEIGHT - 1);
+                moveStart = i;
+                moveLength = random.nextFloat() < 0.3f ? 80 + random.nextInt(80) : 300 + random.nextInt(700);
+            }
+            float progress = (i - moveStart) / (float) moveLength;
+            float eased = progress * progress * (3f - 2f * progress);
+            x = fromX + (toX - fromX) * eased;
+            y = fromY + (toY - fromY) * eased;
+            if (random.nextInt(8) == 0) {
+                x += random.nextInt(3) - 1;
+                y += random.nextInt(3) - 1;
+            }
+            xs[i] = Math.round(x);
+            ys[i] = Math.round(y);
+            shots[i] = random.nextFloat() < SHOTS_PER_SECOND / SAMPLES_PER_SECOND;
+        }
+    }
+}
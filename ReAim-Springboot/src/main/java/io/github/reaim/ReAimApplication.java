@@ -2,8 +2,10 @@ package io.github.reaim;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ReAimApplication {
     public static void main(String[] args) {
         SpringApplication.run(ReAimApplication.class, args);
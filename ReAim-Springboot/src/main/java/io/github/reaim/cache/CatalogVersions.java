@@ -0,0 +1,147 @@
+package io.github.reaim.cache;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Updates;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Version counters behind the ETags of the level catalog and of each level's leaderboard.
+ * The counters live in the catalog_versions collection, so every backend instance hands out
+ * the same tag and a write on one instance changes it on all of them. Every write bumps the
+ * matching counter right after it is stored; each counter also keeps the time it was created,
+ * so a counter that is dropped and starts over never hands out a tag that meant something else.
+ * Tags are built from a copy of the counters held in memory, so a conditional GET never waits
+ * on MongoDB. The copy takes this instance's own bumps at once and is reloaded every
+ * reaim.cache.versions.poll-ms, which is how long a write on another instance can go unseen.
+ */
+@Component
+public class CatalogVersions {
+
+    private static final String COLLECTION = "catalog_versions";
+    private static final String CATALOG_ID = "levels";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private LevelCatalogCache levelCatalogCache;
+
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+
+    // Catalog version this instance's cache is known to be in step with
+    private Version catalogSeen = Version.NONE;
+
+    /**
+     * Loads every counter, and drops the cached catalog when another instance has changed it
+     * since this one last looked, so the body served under the next tag is read after the change.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${reaim.cache.versions.poll-ms:1000}", initialDelayString = "${reaim.cache.versions.poll-ms:1000}")
+    public void refresh() {
+        Map<String, Version> read = new HashMap<>();
+        for (Document document : collection().find()) {
+            read.put(document.getString("_id"), Version.of(document));
+        }
+        // The cache is dropped before the new tag is handed out, so the old body is never served under it
+        Version current = read.getOrDefault(CATALOG_ID, Version.NONE);
+        synchronized (this) {
+            if (current.newerThan(catalogSeen)) {
+                levelCatalogCache.invalidateAll();
+                catalogSeen = current;
+            }
+        }
+        read.forEach(this::store);
+    }
+
+    public String catalogETag() {
+        return "\"levels-" + version(CATALOG_ID) + "\"";
+    }
+
+    public String leaderboardETag(String levelId) {
+        return "\"leaderboard-" + levelId + "-" + version(leaderboardId(levelId)) + "\"";
+    }
+
+    public void bumpCatalog() {
+        Version bumped = bump(CATALOG_ID);
+        synchronized (this) {
+            // This instance's cache already has its own write; one by another instance in between is picked up by the next refresh
+            if (bumped.follows(catalogSeen)) {
+                catalogSeen = bumped;
+            }
+        }
+    }
+
+    public void bumpLeaderboard(String levelId) {
+        bump(leaderboardId(levelId));
+    }
+
+    private Version version(String id) {
+        return versions.getOrDefault(id, Version.NONE);
+    }
+
+    private Version bump(String id) {
+        Document document = collection().findOneAndUpdate(Filters.eq("_id", id),
+                Updates.combine(Updates.inc("version", 1L), Updates.setOnInsert("createdAt", System.currentTimeMillis())),
+                new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
+        Version bumped = Version.of(document);
+        store(id, bumped);
+        return bumped;
+    }
+
+    // A refresh that read a counter before a concurrent bump must not put the older value back
+    private void store(String id, Version version) {
+        versions.merge(id, version, (held, read) -> held.createdAt == read.createdAt && held.counter > read.counter ? held : read);
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+
+    private static String leaderboardId(String levelId) {
+        return "leaderboard:" + levelId;
+    }
+
+    private static final class Version {
+        static final Version NONE = new Version(0L, 0L);
+
+        final long createdAt;
+        final long counter;
+
+        Version(long createdAt, long counter) {
+            this.createdAt = createdAt;
+            this.counter = counter;
+        }
+
+        static Version of(Document document) {
+            Number createdAt = document == null ? null : document.get("createdAt", Number.class);
+            Number counter = document == null ? null : document.get("version", Number.class);
+            return new Version(createdAt == null ? 0L : createdAt.longValue(), counter == null ? 0L : counter.longValue());
+        }
+
+        // A refresh may read a counter from before one of this instance's own bumps
+        boolean newerThan(Version previous) {
+            return createdAt != previous.createdAt || counter > previous.counter;
+        }
+
+        boolean follows(Version previous) {
+            return createdAt == previous.createdAt ? counter == previous.counter + 1 : counter == 1;
+        }
+
+        @Override
+        public String toString() {
+            return createdAt + "-" + counter;
+        }
+    }
+}
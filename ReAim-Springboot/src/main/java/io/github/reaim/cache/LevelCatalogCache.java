@@ -0,0 +1,174 @@
+package io.github.reaim.cache;
+
+import io.github.reaim.model.Level;
+import io.github.reaim.repository.LevelRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache in front of {@link LevelRepository} for the level catalog.
+ * Single levels are kept in an LRU map bounded by size, and the full list is kept as one entry;
+ * both expire after a TTL. LevelController invalidates precisely on create, update and delete.
+ */
+@Component
+public class LevelCatalogCache {
+
+    @Autowired
+    private LevelRepository levelRepository;
+
+    @Value("${reaim.cache.levels.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${reaim.cache.levels.ttl-ms:300000}")
+    private long ttlMs;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Access-ordered, so iteration starts at the least recently used level
+    private final LinkedHashMap<String, Entry<Level>> levels = new LinkedHashMap<>(64, 0.75f, true);
+    private Entry<List<Level>> allLevels;
+    // Bumped by every write, so a load that raced with one is not cached
+    private long generation;
+
+    public Level get(String id) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<Level> entry = levels.get(id);
+            if (entry != null && !entry.isExpired()) {
+                hits.incrementAndGet();
+                return entry.value;
+            }
+            if (entry != null) {
+                levels.remove(id);
+                evictions.incrementAndGet();
+            }
+            loadGeneration = generation;
+        }
+        misses.incrementAndGet();
+        Level level = levelRepository.findById(id).orElse(null);
+        if (level != null) {
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    putLevel(level);
+                }
+            }
+        }
+        return level;
+    }
+
+    public List<Level> getAll() {
+        long loadGeneration;
+        synchronized (this) {
+            if (allLevels != null && !allLevels.isExpired()) {
+                hits.incrementAndGet();
+                return allLevels.value;
+            }
+            if (allLevels != null) {
+                allLevels = null;
+                evictions.incrementAndGet();
+            }
+            loadGeneration = generation;
+        }
+        misses.incrementAndGet();
+        List<Level> all = Collections.unmodifiableList(levelRepository.findAll());
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                allLevels = new Entry<>(all, System.currentTimeMillis() + ttlMs);
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Records a created or updated level: its own entry is refreshed and the full list dropped.
+     */
+    public synchronized void put(Level level) {
+        generation++;
+        putLevel(level);
+        dropAllLevels();
+    }
+
+    /**
+     * Forgets a deleted level.
+     */
+    public synchronized void evict(String id) {
+        generation++;
+        if (levels.remove(id) != null) {
+            invalidations.incrementAndGet();
+        }
+        dropAllLevels();
+    }
+
+    /**
+     * Forgets every cached level, e.g. after another backend instance changed the catalog.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations.addAndGet(levels.size());
+        levels.clear();
+        dropAllLevels();
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new HashMap<>();
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        stats.put("size", levels.size() + (allLevels != null ? 1 : 0));
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlMs", ttlMs);
+        return stats;
+    }
+
+    public synchronized void resetStats() {
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+        invalidations.set(0);
+    }
+
+    private void putLevel(Level level) {
+        levels.put(level.getId(), new Entry<>(level, System.currentTimeMillis() + ttlMs));
+        while (levels.size() > maxEntries) {
+            String eldest = levels.keySet().iterator().next();
+            levels.remove(eldest);
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void dropAllLevels() {
+        if (allLevels != null) {
+            allLevels = null;
+            invalidations.incrementAndGet();
+        }
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final long expiresAt;
+
+        private Entry(T value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
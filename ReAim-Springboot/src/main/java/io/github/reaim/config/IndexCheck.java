@@ -0,0 +1,94 @@
+package io.github.reaim.config;
+
+import io.github.reaim.model.Level;
+import io.github.reaim.model.PersonalBest;
+import io.github.reaim.model.Player;
+import io.github.reaim.model.PlayerScore;
+import io.github.reaim.model.ScoreReplay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Lists the indexes of every document collection once the application has started and logs an
+ * error for each index declared on the document classes that MongoDB does not have, e.g. because
+ * existing data broke a unique constraint. The unique index on personal_bests is what keeps two
+ * concurrent first submits of a pair from both inserting a best, so a missing one matters.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class IndexCheck implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexCheck.class);
+
+    private static final List<Class<?>> DOCUMENTS = Arrays.asList(
+            Level.class, Player.class, PlayerScore.class, PersonalBest.class, ScoreReplay.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        report().forEach((collection, indexes) -> {
+            log.info("Indexes on {}: {}", collection, indexes.get("present"));
+            if (!indexes.get("missing").isEmpty()) {
+                log.error("Indexes missing on {}: {}", collection, indexes.get("missing"));
+            }
+        });
+    }
+
+    /**
+     * Index names present on each collection and the declared ones among them that are missing.
+     */
+    public Map<String, Map<String, List<String>>> report() {
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        Map<String, Map<String, List<String>>> report = new LinkedHashMap<>();
+        for (Class<?> document : DOCUMENTS) {
+            List<String> present = new ArrayList<>();
+            for (IndexInfo index : mongoTemplate.indexOps(document).getIndexInfo()) {
+                present.add(index.getName());
+            }
+            List<String> missing = new ArrayList<>();
+            for (IndexDefinition index : resolver.resolveIndexFor(document)) {
+                String name = name(index);
+                if (!present.contains(name)) {
+                    missing.add(name);
+                }
+            }
+            Map<String, List<String>> indexes = new LinkedHashMap<>();
+            indexes.put("present", present);
+            indexes.put("missing", missing);
+            report.put(mongoTemplate.getCollectionName(document), indexes);
+        }
+        return report;
+    }
+
+    // An unnamed index gets MongoDB's default name, its keys and directions joined by underscores
+    private static String name(IndexDefinition index) {
+        String name = index.getIndexOptions().getString("name");
+        if (name != null) {
+            return name;
+        }
+        StringJoiner joiner = new StringJoiner("_");
+        for (Map.Entry<String, Object> key : index.getIndexKeys().entrySet()) {
+            joiner.add(key.getKey()).add(String.valueOf(key.getValue()));
+        }
+        return joiner.toString();
+    }
+}
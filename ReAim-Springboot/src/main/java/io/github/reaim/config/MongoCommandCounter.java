@@ -0,0 +1,40 @@
+package io.github.reaim.config;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the commands (round trips) the driver sends to MongoDB, per command name.
+ * Reset it, hit an endpoint, then read the counts back from /api/diagnostics/mongo.
+ */
+public class MongoCommandCounter implements CommandListener {
+
+    private final Map<String, AtomicLong> counts = new ConcurrentHashMap<>();
+    private final AtomicLong total = new AtomicLong();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        counts.computeIfAbsent(event.getCommandName(), name -> new AtomicLong()).incrementAndGet();
+        total.incrementAndGet();
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    public Map<String, Long> getCounts() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counts.forEach((name, count) -> snapshot.put(name, count.get()));
+        return snapshot;
+    }
+
+    public void reset() {
+        counts.clear();
+        total.set(0);
+    }
+}
@@ -8,9 +8,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
+import io.github.reaim.model.PlayerScore;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 
+import java.util.Collection;
+import java.util.Collections;
+
 @Configuration
 public class MongoConfig extends AbstractMongoClientConfiguration {
 
@@ -25,6 +29,25 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
         return databaseName;
     }
 
+    // The base class ignores spring.data.mongodb.auto-index-creation, so the indexes declared
+    // on the documents are only created when it is switched on here
+    @Override
+    protected boolean autoIndexCreation() {
+        return true;
+    }
+
+    // Registers every document at startup, so their indexes exist before the first request
+    // rather than being created on first use of each class
+    @Override
+    protected Collection<String> getMappingBasePackages() {
+        return Collections.singleton(PlayerScore.class.getPackage().getName());
+    }
+
+    @Bean
+    public MongoCommandCounter mongoCommandCounter() {
+        return new MongoCommandCounter();
+    }
+
     @Override
     @Bean
     public MongoClient mongoClient() {
@@ -35,6 +58,7 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
         MongoClientSettings settings = MongoClientSettings.builder()
                 .applyConnectionString(new ConnectionString(connectionString))
                 .serverApi(serverApi)
+                .addCommandListener(mongoCommandCounter())
                 .build();
 
         return MongoClients.create(settings);
@@ -0,0 +1,248 @@
+package io.github.reaim.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.reaim.cache.LevelCatalogCache;
+import io.github.reaim.config.IndexCheck;
+import io.github.reaim.config.MongoCommandCounter;
+import io.github.reaim.model.LevelRef;
+import io.github.reaim.model.PersonalBest;
+import io.github.reaim.model.PlayerRef;
+import io.github.reaim.model.PlayerScore;
+import io.github.reaim.model.ScoreReplay;
+import io.github.reaim.replay.ReplaySimulator;
+import io.github.reaim.replay.ReplayVerifier;
+import io.github.reaim.repository.PersonalBestRepository;
+import io.github.reaim.repository.PlayerScoreRepository;
+import io.github.reaim.repository.ScoreReplayRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+@CrossOrigin(origins = "*")
+public class DiagnosticsController {
+
+    @Autowired
+    private MongoCommandCounter commandCounter;
+
+    @Autowired
+    private PlayerScoreRepository playerScoreRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LevelCatalogCache levelCatalogCache;
+
+    @Autowired
+    private ReplayVerifier replayVerifier;
+
+    @Autowired
+    private ScoreReplayRepository scoreReplayRepository;
+
+    @Autowired
+    private IndexCheck indexCheck;
+
+    @Autowired
+    private PersonalBestRepository personalBestRepository;
+
+    // Commands sent to MongoDB since startup or the last reset
+    @GetMapping("/mongo")
+    public ResponseEntity<?> getMongoCommands() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("total", commandCounter.getTotal());
+        response.put("commands", commandCounter.getCounts());
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/mongo")
+    public ResponseEntity<?> resetMongoCommands() {
+        commandCounter.reset();
+        return ResponseEntity.ok("Command counters reset");
+    }
+
+    // Indexes of each collection and the declared ones MongoDB does not have
+    @GetMapping("/indexes")
+    public ResponseEntity<?> getIndexes() {
+        return ResponseEntity.ok(indexCheck.report());
+    }
+
+    // Offers two different first scores of a made-up player and level at the same moment, round
+    // after round, and checks each round leaves exactly one best holding the higher score.
+    // The scratch bests are removed again
+    @PostMapping("/checks/personal-best-race")
+    public ResponseEntity<?> checkPersonalBestRace(@RequestParam(defaultValue = "20") int rounds) throws InterruptedException {
+        if (rounds < 1 || rounds > 1000) {
+            return ResponseEntity.badRequest().body("rounds must be between 1 and 1000");
+        }
+        List<String> failures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < rounds; round++) {
+                String playerId = new ObjectId().toHexString();
+                String levelId = new ObjectId().toHexString();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> offers = new ArrayList<>();
+                for (int score : new int[]{100, 200}) {
+                    PlayerScore offered = raceScore(playerId, levelId, score);
+                    offers.add(executor.submit(() -> {
+                        start.await();
+                        return personalBestRepository.offer(offered);
+                    }));
+                }
+                start.countDown();
+                String error = null;
+                for (Future<Boolean> offer : offers) {
+                    try {
+                        offer.get();
+                    } catch (ExecutionException e) {
+                        error = "offer failed: " + e.getCause();
+                    }
+                }
+                List<PersonalBest> bests = personalBestRepository.findByPlayerId(playerId);
+                personalBestRepository.deleteAll(bests);
+                if (error == null && bests.size() != 1) {
+                    error = bests.size() + " bests";
+                } else if (error == null && bests.get(0).getScore() != 200) {
+                    error = "best holds " + bests.get(0).getScore();
+                }
+                if (error != null) {
+                    failures.add("round " + round + ": " + error);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("rounds", rounds);
+        response.put("passed", failures.isEmpty());
+        response.put("failures", failures);
+        response.put("missingIndexes", indexCheck.report().get("personal_bests").get("missing"));
+        return ResponseEntity.ok(response);
+    }
+
+    private static PlayerScore raceScore(String playerId, String levelId, int score) {
+        PlayerScore playerScore = new PlayerScore();
+        playerScore.setId(new ObjectId().toHexString());
+        playerScore.setPlayer(new PlayerRef(playerId, "race-check"));
+        playerScore.setLevel(new LevelRef(levelId, "race-check"));
+        playerScore.setScore(score);
+        playerScore.setSubmittedAt(new Date());
+        return playerScore;
+    }
+
+    // Hit/miss counters of the level catalog cache
+    @GetMapping("/caches")
+    public ResponseEntity<?> getCacheStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("levels", levelCatalogCache.stats());
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/caches")
+    public ResponseEntity<?> resetCacheStats() {
+        levelCatalogCache.resetStats();
+        return ResponseEntity.ok("Cache counters reset");
+    }
+
+    // Replay verification outcomes, queue depth and throughput per core
+    @GetMapping("/replays")
+    public ResponseEntity<?> getReplayStats() {
+        return ResponseEntity.ok(replayVerifier.stats());
+    }
+
+    @DeleteMapping("/replays")
+    public ResponseEntity<?> resetReplayStats() {
+        replayVerifier.resetStats();
+        return ResponseEntity.ok("Replay counters reset");
+    }
+
+    // Re-simulates a stored replay repeatedly on the request thread, i.e. on one core,
+    // and reports how many replays like it one core verifies per second
+    @GetMapping("/benchmark/replays/{scoreId}")
+    public ResponseEntity<?> benchmarkReplay(@PathVariable String scoreId, @RequestParam(defaultValue = "100") int runs) {
+        PlayerScore score = playerScoreRepository.findById(scoreId).orElse(null);
+        ScoreReplay replay = scoreReplayRepository.findById(scoreId).orElse(null);
+        if (score == null || replay == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (runs < 1 || runs > 10000) {
+            return ResponseEntity.badRequest().body("runs must be between 1 and 10000");
+        }
+        try {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            ReplaySimulator.Result result = replayVerifier.simulate(replay.getData(), score.getLevel().getId()); // Warm-up
+            long cpuStart = threads.getCurrentThreadCpuTime();
+            long start = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                result = replayVerifier.simulate(replay.getData(), score.getLevel().getId());
+            }
+            double cpuSeconds = (threads.getCurrentThreadCpuTime() - cpuStart) / 1e9;
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("runs", runs);
+            response.put("replayBytes", replay.getData().length);
+            response.put("shots", result.getShots());
+            response.put("steps", result.getSteps());
+            response.put("score", result.getScore());
+            response.put("submittedScore", score.getScore());
+            response.put("elapsedMs", (System.nanoTime() - start) / 1_000_000);
+            response.put("cpuMsPerReplay", cpuSeconds * 1000 / runs);
+            response.put("replaysPerSecondPerCore", cpuSeconds > 0 ? runs / cpuSeconds : 0.0);
+            return ResponseEntity.ok(response);
+        } catch (IOException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Replay cannot be simulated: " + e.getMessage());
+        }
+    }
+
+    // Loads and serialises every score of a level the way the score endpoints do,
+    // and reports how many round trips to MongoDB that took
+    @GetMapping("/benchmark/level-scores/{levelId}")
+    public ResponseEntity<?> benchmarkLevelScores(@PathVariable String levelId) {
+        try {
+            long before = commandCounter.getTotal();
+            Map<String, Long> countsBefore = commandCounter.getCounts();
+            long start = System.nanoTime();
+
+            List<PlayerScore> scores = playerScoreRepository.findByLevelId(levelId);
+            int bytes = objectMapper.writeValueAsBytes(scores).length;
+
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            Map<String, Long> commands = new HashMap<>();
+            commandCounter.getCounts().forEach((name, count) -> {
+                long delta = count - countsBefore.getOrDefault(name, 0L);
+                if (delta > 0) {
+                    commands.put(name, delta);
+                }
+            });
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("scores", scores.size());
+            response.put("responseBytes", bytes);
+            response.put("roundTrips", commandCounter.getTotal() - before);
+            response.put("commands", commands);
+            response.put("elapsedMs", elapsedMs);
+            return ResponseEntity.ok(response);
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.internalServerError().body("Error serialising scores: " + e.getMessage());
+        }
+    }
+}
@@ -1,12 +1,23 @@
 package io.github.reaim.controller;
 
+import io.github.reaim.cache.CatalogVersions;
+import io.github.reaim.cache.LevelCatalogCache;
 import io.github.reaim.model.Level;
+import io.github.reaim.model.PersonalBest;
 import io.github.reaim.model.Player;
+import io.github.reaim.model.PlayerRef;
+import io.github.reaim.model.PlayerScore;
 import io.github.reaim.repository.LevelRepository;
 import io.github.reaim.repository.PlayerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController
@@ -20,39 +31,58 @@ public class LevelController {
     @Autowired
     private PlayerRepository playerRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private LevelCatalogCache levelCatalogCache;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
     @PostMapping("/create")
     public ResponseEntity<?> createLevel(@RequestBody Level level) {
         Player creator = playerRepository.findById(level.getCreator().getId()).orElse(null);
         if (creator == null) {
             return ResponseEntity.badRequest().body("Creator not found");
         }
-        level.setCreator(creator);
+        level.setCreator(PlayerRef.of(creator));
         Level savedLevel = levelRepository.save(level);
+        levelCatalogCache.put(savedLevel);
+        catalogVersions.bumpCatalog();
         return ResponseEntity.ok(savedLevel);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getLevel(@PathVariable String id) {
-        Level level = levelRepository.findById(id).orElse(null);
+    public ResponseEntity<?> getLevel(@PathVariable String id, WebRequest request) {
+        // The tag is read before the body, so the body served is never older than its tag
+        String etag = catalogVersions.catalogETag();
+        Level level = levelCatalogCache.get(id);
         if (level == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(level);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(level);
     }
 
     @GetMapping
-    public ResponseEntity<List<Level>> getAllLevels() {
-        List<Level> levels = levelRepository.findAll();
-        return ResponseEntity.ok(levels);
+    public ResponseEntity<List<Level>> getAllLevels(WebRequest request) {
+        String etag = catalogVersions.catalogETag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        List<Level> levels = levelCatalogCache.getAll();
+        return ResponseEntity.ok().eTag(etag).body(levels);
     }
 
     @GetMapping("/creator/{creatorId}")
     public ResponseEntity<List<Level>> getLevelsByCreator(@PathVariable String creatorId) {
-        Player creator = playerRepository.findById(creatorId).orElse(null);
-        if (creator == null) {
+        if (!playerRepository.existsById(creatorId)) {
             return ResponseEntity.notFound().build();
         }
-        List<Level> levels = levelRepository.findByCreator(creator);
+        List<Level> levels = levelRepository.findByCreatorId(creatorId);
         return ResponseEntity.ok(levels);
     }
 
@@ -69,11 +99,21 @@ public class LevelController {
             return ResponseEntity.notFound().build();
         }
 
+        boolean renamed = levelDetails.getName() != null && !levelDetails.getName().equals(existingLevel.getName());
         existingLevel.setName(levelDetails.getName());
         existingLevel.setJsonFile(levelDetails.getJsonFile());
         existingLevel.setDifficulty(levelDetails.getDifficulty());
 
         Level updatedLevel = levelRepository.save(existingLevel);
+        levelCatalogCache.put(updatedLevel);
+        catalogVersions.bumpCatalog();
+        if (renamed) {
+            // Scores and personal bests embed the level name, keep those snapshots in step
+            Query levelQuery = Query.query(Criteria.where("level.id").is(id));
+            Update rename = Update.update("level.name", updatedLevel.getName());
+            mongoTemplate.updateMulti(levelQuery, rename, PlayerScore.class);
+            mongoTemplate.updateMulti(levelQuery, rename, PersonalBest.class);
+        }
         return ResponseEntity.ok(updatedLevel);
     }
 
@@ -85,6 +125,8 @@ public class LevelController {
         }
 
         levelRepository.delete(level);
+        levelCatalogCache.evict(id);
+        catalogVersions.bumpCatalog();
         return ResponseEntity.ok().body("Level deleted successfully");
     }
 }
@@ -1,22 +1,58 @@
 package io.github.reaim.controller;
 
+import io.github.reaim.cache.CatalogVersions;
+import io.github.reaim.cache.LevelCatalogCache;
+import io.github.reaim.leaderboard.LeaderboardEngine;
+import io.github.reaim.leaderboard.LeaderboardEntry;
+import io.github.reaim.leaderboard.RankedEntry;
 import io.github.reaim.model.Player;
+import io.github.reaim.model.PlayerRef;
 import io.github.reaim.model.Level;
+import io.github.reaim.model.LevelRef;
+import io.github.reaim.model.PersonalBest;
 import io.github.reaim.model.PlayerScore;
+import io.github.reaim.model.ScoreReplay;
+import io.github.reaim.replay.ReplayVerifier;
 import io.github.reaim.repository.PlayerRepository;
 import io.github.reaim.repository.LevelRepository;
+import io.github.reaim.repository.PersonalBestRepository;
 import io.github.reaim.repository.PlayerScoreRepository;
+import io.github.reaim.repository.ScoreReplayRepository;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/scores")
 @CrossOrigin(origins = "*")
 public class PlayerScoreController {
 
+    private static final int MAX_LEADERBOARD_LIMIT = 200;
+    private static final int MAX_LEADERBOARD_RADIUS = 50;
+    private static final int MAX_BATCH_SIZE = 1000;
+
     @Autowired
     private PlayerScoreRepository playerScoreRepository;
 
@@ -26,64 +62,347 @@ public class PlayerScoreController {
     @Autowired
     private LevelRepository levelRepository;
 
+    @Autowired
+    private PersonalBestRepository personalBestRepository;
+
+    @Autowired
+    private LeaderboardEngine leaderboardEngine;
+
+    @Autowired
+    private LevelCatalogCache levelCatalogCache;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ScoreReplayRepository scoreReplayRepository;
+
+    @Autowired
+    private ReplayVerifier replayVerifier;
+
+    @Value("${reaim.replay.max-bytes:1048576}")
+    private int maxReplayBytes;
+
     @PostMapping("/submit")
     public ResponseEntity<?> submitScore(@RequestBody PlayerScore score) {
         Player player = playerRepository.findById(score.getPlayer().getId()).orElse(null);
-        Level level = levelRepository.findById(score.getLevel().getId()).orElse(null);
+        Level level = levelCatalogCache.get(score.getLevel().getId());
 
-        if (player == null || level == null) {
-            return ResponseEntity.badRequest().body("Player or Level not found");
+        String error = validate(score, player, level);
+        if (error != null) {
+            return ResponseEntity.badRequest().body(error);
         }
 
-        score.setPlayer(player);
-        score.setLevel(level);
+        score.setPlayer(PlayerRef.of(player));
+        score.setLevel(LevelRef.of(level));
+        score.setSubmittedAt(new Date());
+        // Only ever set by verifying an uploaded replay
+        score.setReplayStatus(null);
+        score.setVerifiedScore(null);
         PlayerScore savedScore = playerScoreRepository.save(score);
+        personalBestRepository.offer(savedScore);
+        leaderboardEngine.record(savedScore);
+        catalogVersions.bumpLeaderboard(level.getId());
         return ResponseEntity.ok(savedScore);
     }
 
+    /**
+     * Submits many scores at once: players and levels are validated with one $in query each
+     * and the valid scores are written with a single unordered bulk insert.
+     * Each item gets a result with its index, status (created, rejected or failed), id and error.
+     */
+    @PostMapping("/submit/batch")
+    public ResponseEntity<?> submitScores(@RequestBody List<PlayerScore> scores) {
+        if (scores == null || scores.isEmpty() || scores.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body("Batch must contain between 1 and " + MAX_BATCH_SIZE + " scores");
+        }
+
+        Set<String> playerIds = new HashSet<>();
+        Set<String> levelIds = new HashSet<>();
+        for (PlayerScore score : scores) {
+            if (score != null && score.getPlayer() != null && score.getPlayer().getId() != null) {
+                playerIds.add(score.getPlayer().getId());
+            }
+            if (score != null && score.getLevel() != null && score.getLevel().getId() != null) {
+                levelIds.add(score.getLevel().getId());
+            }
+        }
+        Map<String, Player> players = new HashMap<>();
+        for (Player player : playerRepository.findAllById(playerIds)) {
+            players.put(player.getId(), player);
+        }
+        Map<String, Level> levels = new HashMap<>();
+        for (Level level : levelRepository.findAllById(levelIds)) {
+            levels.put(level.getId(), level);
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>(scores.size());
+        List<PlayerScore> accepted = new ArrayList<>(scores.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(scores.size());
+        Date now = new Date();
+        for (int i = 0; i < scores.size(); i++) {
+            PlayerScore score = scores.get(i);
+            Player player = score == null || score.getPlayer() == null ? null : players.get(score.getPlayer().getId());
+            Level level = score == null || score.getLevel() == null ? null : levels.get(score.getLevel().getId());
+            String error = validate(score, player, level);
+            if (error != null) {
+                results.add(batchResult(i, "rejected", null, error));
+                continue;
+            }
+
+            // Ids are assigned up front so the results and the leaderboard can refer to them
+            score.setId(new ObjectId().toHexString());
+            score.setPlayer(PlayerRef.of(player));
+            score.setLevel(LevelRef.of(level));
+            score.setSubmittedAt(now);
+            score.setReplayStatus(null);
+            score.setVerifiedScore(null);
+            accepted.add(score);
+            acceptedIndexes.add(i);
+            results.add(batchResult(i, "created", score.getId(), null));
+        }
+
+        if (!accepted.isEmpty()) {
+            Set<Integer> failed = new HashSet<>();
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PlayerScore.class)
+                        .insert(accepted)
+                        .execute();
+            } catch (BulkOperationException e) {
+                // Unordered: everything except the reported writes was inserted
+                for (BulkWriteError writeError : e.getErrors()) {
+                    failed.add(writeError.getIndex());
+                    int index = acceptedIndexes.get(writeError.getIndex());
+                    results.set(index, batchResult(index, "failed", null, writeError.getMessage()));
+                }
+            }
+            List<PlayerScore> inserted = new ArrayList<>(accepted.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                if (!failed.contains(i)) {
+                    inserted.add(accepted.get(i));
+                }
+            }
+            personalBestRepository.offerAll(inserted);
+            Set<String> changedLevels = new HashSet<>();
+            for (PlayerScore score : inserted) {
+                leaderboardEngine.record(score);
+                changedLevels.add(score.getLevel().getId());
+            }
+            changedLevels.forEach(catalogVersions::bumpLeaderboard);
+        }
+
+        int created = 0;
+        for (Map<String, Object> result : results) {
+            if ("created".equals(result.get("status"))) {
+                created++;
+            }
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("submitted", scores.size());
+        response.put("created", created);
+        response.put("results", results);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Uploads the replay of a submitted score, as the game recorded it, and queues it for
+     * verification: the replay is re-simulated in the background and the score flagged with the
+     * outcome (see ReplayVerifier). Answers 202 once queued, or 503 if the verifier is too busy,
+     * in which case the upload can be retried. A score takes one replay: once one is queued,
+     * further uploads get 409.
+     */
+    @PostMapping(value = "/{id}/replay", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<?> uploadReplay(@PathVariable String id, @RequestBody byte[] replay) {
+        if (replay.length == 0 || replay.length > maxReplayBytes) {
+            return ResponseEntity.badRequest().body("Replay must be between 1 and " + maxReplayBytes + " bytes");
+        }
+        PlayerScore score = playerScoreRepository.findById(id).orElse(null);
+        if (score == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // Only the upload that moves the score to pending is verified, so a score is never queued twice
+        UpdateResult claimed = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(id).and("replayStatus").exists(false)),
+                new Update().set("replayStatus", ReplayVerifier.STATUS_PENDING).unset("verifiedScore"), PlayerScore.class);
+        if (claimed.getModifiedCount() == 0) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("A replay of this score has already been uploaded");
+        }
+
+        scoreReplayRepository.save(new ScoreReplay(id, replay, new Date()));
+        score.setReplayStatus(ReplayVerifier.STATUS_PENDING);
+        score.setVerifiedScore(null);
+        if (!replayVerifier.submit(score, replay)) {
+            // Not queued: let the retry claim the score again
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(id).and("replayStatus").is(ReplayVerifier.STATUS_PENDING)),
+                    new Update().unset("replayStatus"), PlayerScore.class);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Replay verification is busy, try again later");
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(score);
+    }
+
+    @GetMapping(value = "/{id}/replay", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getReplay(@PathVariable String id) {
+        ScoreReplay replay = scoreReplayRepository.findById(id).orElse(null);
+        if (replay == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(replay.getData());
+    }
+
     @GetMapping("/player/{playerId}")
     public ResponseEntity<List<PlayerScore>> getPlayerScores(@PathVariable String playerId) {
-        Player player = playerRepository.findById(playerId).orElse(null);
-        if (player == null) {
+        if (!playerRepository.existsById(playerId)) {
             return ResponseEntity.notFound().build();
         }
-        List<PlayerScore> scores = playerScoreRepository.findByPlayer(player);
+        List<PlayerScore> scores = playerScoreRepository.findByPlayerId(playerId);
         return ResponseEntity.ok(scores);
     }
 
     @GetMapping("/level/{levelId}")
     public ResponseEntity<List<PlayerScore>> getLevelScores(@PathVariable String levelId) {
-        Level level = levelRepository.findById(levelId).orElse(null);
-        if (level == null) {
+        if (!levelRepository.existsById(levelId)) {
             return ResponseEntity.notFound().build();
         }
-        List<PlayerScore> scores = playerScoreRepository.findByLevel(level);
+        List<PlayerScore> scores = playerScoreRepository.findByLevelId(levelId);
         return ResponseEntity.ok(scores);
     }
 
     @GetMapping("/leaderboard/{levelId}")
-    public ResponseEntity<List<PlayerScore>> getLevelLeaderboard(@PathVariable String levelId) {
-        Level level = levelRepository.findById(levelId).orElse(null);
-        if (level == null) {
+    public ResponseEntity<?> getLevelLeaderboard(
+            @PathVariable String levelId,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) Integer afterScore,
+            @RequestParam(required = false) String afterId,
+            WebRequest request) {
+        // An unknown level is a 404 before any tag is built, not a leaderboard that is empty and never changes
+        if (levelCatalogCache.get(levelId) == null) {
             return ResponseEntity.notFound().build();
         }
-        List<PlayerScore> scores = playerScoreRepository.findByLevel(level);
-        scores.sort((a, b) -> Integer.compare(b.getScore(), a.getScore())); // Sort by score descending
-        return ResponseEntity.ok(scores);
+        String etag = catalogVersions.leaderboardETag(levelId);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (limit < 1 || limit > MAX_LEADERBOARD_LIMIT || offset < 0) {
+            return ResponseEntity.badRequest().body("limit must be between 1 and " + MAX_LEADERBOARD_LIMIT + " and offset must not be negative");
+        }
+        if (leaderboardEngine.isEnabled()) {
+            if (afterId != null) {
+                List<RankedEntry> page = leaderboardEngine.pageAfter(levelId, afterId, limit);
+                if (page != null) {
+                    return ResponseEntity.ok().eTag(etag).body(page);
+                }
+                // Cursor score was deleted in the meantime; fall through to Mongo, which only needs its key
+            } else {
+                return ResponseEntity.ok().eTag(etag).body(leaderboardEngine.page(levelId, offset, limit));
+            }
+        }
+
+        // Sorting, skipping and limiting happen in Mongo on the personal_bests (level, score desc) index
+        List<PersonalBest> bests = personalBestRepository.findLeaderboardPage(levelId, offset, limit, afterScore, afterId);
+        int firstRank = offset + 1;
+        if (afterScore != null && afterId != null) {
+            firstRank = (int) personalBestRepository.countAhead(levelId, afterScore, afterId, true) + 1;
+        }
+        return ResponseEntity.ok().eTag(etag).body(toRankedEntries(bests, firstRank));
+    }
+
+    @GetMapping("/leaderboard/{levelId}/rank/{playerId}")
+    public ResponseEntity<?> getPlayerRank(@PathVariable String levelId, @PathVariable String playerId, WebRequest request) {
+        if (levelCatalogCache.get(levelId) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = catalogVersions.leaderboardETag(levelId);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        RankedEntry entry = findPlayerRank(levelId, playerId);
+        if (entry == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(entry);
+    }
+
+    @GetMapping("/leaderboard/{levelId}/around")
+    public ResponseEntity<?> getScoresAroundRank(
+            @PathVariable String levelId,
+            @RequestParam int rank,
+            @RequestParam(defaultValue = "5") int radius,
+            WebRequest request) {
+        if (levelCatalogCache.get(levelId) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = catalogVersions.leaderboardETag(levelId);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (rank < 1 || radius < 0 || radius > MAX_LEADERBOARD_RADIUS) {
+            return ResponseEntity.badRequest().body("rank must be positive and radius between 0 and " + MAX_LEADERBOARD_RADIUS);
+        }
+        if (leaderboardEngine.isEnabled()) {
+            return ResponseEntity.ok().eTag(etag).body(leaderboardEngine.around(levelId, rank, radius));
+        }
+
+        int offset = Math.max(0, rank - 1 - radius);
+        int limit = rank + radius - offset;
+        List<PersonalBest> bests = personalBestRepository.findLeaderboardPage(levelId, offset, limit, null, null);
+        return ResponseEntity.ok().eTag(etag).body(toRankedEntries(bests, offset + 1));
+    }
+
+    @GetMapping("/leaderboard/{levelId}/player/{playerId}/around")
+    public ResponseEntity<?> getScoresAroundPlayer(
+            @PathVariable String levelId,
+            @PathVariable String playerId,
+            @RequestParam(defaultValue = "5") int radius,
+            WebRequest request) {
+        if (levelCatalogCache.get(levelId) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = catalogVersions.leaderboardETag(levelId);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (radius < 0 || radius > MAX_LEADERBOARD_RADIUS) {
+            return ResponseEntity.badRequest().body("radius must be between 0 and " + MAX_LEADERBOARD_RADIUS);
+        }
+        RankedEntry self = findPlayerRank(levelId, playerId);
+        if (self == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        List<RankedEntry> entries;
+        long total;
+        if (leaderboardEngine.isEnabled()) {
+            entries = leaderboardEngine.around(levelId, self.getRank(), radius);
+            total = leaderboardEngine.size(levelId);
+        } else {
+            // Rank comes from an index-backed count, so only the window itself is read
+            int offset = Math.max(0, self.getRank() - 1 - radius);
+            int limit = self.getRank() + radius - offset;
+            entries = toRankedEntries(personalBestRepository.findLeaderboardPage(levelId, offset, limit, null, null), offset + 1);
+            total = personalBestRepository.countByLevelId(levelId);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("rank", self.getRank());
+        response.put("total", total);
+        response.put("entries", entries);
+        return ResponseEntity.ok().eTag(etag).body(response);
     }
 
     @GetMapping("/player/{playerId}/level/{levelId}")
     public ResponseEntity<List<PlayerScore>> getPlayerLevelScores(
             @PathVariable String playerId,
             @PathVariable String levelId) {
-        Player player = playerRepository.findById(playerId).orElse(null);
-        Level level = levelRepository.findById(levelId).orElse(null);
-
-        if (player == null || level == null) {
+        if (!playerRepository.existsById(playerId) || !levelRepository.existsById(levelId)) {
             return ResponseEntity.notFound().build();
         }
 
-        List<PlayerScore> scores = playerScoreRepository.findByPlayerAndLevel(player, level);
+        List<PlayerScore> scores = playerScoreRepository.findByPlayerIdAndLevelId(playerId, levelId);
         return ResponseEntity.ok(scores);
     }
 
@@ -95,6 +414,68 @@ public class PlayerScoreController {
         }
 
         playerScoreRepository.delete(score);
+        scoreReplayRepository.deleteById(id);
+
+        // If this score held the personal best, the next best play takes its place
+        String playerId = score.getPlayer().getId();
+        String levelId = score.getLevel().getId();
+        PersonalBest best = personalBestRepository.findByPlayerIdAndLevelId(playerId, levelId);
+        if (best != null && id.equals(best.getScoreId())) {
+            PlayerScore nextBest = playerScoreRepository.findFirstByPlayerIdAndLevelIdOrderByScoreDescSubmittedAtAscIdAsc(playerId, levelId);
+            personalBestRepository.replaceBest(playerId, levelId, id, nextBest);
+            leaderboardEngine.replaceBest(levelId, playerId, nextBest);
+            catalogVersions.bumpLeaderboard(levelId);
+        }
         return ResponseEntity.ok().body("Score deleted successfully");
     }
+
+    /**
+     * Returns the player's best entry on the level with its rank, or null if they have no score there.
+     */
+    private RankedEntry findPlayerRank(String levelId, String playerId) {
+        if (leaderboardEngine.isEnabled()) {
+            return leaderboardEngine.rankOf(levelId, playerId);
+        }
+        PersonalBest best = personalBestRepository.findByPlayerIdAndLevelId(playerId, levelId);
+        if (best == null) {
+            return null;
+        }
+        int rank = (int) personalBestRepository.countAhead(levelId, best.getScore(), best.getScoreId(), false) + 1;
+        return toRankedEntries(List.of(best), rank).get(0);
+    }
+
+    /**
+     * Checks a submitted score against its looked-up player and level, for both submit paths.
+     * @return the reason the score is rejected, or null if it is valid
+     */
+    private static String validate(PlayerScore score, Player player, Level level) {
+        if (player == null || level == null) {
+            return "Player or Level not found";
+        }
+        if (score.getScore() < 0) {
+            return "Score must not be negative";
+        }
+        return null;
+    }
+
+    private static Map<String, Object> batchResult(int index, String status, String id, String error) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+        result.put("status", status);
+        result.put("id", id);
+        result.put("error", error);
+        return result;
+    }
+
+    private static List<RankedEntry> toRankedEntries(List<PersonalBest> bests, int firstRank) {
+        List<RankedEntry> ranked = new ArrayList<>(bests.size());
+        for (int i = 0; i < bests.size(); i++) {
+            PersonalBest best = bests.get(i);
+            long achievedAt = best.getAchievedAt() != null ? best.getAchievedAt().getTime() : 0L;
+            LeaderboardEntry entry = new LeaderboardEntry(best.getScoreId(), best.getPlayer().getId(),
+                    best.getPlayer().getUsername(), best.getScore(), achievedAt);
+            ranked.add(new RankedEntry(firstRank + i, entry));
+        }
+        return ranked;
+    }
 }
@@ -0,0 +1,298 @@
+package io.github.reaim.leaderboard;
+
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import io.github.reaim.model.PersonalBest;
+import io.github.reaim.model.PlayerScore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process leaderboards for every level, holding each player's personal best and kept
+ * write-through by the score endpoints. On startup the rankings are restored from a snapshot
+ * file and topped up with personal bests changed since; a full scan of personal_bests is only
+ * needed when no usable snapshot exists.
+ */
+@Component
+public class LeaderboardEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardEngine.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x524C4232; // "RLB2", one entry per player
+    private static final int LOAD_BATCH = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${reaim.leaderboard.in-memory:true}")
+    private boolean enabled;
+
+    @Value("${reaim.leaderboard.snapshot-path:data/leaderboard.snapshot}")
+    private String snapshotPath;
+
+    private final Map<String, LevelLeaderboard> leaderboards = new ConcurrentHashMap<>();
+    private volatile long watermark; // personal bests updated before this are in memory, in epoch millis
+    private volatile boolean dirty;
+
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            log.info("In-memory leaderboard disabled, leaderboards are served from MongoDB");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        if (loadSnapshot()) {
+            int caughtUp = loadBests(Filters.gte("updatedAt", new Date(watermark)));
+            long stored = mongoTemplate.getCollection(bestCollection()).estimatedDocumentCount();
+            if (stored != totalEntries()) {
+                log.warn("Leaderboard snapshot is out of sync ({} in memory, {} stored), rebuilding", totalEntries(), stored);
+                rebuild();
+            } else {
+                log.info("Restored leaderboards from snapshot plus {} changed personal bests in {} ms", caughtUp, System.currentTimeMillis() - start);
+            }
+        } else {
+            rebuild();
+            log.info("Rebuilt leaderboards from {} in {} ms", bestCollection(), System.currentTimeMillis() - start);
+        }
+        dirty = true;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Offers a freshly saved score to its level's ranking; it is kept only if it beats the
+     * player's current best there.
+     */
+    public void record(PlayerScore score) {
+        if (!enabled || score.getId() == null || score.getLevel() == null || score.getPlayer() == null) {
+            return;
+        }
+        long submittedAt = score.getSubmittedAt() != null ? score.getSubmittedAt().getTime() : 0L;
+        LeaderboardEntry entry = new LeaderboardEntry(score.getId(), score.getPlayer().getId(),
+                score.getPlayer().getUsername(), score.getScore(), submittedAt);
+        if (leaderboard(score.getLevel().getId()).add(entry)) {
+            watermark = Math.max(watermark, submittedAt);
+            dirty = true;
+        }
+    }
+
+    /**
+     * Replaces the player's best on a level after the score behind it was deleted.
+     * A null replacement removes the player from that level's ranking.
+     */
+    public void replaceBest(String levelId, String playerId, PlayerScore replacement) {
+        if (!enabled) {
+            return;
+        }
+        LeaderboardEntry entry = null;
+        if (replacement != null) {
+            long submittedAt = replacement.getSubmittedAt() != null ? replacement.getSubmittedAt().getTime() : 0L;
+            entry = new LeaderboardEntry(replacement.getId(), playerId, replacement.getPlayer().getUsername(),
+                    replacement.getScore(), submittedAt);
+        }
+        leaderboard(levelId).replace(playerId, entry);
+        dirty = true;
+    }
+
+    /**
+     * Rebuilds every ranking from personal_bests, e.g. after a backfill wrote to it directly.
+     */
+    public void reload() {
+        if (enabled) {
+            rebuild();
+            dirty = true;
+        }
+    }
+
+    public List<RankedEntry> page(String levelId, int offset, int limit) {
+        LevelLeaderboard board = leaderboards.get(levelId);
+        return board == null ? new ArrayList<>() : board.page(offset, limit);
+    }
+
+    /**
+     * Returns the page after the given score, or null if the cursor score is unknown.
+     */
+    public List<RankedEntry> pageAfter(String levelId, String afterId, int limit) {
+        LevelLeaderboard board = leaderboards.get(levelId);
+        return board == null ? null : board.pageAfter(afterId, limit);
+    }
+
+    public RankedEntry rankOf(String levelId, String playerId) {
+        LevelLeaderboard board = leaderboards.get(levelId);
+        return board == null ? null : board.bestOf(playerId);
+    }
+
+    public List<RankedEntry> around(String levelId, int rank, int radius) {
+        LevelLeaderboard board = leaderboards.get(levelId);
+        return board == null ? new ArrayList<>() : board.around(rank, radius);
+    }
+
+    public int size(String levelId) {
+        LevelLeaderboard board = leaderboards.get(levelId);
+        return board == null ? 0 : board.size();
+    }
+
+    @Scheduled(fixedDelayString = "${reaim.leaderboard.snapshot-interval-ms:300000}")
+    public void scheduledSnapshot() {
+        if (enabled && dirty) {
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void shutdownSnapshot() {
+        if (enabled && dirty) {
+            writeSnapshot();
+        }
+    }
+
+    private LevelLeaderboard leaderboard(String levelId) {
+        return leaderboards.computeIfAbsent(levelId, id -> new LevelLeaderboard());
+    }
+
+    private long totalEntries() {
+        long total = 0;
+        for (LevelLeaderboard board : leaderboards.values()) {
+            total += board.size();
+        }
+        return total;
+    }
+
+    private String bestCollection() {
+        return mongoTemplate.getCollectionName(PersonalBest.class);
+    }
+
+    private synchronized void rebuild() {
+        leaderboards.clear();
+        watermark = 0L;
+        loadBests(new Document());
+    }
+
+    /**
+     * Streams matching personal-best documents into the rankings. Stored documents are
+     * authoritative, so each one replaces whatever the player had in memory.
+     * @return the number of documents applied
+     */
+    private int loadBests(Bson filter) {
+        int applied = 0;
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(bestCollection())
+                .find(filter)
+                .projection(Projections.include("player", "level", "score", "scoreId", "achievedAt", "updatedAt"))
+                .batchSize(LOAD_BATCH)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                Document player = document.get("player", Document.class);
+                Document level = document.get("level", Document.class);
+                String scoreId = document.getString("scoreId");
+                if (player == null || level == null || scoreId == null) {
+                    continue;
+                }
+                String playerId = player.get("_id").toString();
+                Number score = document.get("score", Number.class);
+                Date achievedAt = document.getDate("achievedAt");
+                LeaderboardEntry entry = new LeaderboardEntry(scoreId, playerId, player.getString("username"),
+                        score == null ? 0 : score.intValue(), achievedAt == null ? 0L : achievedAt.getTime());
+                leaderboard(level.get("_id").toString()).replace(playerId, entry);
+                Date updatedAt = document.getDate("updatedAt");
+                if (updatedAt != null) {
+                    watermark = Math.max(watermark, updatedAt.getTime());
+                }
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    private synchronized void writeSnapshot() {
+        dirty = false;
+        Path target = Paths.get(snapshotPath);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(watermark);
+                out.writeInt(leaderboards.size());
+                for (Map.Entry<String, LevelLeaderboard> level : leaderboards.entrySet()) {
+                    List<LeaderboardEntry> entries = level.getValue().entries();
+                    out.writeUTF(level.getKey());
+                    out.writeInt(entries.size());
+                    for (LeaderboardEntry entry : entries) {
+                        out.writeUTF(entry.getScoreId());
+                        out.writeUTF(entry.getPlayerId());
+                        out.writeUTF(entry.getUsername() == null ? "" : entry.getUsername());
+                        out.writeInt(entry.getScore());
+                        out.writeLong(entry.getSubmittedAt());
+                    }
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote leaderboard snapshot to {}", target);
+        } catch (IOException e) {
+            dirty = true;
+            log.error("Could not write leaderboard snapshot to " + target, e);
+        }
+    }
+
+    private boolean loadSnapshot() {
+        Path path = Paths.get(snapshotPath);
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                log.warn("Ignoring leaderboard snapshot with unknown format: {}", path);
+                return false;
+            }
+            long snapshotWatermark = in.readLong();
+            int levelCount = in.readInt();
+            for (int i = 0; i < levelCount; i++) {
+                LevelLeaderboard board = leaderboard(in.readUTF());
+                int entryCount = in.readInt();
+                for (int j = 0; j < entryCount; j++) {
+                    String scoreId = in.readUTF();
+                    String playerId = in.readUTF();
+                    String username = in.readUTF();
+                    board.add(new LeaderboardEntry(scoreId, playerId, username.isEmpty() ? null : username,
+                            in.readInt(), in.readLong()));
+                }
+            }
+            watermark = snapshotWatermark;
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not read leaderboard snapshot " + path + ", rebuilding", e);
+            leaderboards.clear();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.reaim.leaderboard;
+
+import java.util.Comparator;
+
+/**
+ * One score as held by the in-memory leaderboard.
+ */
+public class LeaderboardEntry {
+
+    /** Highest score first, score id breaks ties; the same order personal_bests is paged and ranked in. */
+    public static final Comparator<LeaderboardEntry> RANK_ORDER = Comparator
+            .comparingInt(LeaderboardEntry::getScore).reversed()
+            .thenComparing(LeaderboardEntry::getScoreId);
+
+    private final String scoreId;
+    private final String playerId;
+    private final String username;
+    private final int score;
+    private final long submittedAt;
+
+    public LeaderboardEntry(String scoreId, String playerId, String username, int score, long submittedAt) {
+        this.scoreId = scoreId;
+        this.playerId = playerId;
+        this.username = username;
+        this.score = score;
+        this.submittedAt = submittedAt;
+    }
+
+    public String getScoreId() { return scoreId; }
+    public String getPlayerId() { return playerId; }
+    public String getUsername() { return username; }
+    public int getScore() { return score; }
+    public long getSubmittedAt() { return submittedAt; }
+}
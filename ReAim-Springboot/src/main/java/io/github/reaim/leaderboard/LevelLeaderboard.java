@@ -0,0 +1,186 @@
+package io.github.reaim.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ranking of the players' personal bests on a single level, one entry per player.
+ */
+public class LevelLeaderboard {
+
+    private final OrderStatisticTree<LeaderboardEntry> ranking = new OrderStatisticTree<>(LeaderboardEntry.RANK_ORDER);
+    private final Map<String, LeaderboardEntry> entriesById = new HashMap<>();
+    private final Map<String, LeaderboardEntry> entriesByPlayer = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Makes the entry its player's best if it scores higher than their current one. Equal scores
+     * keep the current best, as the personal_bests upsert does.
+     * @return true if the entry was added
+     */
+    public boolean add(LeaderboardEntry entry) {
+        lock.writeLock().lock();
+        try {
+            LeaderboardEntry current = entriesByPlayer.get(entry.getPlayerId());
+            if (current != null && current.getScore() >= entry.getScore()) {
+                return false;
+            }
+            if (current != null) {
+                detach(current);
+            }
+            attach(entry);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the player's best unconditionally, or drops it when the replacement is null.
+     * Used when the score behind a best is deleted and the next best has to take its place.
+     */
+    public void replace(String playerId, LeaderboardEntry replacement) {
+        lock.writeLock().lock();
+        try {
+            LeaderboardEntry current = entriesByPlayer.get(playerId);
+            if (current != null) {
+                detach(current);
+            }
+            if (replacement != null) {
+                attach(replacement);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String scoreId) {
+        lock.writeLock().lock();
+        try {
+            LeaderboardEntry entry = entriesById.get(scoreId);
+            if (entry == null) {
+                return false;
+            }
+            detach(entry);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(String scoreId) {
+        lock.readLock().lock();
+        try {
+            return entriesById.containsKey(scoreId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ranking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns entries starting at the given zero-based offset.
+     */
+    public List<RankedEntry> page(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return toRanked(offset, ranking.range(offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the entries that follow the given score in rank order, or null if that
+     * score is not on this leaderboard.
+     */
+    public List<RankedEntry> pageAfter(String scoreId, int limit) {
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry cursor = entriesById.get(scoreId);
+            if (cursor == null) {
+                return null;
+            }
+            int offset = ranking.rankOf(cursor) + 1;
+            return toRanked(offset, ranking.range(offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the player's best entry with its rank, or null if the player has no score here.
+     */
+    public RankedEntry bestOf(String playerId) {
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry best = entriesByPlayer.get(playerId);
+            if (best == null) {
+                return null;
+            }
+            return new RankedEntry(ranking.rankOf(best) + 1, best);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the entries from rank - radius to rank + radius (1-based ranks, clamped to the board).
+     */
+    public List<RankedEntry> around(int rank, int radius) {
+        lock.readLock().lock();
+        try {
+            int offset = Math.max(0, rank - 1 - radius);
+            int end = Math.min(ranking.size(), rank + radius);
+            return toRanked(offset, ranking.range(offset, end - offset));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns every entry in rank order, for snapshotting.
+     */
+    public List<LeaderboardEntry> entries() {
+        lock.readLock().lock();
+        try {
+            List<LeaderboardEntry> entries = new ArrayList<>(ranking.size());
+            ranking.collectInto(entries);
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void attach(LeaderboardEntry entry) {
+        entriesById.put(entry.getScoreId(), entry);
+        entriesByPlayer.put(entry.getPlayerId(), entry);
+        ranking.add(entry);
+    }
+
+    private void detach(LeaderboardEntry entry) {
+        entriesById.remove(entry.getScoreId());
+        entriesByPlayer.remove(entry.getPlayerId());
+        ranking.remove(entry);
+    }
+
+    private static List<RankedEntry> toRanked(int offset, List<LeaderboardEntry> entries) {
+        List<RankedEntry> ranked = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            ranked.add(new RankedEntry(offset + i + 1, entries.get(i)));
+        }
+        return ranked;
+    }
+}
@@ -0,0 +1,196 @@
+package io.github.reaim.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sorted set with O(log n) insert, remove, rank and select, implemented as a
+ * treap whose nodes carry their subtree size. Not thread-safe.
+ */
+public class OrderStatisticTree<E> {
+
+    private static final class Node<E> {
+        final E value;
+        final int priority;
+        int size = 1;
+        Node<E> left;
+        Node<E> right;
+
+        Node(E value) {
+            this.value = value;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private final Comparator<? super E> comparator;
+    private Node<E> root;
+
+    public OrderStatisticTree(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Inserts an element.
+     * @return false if an equal element is already present
+     */
+    public boolean add(E value) {
+        if (contains(value)) {
+            return false;
+        }
+        Node<E>[] parts = split(root, value, false);
+        root = merge(merge(parts[0], new Node<>(value)), parts[1]);
+        return true;
+    }
+
+    /**
+     * Removes an element.
+     * @return false if no equal element was present
+     */
+    public boolean remove(E value) {
+        Node<E>[] lower = split(root, value, false);
+        Node<E>[] upper = split(lower[1], value, true);
+        root = merge(lower[0], upper[1]);
+        return upper[0] != null;
+    }
+
+    public boolean contains(E value) {
+        Node<E> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(value, node.value);
+            if (cmp == 0) {
+                return true;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of elements strictly smaller than the given one,
+     * i.e. its zero-based position if it is present.
+     */
+    public int rankOf(E value) {
+        int rank = 0;
+        Node<E> node = root;
+        while (node != null) {
+            if (comparator.compare(value, node.value) <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the element at the given zero-based position.
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns up to {@code count} elements starting at the given zero-based position.
+     */
+    public List<E> range(int fromIndex, int count) {
+        int end = Math.min(size(), fromIndex + count);
+        List<E> result = new ArrayList<>(Math.max(0, end - fromIndex));
+        for (int i = Math.max(0, fromIndex); i < end; i++) {
+            result.add(get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Appends all elements to the list in ascending order.
+     */
+    public void collectInto(List<? super E> out) {
+        collect(root, out);
+    }
+
+    private void collect(Node<E> node, List<? super E> out) {
+        if (node == null) {
+            return;
+        }
+        collect(node.left, out);
+        out.add(node.value);
+        collect(node.right, out);
+    }
+
+    /**
+     * Splits a subtree into elements before the key and the rest. When {@code inclusive}
+     * is set, elements equal to the key go to the left part.
+     */
+    @SuppressWarnings("unchecked")
+    private Node<E>[] split(Node<E> node, E key, boolean inclusive) {
+        if (node == null) {
+            return (Node<E>[]) new Node[] { null, null };
+        }
+        int cmp = comparator.compare(node.value, key);
+        boolean goesLeft = inclusive ? cmp <= 0 : cmp < 0;
+        if (goesLeft) {
+            Node<E>[] parts = split(node.right, key, inclusive);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        } else {
+            Node<E>[] parts = split(node.left, key, inclusive);
+            node.left = parts[1];
+            update(node);
+            parts[1] = node;
+            return parts;
+        }
+    }
+
+    private Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        } else {
+            right.left = merge(left, right.left);
+            update(right);
+            return right;
+        }
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node<?> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.reaim.leaderboard;
+
+import java.util.Date;
+
+/**
+ * Leaderboard row returned to clients. Mirrors the id/player/score shape of a
+ * PlayerScore so existing clients can read it, plus the 1-based rank.
+ */
+public class RankedEntry {
+
+    public static class PlayerSummary {
+        private final String id;
+        private final String username;
+
+        public PlayerSummary(String id, String username) {
+            this.id = id;
+            this.username = username;
+        }
+
+        public String getId() { return id; }
+        public String getUsername() { return username; }
+    }
+
+    private final int rank;
+    private final String id;
+    private final PlayerSummary player;
+    private final int score;
+    private final Date submittedAt;
+
+    public RankedEntry(int rank, LeaderboardEntry entry) {
+        this.rank = rank;
+        this.id = entry.getScoreId();
+        this.player = new PlayerSummary(entry.getPlayerId(), entry.getUsername());
+        this.score = entry.getScore();
+        this.submittedAt = entry.getSubmittedAt() > 0 ? new Date(entry.getSubmittedAt()) : null;
+    }
+
+    public int getRank() { return rank; }
+    public String getId() { return id; }
+    public PlayerSummary getPlayer() { return player; }
+    public int getScore() { return score; }
+    public Date getSubmittedAt() { return submittedAt; }
+}
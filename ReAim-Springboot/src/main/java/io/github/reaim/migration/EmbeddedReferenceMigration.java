@@ -0,0 +1,155 @@
+package io.github.reaim.migration;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One-shot migration that rewrites the old DBRef fields (player_scores.player, player_scores.level,
+ * levels.creator) into embedded {_id, username} / {_id, name} snapshots.
+ * Documents are processed in _id order and the last migrated _id is checkpointed in the
+ * migrations collection after every batch, so an interrupted run resumes where it stopped.
+ * Only documents that still hold a DBRef are touched, so running it again is harmless.
+ * Enable with reaim.migration.embedded-refs=true.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EmbeddedReferenceMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedReferenceMigration.class);
+
+    private static final String MIGRATION_ID = "embedded-refs";
+    private static final String MIGRATIONS_COLLECTION = "migrations";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${reaim.migration.embedded-refs:false}")
+    private boolean enabled;
+
+    @Value("${reaim.migration.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long migrated = 0;
+        migrated += migrateField("player_scores", "player", "players", "username");
+        migrated += migrateField("player_scores", "level", "levels", "name");
+        migrated += migrateField("levels", "creator", "players", "username");
+        log.info("Embedded reference migration finished: {} fields rewritten in {} ms",
+                migrated, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Rewrites collection.field from a DBRef into {_id, nameField} taken from the referenced collection.
+     * @return the number of documents updated
+     */
+    private long migrateField(String collectionName, String field, String targetCollection, String nameField) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(collectionName);
+        MongoCollection<Document> targets = mongoTemplate.getCollection(targetCollection);
+        String step = collectionName + "." + field;
+        Object resumeAfter = loadCheckpoint(step);
+        long updated = 0;
+
+        while (true) {
+            List<Bson> conditions = new ArrayList<>();
+            conditions.add(Filters.exists(field + ".$ref"));
+            if (resumeAfter != null) {
+                conditions.add(Filters.gt("_id", resumeAfter));
+            }
+            List<Document> batch = collection.find(Filters.and(conditions))
+                    .projection(Projections.include(field))
+                    .sort(Sorts.ascending("_id"))
+                    .limit(batchSize)
+                    .into(new ArrayList<>());
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            Set<Object> targetIds = new HashSet<>();
+            for (Document document : batch) {
+                Object targetId = referencedId(document.get(field));
+                if (targetId != null) {
+                    targetIds.add(targetId);
+                }
+            }
+            Map<Object, String> names = new HashMap<>();
+            for (Document target : targets.find(Filters.in("_id", targetIds)).projection(Projections.include(nameField))) {
+                names.put(target.get("_id"), target.getString(nameField));
+            }
+
+            List<WriteModel<Document>> writes = new ArrayList<>(batch.size());
+            for (Document document : batch) {
+                Object targetId = referencedId(document.get(field));
+                if (targetId == null) {
+                    continue;
+                }
+                // Keep the id as stored (normally an ObjectId), which is what Spring writes for the embedded id
+                Document embedded = new Document("_id", targetId).append(nameField, names.get(targetId));
+                writes.add(new UpdateOneModel<>(Filters.eq("_id", document.get("_id")), Updates.set(field, embedded)));
+            }
+            if (!writes.isEmpty()) {
+                updated += collection.bulkWrite(writes, new BulkWriteOptions().ordered(false)).getModifiedCount();
+            }
+
+            resumeAfter = batch.get(batch.size() - 1).get("_id");
+            saveCheckpoint(step, resumeAfter);
+            log.debug("Migrated {} {} references so far", updated, step);
+        }
+        return updated;
+    }
+
+    private static Object referencedId(Object reference) {
+        if (reference instanceof DBRef) {
+            return ((DBRef) reference).getId();
+        }
+        if (reference instanceof Document) {
+            return ((Document) reference).get("$id");
+        }
+        return null;
+    }
+
+    private Object loadCheckpoint(String step) {
+        Document checkpoint = mongoTemplate.getCollection(MIGRATIONS_COLLECTION)
+                .find(Filters.eq("_id", MIGRATION_ID + ":" + step))
+                .first();
+        return checkpoint == null ? null : checkpoint.get("lastId");
+    }
+
+    private void saveCheckpoint(String step, Object lastId) {
+        mongoTemplate.getCollection(MIGRATIONS_COLLECTION).replaceOne(
+                Filters.eq("_id", MIGRATION_ID + ":" + step),
+                new Document("_id", MIGRATION_ID + ":" + step).append("lastId", lastId),
+                new ReplaceOptions().upsert(true));
+    }
+}
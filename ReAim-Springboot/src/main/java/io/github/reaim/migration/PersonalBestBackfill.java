@@ -0,0 +1,112 @@
+package io.github.reaim.migration;
+
+import com.mongodb.client.MongoCursor;
+import io.github.reaim.leaderboard.LeaderboardEngine;
+import io.github.reaim.model.LevelRef;
+import io.github.reaim.model.PlayerRef;
+import io.github.reaim.model.PlayerScore;
+import io.github.reaim.repository.PersonalBestRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Fills personal_bests from the play history in player_scores. The best of every (player, level)
+ * pair is picked by an aggregation and written with the same conditional upserts the submit
+ * endpoints use, so the job never lowers a best and can be re-run or interrupted safely.
+ * Runs after {@link EmbeddedReferenceMigration}; scores still holding a DBRef are skipped.
+ * Enable with reaim.migration.personal-bests=true.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class PersonalBestBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonalBestBackfill.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PersonalBestRepository personalBestRepository;
+
+    @Autowired
+    private LeaderboardEngine leaderboardEngine;
+
+    @Value("${reaim.migration.personal-bests:false}")
+    private boolean enabled;
+
+    @Value("${reaim.migration.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        List<Document> pipeline = Arrays.asList(
+                new Document("$match", new Document("player.$ref", new Document("$exists", false))),
+                new Document("$sort", new Document("score", -1).append("submittedAt", 1).append("_id", 1)),
+                new Document("$group", new Document("_id", new Document("player", "$player._id").append("level", "$level._id"))
+                        .append("player", new Document("$first", "$player"))
+                        .append("level", new Document("$first", "$level"))
+                        .append("score", new Document("$first", "$score"))
+                        .append("scoreId", new Document("$first", "$_id"))
+                        .append("submittedAt", new Document("$first", "$submittedAt"))));
+
+        long pairs = 0;
+        List<PlayerScore> batch = new ArrayList<>(batchSize);
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(mongoTemplate.getCollectionName(PlayerScore.class))
+                .aggregate(pipeline)
+                .allowDiskUse(true)
+                .batchSize(batchSize)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                batch.add(toScore(cursor.next()));
+                if (batch.size() == batchSize) {
+                    personalBestRepository.offerAll(batch);
+                    pairs += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        personalBestRepository.offerAll(batch);
+        pairs += batch.size();
+
+        leaderboardEngine.reload();
+        log.info("Personal best backfill offered {} player/level bests in {} ms", pairs, System.currentTimeMillis() - start);
+    }
+
+    private static PlayerScore toScore(Document best) {
+        Document player = best.get("player", Document.class);
+        Document level = best.get("level", Document.class);
+        Number score = best.get("score", Number.class);
+        Object scoreId = best.get("scoreId");
+        Date submittedAt = best.getDate("submittedAt");
+        if (submittedAt == null && scoreId instanceof ObjectId) {
+            submittedAt = ((ObjectId) scoreId).getDate();
+        }
+
+        PlayerScore playerScore = new PlayerScore();
+        playerScore.setId(scoreId.toString());
+        playerScore.setPlayer(new PlayerRef(player.get("_id").toString(), player.getString("username")));
+        playerScore.setLevel(new LevelRef(level.get("_id").toString(), level.getString("name")));
+        playerScore.setScore(score == null ? 0 : score.intValue());
+        playerScore.setSubmittedAt(submittedAt);
+        return playerScore;
+    }
+}
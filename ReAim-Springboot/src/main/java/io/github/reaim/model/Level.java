@@ -1,11 +1,12 @@
 package io.github.reaim.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import jakarta.validation.constraints.NotBlank;
 
 @Document(collection = "levels")
+@CompoundIndex(name = "creator_ref", def = "{'creator._id': 1}")
 public class Level {
     @Id
     private String id;
@@ -18,8 +19,7 @@ public class Level {
     @NotBlank
     private String difficulty;
 
-    @DBRef
-    private Player creator;
+    private PlayerRef creator;
 
     // Getters and Setters
     public String getId() { return id; }
@@ -34,6 +34,6 @@ public class Level {
     public String getDifficulty() { return difficulty; }
     public void setDifficulty(String difficulty) { this.difficulty = difficulty; }
     
-    public Player getCreator() { return creator; }
-    public void setCreator(Player creator) { this.creator = creator; }
+    public PlayerRef getCreator() { return creator; }
+    public void setCreator(PlayerRef creator) { this.creator = creator; }
 }
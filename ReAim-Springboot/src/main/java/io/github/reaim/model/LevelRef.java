@@ -0,0 +1,29 @@
+package io.github.reaim.model;
+
+/**
+ * Snapshot of a level embedded in other documents in place of a reference.
+ */
+public class LevelRef {
+    private String id;
+
+    private String name;
+
+    public LevelRef() {
+    }
+
+    public LevelRef(String id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public static LevelRef of(Level level) {
+        return new LevelRef(level.getId(), level.getName());
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+}
@@ -0,0 +1,62 @@
+package io.github.reaim.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.util.Date;
+
+/**
+ * A player's best score on a level, one document per (player, level).
+ * Kept up to date by a conditional upsert on every submission; leaderboards are read from here
+ * while player_scores keeps the full play history.
+ */
+@Document(collection = "personal_bests")
+@CompoundIndexes({
+    // One best per player and level; a losing upsert fails on this index instead of inserting a duplicate
+    @CompoundIndex(name = "player_ref_level_ref_unique", def = "{'player._id': 1, 'level._id': 1}", unique = true),
+    // Leaderboard pages: equality on level, then score descending with scoreId as tie-breaker
+    @CompoundIndex(name = "level_ref_score_desc_score_id", def = "{'level._id': 1, 'score': -1, 'scoreId': 1}")
+})
+public class PersonalBest {
+    @Id
+    private String id;
+
+    private PlayerRef player;
+
+    private LevelRef level;
+
+    private int score;
+
+    // The PlayerScore that set this best
+    private String scoreId;
+
+    private Date achievedAt;
+
+    // Last time this document was written; lets the in-memory leaderboard catch up after a restart
+    @Indexed
+    private Date updatedAt;
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public PlayerRef getPlayer() { return player; }
+    public void setPlayer(PlayerRef player) { this.player = player; }
+
+    public LevelRef getLevel() { return level; }
+    public void setLevel(LevelRef level) { this.level = level; }
+
+    public int getScore() { return score; }
+    public void setScore(int score) { this.score = score; }
+
+    public String getScoreId() { return scoreId; }
+    public void setScoreId(String scoreId) { this.scoreId = scoreId; }
+
+    public Date getAchievedAt() { return achievedAt; }
+    public void setAchievedAt(Date achievedAt) { this.achievedAt = achievedAt; }
+
+    public Date getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,30 @@
+package io.github.reaim.model;
+
+/**
+ * Snapshot of a player embedded in other documents in place of a reference.
+ * Carries only what listings need, never the email or password.
+ */
+public class PlayerRef {
+    private String id;
+
+    private String username;
+
+    public PlayerRef() {
+    }
+
+    public PlayerRef(String id, String username) {
+        this.id = id;
+        this.username = username;
+    }
+
+    public static PlayerRef of(Player player) {
+        return new PlayerRef(player.getId(), player.getUsername());
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+}
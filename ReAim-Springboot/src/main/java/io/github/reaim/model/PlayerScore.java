@@ -1,20 +1,28 @@
 package io.github.reaim.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import jakarta.validation.constraints.Min;
+import java.util.Date;
 
 @Document(collection = "player_scores")
+// The embedded refs' id properties are stored as _id, hence 'level._id' / 'player._id'
+@CompoundIndexes({
+    // A level's play history; leaderboards are served from personal_bests
+    @CompoundIndex(name = "level_ref_score_desc", def = "{'level._id': 1, 'score': -1, '_id': 1}"),
+    // A player's history on a level, best first (recomputing a personal best after a delete)
+    @CompoundIndex(name = "player_ref_level_ref_score_desc_submitted", def = "{'player._id': 1, 'level._id': 1, 'score': -1, 'submittedAt': 1}")
+})
 public class PlayerScore {
     @Id
     private String id;
     
-    @DBRef
-    private Player player;
+    private PlayerRef player;
     
-    @DBRef
-    private Level level;
+    private LevelRef level;
     
     @Min(0)
     private int score;
@@ -22,19 +30,37 @@ public class PlayerScore {
     @Min(0)
     private int playerLevel;
 
+    @Indexed
+    private Date submittedAt;
+
+    // Outcome of re-simulating the uploaded replay (pending, verified, mismatch or invalid); null without one
+    private String replayStatus;
+
+    // Score the replay re-simulated to, once verified or found to mismatch
+    private Integer verifiedScore;
+
     // Getters and Setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
     
-    public Player getPlayer() { return player; }
-    public void setPlayer(Player player) { this.player = player; }
+    public PlayerRef getPlayer() { return player; }
+    public void setPlayer(PlayerRef player) { this.player = player; }
     
-    public Level getLevel() { return level; }
-    public void setLevel(Level level) { this.level = level; }
+    public LevelRef getLevel() { return level; }
+    public void setLevel(LevelRef level) { this.level = level; }
     
     public int getScore() { return score; }
     public void setScore(int score) { this.score = score; }
     
     public int getPlayerLevel() { return playerLevel; }
     public void setPlayerLevel(int playerLevel) { this.playerLevel = playerLevel; }
+
+    public Date getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(Date submittedAt) { this.submittedAt = submittedAt; }
+
+    public String getReplayStatus() { return replayStatus; }
+    public void setReplayStatus(String replayStatus) { this.replayStatus = replayStatus; }
+
+    public Integer getVerifiedScore() { return verifiedScore; }
+    public void setVerifiedScore(Integer verifiedScore) { this.verifiedScore = verifiedScore; }
 }
@@ -0,0 +1,38 @@
+package io.github.reaim.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.util.Date;
+
+/**
+ * The replay file uploaded for a score, stored as the game wrote it. Shares its id with the
+ * PlayerScore it belongs to; kept apart so score queries never load replay bytes.
+ */
+@Document(collection = "score_replays")
+public class ScoreReplay {
+    @Id
+    private String id;
+
+    private byte[] data;
+
+    private Date uploadedAt;
+
+    public ScoreReplay() {
+    }
+
+    public ScoreReplay(String id, byte[] data, Date uploadedAt) {
+        this.id = id;
+        this.data = data;
+        this.uploadedAt = uploadedAt;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public byte[] getData() { return data; }
+    public void setData(byte[] data) { this.data = data; }
+
+    public Date getUploadedAt() { return uploadedAt; }
+    public void setUploadedAt(Date uploadedAt) { this.uploadedAt = uploadedAt; }
+}
@@ -0,0 +1,51 @@
+package io.github.reaim.replay;
+
+/**
+ * The tap targets of a level's analysis, as the game reads them: tap times and hit windows in
+ * seconds, rounded to float, in file order.
+ */
+public class Beatmap {
+    private final float[] tapTimes;
+    private final float[] windowStarts;
+    private final float[] windowEnds;
+
+    public Beatmap(float[] tapTimes, float[] windowStarts, float[] windowEnds) {
+        if (windowStarts.length != tapTimes.length || windowEnds.length != tapTimes.length) {
+            throw new IllegalArgumentException("Beatmap arrays must all have the same length");
+        }
+        this.tapTimes = tapTimes;
+        this.windowStarts = windowStarts;
+        this.windowEnds = windowEnds;
+    }
+
+    public int size() { return tapTimes.length; }
+
+    public float getTapTime(int i) { return tapTimes[i]; }
+
+    /**
+     * Finds the tap target a shot at the given time lands on, the same way the game does: only
+     * the taps either side of the time are looked at, and when both windows contain it the
+     * closer tap wins.
+     * @return the index of the tap whose hit window contains the time, or -1 if it is off beat
+     */
+    public int findTap(float time) {
+        int low = 0;
+        int high = tapTimes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tapTimes[mid] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int before = low - 1;
+        int after = low;
+        boolean inBefore = before >= 0 && windowStarts[before] <= time && time <= windowEnds[before];
+        boolean inAfter = after < tapTimes.length && windowStarts[after] <= time && time <= windowEnds[after];
+        if (inBefore && inAfter) {
+            return time - tapTimes[before] <= tapTimes[after] - time ? before : after;
+        }
+        return inBefore ? before : inAfter ? after : -1;
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.reaim.replay;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.reaim.model.Level;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads the beatmaps replays are verified against from the levels' *_analysis.json files, the
+ * same ones the game ships. Each file is streamed once, skipping everything but the tap targets,
+ * and kept until it changes on disk. The directory is deployment configuration with no default,
+ * so the backend refuses to start rather than verify against whatever sits next to it.
+ */
+@Component
+public class BeatmapStore {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${reaim.replay.beatmap-dir:}")
+    private String beatmapDir;
+
+    private Path root;
+
+    private final Map<Path, Entry> beatmaps = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (beatmapDir.isBlank()) {
+            throw new IllegalStateException("reaim.replay.beatmap-dir must name the directory holding the levels' analysis files");
+        }
+        root = Paths.get(beatmapDir).toAbsolutePath().normalize();
+        if (!Files.isDirectory(root)) {
+            throw new IllegalStateException("reaim.replay.beatmap-dir is not a directory: " + root);
+        }
+    }
+
+    /**
+     * @return the level's beatmap, or null if the level names no analysis file or it does not exist
+     * @throws IOException if the analysis file cannot be read or parsed
+     */
+    public Beatmap get(Level level) throws IOException {
+        if (level.getJsonFile() == null) {
+            return null;
+        }
+        Path file = root.resolve(level.getJsonFile()).normalize();
+        if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+            return null;
+        }
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        Entry entry = beatmaps.get(file);
+        if (entry == null || entry.modified != modified) {
+            // Two workers may both parse a changed file; either result is the same
+            entry = new Entry(modified, parse(file));
+            beatmaps.put(file, entry);
+        }
+        return entry.beatmap;
+    }
+
+    private Beatmap parse(Path file) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Analysis file is not a JSON object: " + file);
+            }
+            TapTargets targets = new TapTargets();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("tap_targets".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readTapTarget(parser, targets);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return targets.toBeatmap();
+        }
+    }
+
+    private static void readTapTarget(JsonParser parser, TapTargets targets) throws IOException {
+        float time = 0f;
+        float windowStart = Float.NaN;
+        float windowEnd = Float.NaN;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("time".equals(field) && value.isNumeric()) {
+                time = parser.getFloatValue();
+            } else if ("window".equals(field) && value == JsonToken.START_ARRAY) {
+                for (int i = 0; parser.nextToken() != JsonToken.END_ARRAY; i++) {
+                    if (i == 0) {
+                        windowStart = parser.getFloatValue();
+                    } else if (i == 1) {
+                        windowEnd = parser.getFloatValue();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        // A missing window bound collapses onto the tap time, as in the game
+        targets.add(time, Float.isNaN(windowStart) ? time : windowStart, Float.isNaN(windowEnd) ? time : windowEnd);
+    }
+
+    private static final class TapTargets {
+        float[] times = new float[256];
+        float[] windowStarts = new float[256];
+        float[] windowEnds = new float[256];
+        int size;
+
+        void add(float time, float windowStart, float windowEnd) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                windowStarts = Arrays.copyOf(windowStarts, size * 2);
+                windowEnds = Arrays.copyOf(windowEnds, size * 2);
+            }
+            times[size] = time;
+            windowStarts[size] = windowStart;
+            windowEnds[size] = windowEnd;
+            size++;
+        }
+
+        Beatmap toBeatmap() {
+            return new Beatmap(Arrays.copyOf(times, size), Arrays.copyOf(windowStarts, size), Arrays.copyOf(windowEnds, size));
+        }
+    }
+
+    private static final class Entry {
+        final long modified;
+        final Beatmap beatmap;
+
+        Entry(long modified, Beatmap beatmap) {
+            this.modified = modified;
+            this.beatmap = beatmap;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.reaim.replay;
+
+/**
+ * A decoded replay as uploaded by the game: what is needed to rebuild the attempt's spawn
+ * schedule, and every shot. The cursor path is only counted; scoring depends on shots alone.
+ * <p>
+ * A shot's tick is a fraction of a simulation step: step s covers ticks
+ * (s - 1) * {@link #TICKS_PER_STEP} + 1 to s * TICKS_PER_STEP, and the shot is judged after that
+ * step with targets placed part way through it. Tick 0 is before the first step.
+ */
+public class Replay {
+    public static final int TICKS_PER_STEP = 64;
+
+    private final String levelId;
+    private final long seed;
+    private final int stepRate;
+    private final int screenWidth;
+    private final int screenHeight;
+    private final float targetWidth;
+    private final float targetHeight;
+    private final float spawnTargetWidth;
+    private final int cursorCount;
+    private final int claimedScore;
+
+    // Shots in the order they were fired: tick, level time in microseconds, position from the bottom left
+    private final long[] shotTicks;
+    private final long[] shotTimes;
+    private final int[] shotXs;
+    private final int[] shotYs;
+
+    Replay(String levelId, long seed, int stepRate, int screenWidth, int screenHeight,
+           float targetWidth, float targetHeight, float spawnTargetWidth, int cursorCount, int claimedScore,
+           long[] shotTicks, long[] shotTimes, int[] shotXs, int[] shotYs) {
+        this.levelId = levelId;
+        this.seed = seed;
+        this.stepRate = stepRate;
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+        this.targetWidth = targetWidth;
+        this.targetHeight = targetHeight;
+        this.spawnTargetWidth = spawnTargetWidth;
+        this.cursorCount = cursorCount;
+        this.claimedScore = claimedScore;
+        this.shotTicks = shotTicks;
+        this.shotTimes = shotTimes;
+        this.shotXs = shotXs;
+        this.shotYs = shotYs;
+    }
+
+    public String getLevelId() { return levelId; }
+
+    public long getSeed() { return seed; }
+
+    public int getStepRate() { return stepRate; }
+
+    public int getScreenWidth() { return screenWidth; }
+
+    public int getScreenHeight() { return screenHeight; }
+
+    /** Drawn width of a target in the game, which is also its hit box. */
+    public float getTargetWidth() { return targetWidth; }
+
+    public float getTargetHeight() { return targetHeight; }
+
+    /** Width the game kept spawns inside the screen by. */
+    public float getSpawnTargetWidth() { return spawnTargetWidth; }
+
+    public int getCursorCount() { return cursorCount; }
+
+    /** Score the game recorded at the end of the attempt. */
+    public int getClaimedScore() { return claimedScore; }
+
+    public int getShotCount() { return shotTicks.length; }
+
+    public long getShotTick(int i) { return shotTicks[i]; }
+
+    public long getShotTime(int i) { return shotTimes[i]; }
+
+    public int getShotX(int i) { return shotXs[i]; }
+
+    public int getShotY(int i) { return shotYs[i]; }
+}
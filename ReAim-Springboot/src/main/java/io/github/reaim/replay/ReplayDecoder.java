@@ -0,0 +1,170 @@
+package io.github.reaim.replay;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads the game's replay files (ReplayCodec on the client). The whole file is deflated; inside it:
+ * <pre>
+ * int     magic         'R' 'P' 'L' 'Y'
+ * int     version
+ * UTF     levelId
+ * long    seed
+ * int     stepRate
+ * int     screenWidth
+ * int     screenHeight
+ * float   targetWidth   drawn size of a target, which is its hit box (version 2 on)
+ * float   targetHeight
+ * float   spawnTargetWidth  width spawns are kept inside the screen by
+ * blocks, each:
+ *   byte    1
+ *   varint  cursorCount
+ *   varint  shotCount
+ *   cursorCount zigzag varints each for time, x and y: change in the delta
+ *   shotCount times: varint tick delta, zigzag varint time delta in microseconds,
+ *                    zigzag varint x delta, zigzag varint y delta
+ * byte    0             end of replay
+ * int     score         final score of the attempt
+ * </pre>
+ * Version 1 files have no target sizes; the game recorded all of them with the sizes in the
+ * VERSION_1_ constants. Uploads are untrusted, so the header and event counts are bounded before anything is
+ * allocated for them.
+ */
+public final class ReplayDecoder {
+    private static final int MAGIC = 0x52504C59; // "RPLY"
+    private static final int VERSION = 2;
+    private static final float VERSION_1_TARGET_WIDTH = 1920 * 0.3f;
+    private static final float VERSION_1_TARGET_HEIGHT = 1080 * 0.3f;
+    private static final float VERSION_1_SPAWN_TARGET_WIDTH = 64f;
+    private static final int BLOCK_END = 0;
+    private static final int BLOCK_EVENTS = 1;
+
+    private static final int MAX_STEP_RATE = 1000;
+    private static final int MAX_SCREEN_SIZE = 16384;
+    // Over an hour of 1000 Hz mouse input, and far more shots than any song has beats
+    private static final int MAX_CURSOR_SAMPLES = 4_000_000;
+    private static final int MAX_SHOTS = 200_000;
+
+    private ReplayDecoder() {
+    }
+
+    /**
+     * @throws IOException if the data is not a complete replay of a supported version
+     */
+    public static Replay decode(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(data)), 8192))) {
+            int version = in.readInt() == MAGIC ? in.readInt() : -1;
+            if (version != 1 && version != VERSION) {
+                throw new IOException("Not a replay of version 1 to " + VERSION);
+            }
+            String levelId = in.readUTF();
+            long seed = in.readLong();
+            int stepRate = in.readInt();
+            int screenWidth = in.readInt();
+            int screenHeight = in.readInt();
+            if (stepRate < 1 || stepRate > MAX_STEP_RATE) {
+                throw new IOException("Step rate out of range: " + stepRate);
+            }
+            if (screenWidth < 1 || screenWidth > MAX_SCREEN_SIZE || screenHeight < 1 || screenHeight > MAX_SCREEN_SIZE) {
+                throw new IOException("Screen size out of range: " + screenWidth + "x" + screenHeight);
+            }
+            float targetWidth = version == 1 ? VERSION_1_TARGET_WIDTH : in.readFloat();
+            float targetHeight = version == 1 ? VERSION_1_TARGET_HEIGHT : in.readFloat();
+            float spawnTargetWidth = version == 1 ? VERSION_1_SPAWN_TARGET_WIDTH : in.readFloat();
+            // Negated comparisons also reject NaN
+            if (!(targetWidth > 0f && targetWidth <= MAX_SCREEN_SIZE && targetHeight > 0f && targetHeight <= MAX_SCREEN_SIZE)) {
+                throw new IOException("Target size out of range: " + targetWidth + "x" + targetHeight);
+            }
+            if (!(spawnTargetWidth >= 0f && spawnTargetWidth <= MAX_SCREEN_SIZE)) {
+                throw new IOException("Spawn target width out of range: " + spawnTargetWidth);
+            }
+
+            Shots shots = new Shots();
+            long cursorCount = 0;
+            // Cursor samples are not needed for scoring, but their deltas still have to be read past
+            long shotTick = 0;
+            long shotTime = 0;
+            int shotX = 0;
+            int shotY = 0;
+            int block;
+            while ((block = in.readUnsignedByte()) == BLOCK_EVENTS) {
+                long blockCursors = readVarint(in);
+                long blockShots = readVarint(in);
+                if (blockCursors < 0 || blockShots < 0
+                        || cursorCount + blockCursors > MAX_CURSOR_SAMPLES || shots.size + blockShots > MAX_SHOTS) {
+                    throw new IOException("Too many events in replay");
+                }
+                cursorCount += blockCursors;
+                for (long i = 0; i < blockCursors * 3; i++) {
+                    readVarint(in);
+                }
+                for (long i = 0; i < blockShots; i++) {
+                    shotTick += readVarint(in);
+                    shotTime += unzigzag(readVarint(in));
+                    shotX += (int) unzigzag(readVarint(in));
+                    shotY += (int) unzigzag(readVarint(in));
+                    if (shotTick < 0) {
+                        throw new IOException("Shot tick out of range");
+                    }
+                    shots.add(shotTick, shotTime, shotX, shotY);
+                }
+            }
+            if (block != BLOCK_END) {
+                throw new IOException("Unknown replay block " + block);
+            }
+            int score = in.readInt();
+            return new Replay(levelId, seed, stepRate, screenWidth, screenHeight,
+                    targetWidth, targetHeight, spawnTargetWidth, (int) cursorCount, score,
+                    Arrays.copyOf(shots.ticks, shots.size), Arrays.copyOf(shots.times, shots.size),
+                    Arrays.copyOf(shots.xs, shots.size), Arrays.copyOf(shots.ys, shots.size));
+        } catch (EOFException e) {
+            throw new IOException("Replay ends early", e);
+        }
+    }
+
+    // Growable parallel arrays of the shots read so far
+    private static final class Shots {
+        long[] ticks = new long[256];
+        long[] times = new long[256];
+        int[] xs = new int[256];
+        int[] ys = new int[256];
+        int size;
+
+        void add(long tick, long time, int x, int y) {
+            if (size == ticks.length) {
+                int capacity = size * 2;
+                ticks = Arrays.copyOf(ticks, capacity);
+                times = Arrays.copyOf(times, capacity);
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+            }
+            ticks[size] = tick;
+            times[size] = time;
+            xs[size] = x;
+            ys[size] = y;
+            size++;
+        }
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,280 @@
+package io.github.reaim.replay;
+
+import java.util.Arrays;
+
+/**
+ * Plays a replay's shots against a level's beatmap and scores them the way the game does. The
+ * game is deterministic given the beatmap, seed, screen size and step rate a replay records, so
+ * this rebuilds the same spawn schedule (TargetSpawner), the same target flights
+ * (Trajectory, TargetCullSystem) and the same hit tests and score tiers (GameScreen), with the
+ * same float arithmetic, and ends on exactly the score the game showed.
+ * <p>
+ * Targets follow closed-form trajectories, so nothing is integrated per step: stepping only
+ * accumulates the spawner's and the world's clocks exactly as the game does, and a target's
+ * height and whether it has been culled are worked out from its age when a shot needs them.
+ * A whole level costs one pass over the steps plus one pass over the live targets per shot.
+ * <p>
+ * Target sizes and the spawn width come from the replay, as the game recorded them, so a change
+ * to the game's sprites or scale needs no change here.
+ */
+public final class ReplaySimulator {
+    // Same constants the game uses
+    private static final float GRAVITY = -500f;
+    private static final float MIN_TARGET_TRAVEL_TIME = 0.5f;
+    private static final float MAX_TARGET_TRAVEL_TIME = 2.5f;
+    private static final int PLACEMENT_CANDIDATES = 8;
+    private static final int PLACEMENT_NEIGHBOURS = 3;
+    private static final int ON_BEAT_MULTIPLIER = 2;
+    // Shots may come this long after the last beat (the song's outro) before a replay is rejected
+    private static final float MAX_SECONDS_AFTER_LAST_TAP = 600f;
+
+    private ReplaySimulator() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the replay's shots run far past the end of the level
+     */
+    public static Result simulate(Replay replay, Beatmap beatmap) {
+        float stepSeconds = 1f / replay.getStepRate();
+        float screenHeight = replay.getScreenHeight();
+        float targetWidth = replay.getTargetWidth();
+        float targetHeight = replay.getTargetHeight();
+        Schedule schedule = new Schedule(beatmap, replay.getSeed(), replay.getScreenWidth(), screenHeight,
+                replay.getSpawnTargetWidth(), targetHeight);
+
+        int shotCount = replay.getShotCount();
+        if (shotCount > 0) {
+            float lastTap = beatmap.size() == 0 ? 0f : beatmap.getTapTime(beatmap.size() - 1);
+            double lastStep = Math.ceil(replay.getShotTick(shotCount - 1) / (double) Replay.TICKS_PER_STEP);
+            if (lastStep * stepSeconds > Math.max(0f, lastTap) + MAX_SECONDS_AFTER_LAST_TAP) {
+                throw new IllegalArgumentException("Shots run past the end of the level");
+            }
+        }
+
+        Result result = new Result();
+        boolean[] judgedTaps = new boolean[beatmap.size()];
+        // Spawned targets neither shot nor culled yet, in spawn order
+        int[] live = new int[16];
+        int liveCount = 0;
+        float spawnerElapsed = 0f;
+        double time = 0.0;
+        long steps = 0;
+        int next = 0;
+        int shot = 0;
+        while (shot < shotCount) {
+            long lastTick = steps * Replay.TICKS_PER_STEP;
+            if (replay.getShotTick(shot) > lastTick) {
+                // One step: spawn what is due, launched at the time before the step, then advance
+                spawnerElapsed += stepSeconds;
+                while (next < schedule.size && schedule.spawnTimes[next] <= spawnerElapsed) {
+                    schedule.launchTimes[next] = time;
+                    if (liveCount == live.length) {
+                        live = Arrays.copyOf(live, liveCount * 2);
+                    }
+                    live[liveCount++] = next;
+                    next++;
+                }
+                time += stepSeconds;
+                steps++;
+                continue;
+            }
+
+            float alpha = (replay.getShotTick(shot) - (steps - 1) * Replay.TICKS_PER_STEP) / (float) Replay.TICKS_PER_STEP;
+            float pointX = replay.getShotX(shot);
+            float pointY = replay.getShotY(shot);
+            float stepRemainder = (1f - alpha) * stepSeconds;
+            int closest = -1;
+            float closestY = 0f;
+            float closestDistance2 = Float.MAX_VALUE;
+            int kept = 0;
+            for (int i = 0; i < liveCount; i++) {
+                int target = live[i];
+                float age = (float) (time - schedule.launchTimes[target]);
+                if (age > schedule.exitAges[target]) {
+                    continue; // Culled; ages only grow, so it is gone for good
+                }
+                live[kept++] = target;
+                float x = schedule.spawnXs[target];
+                float y = alpha >= 1f ? schedule.yAt(target, age) : schedule.yAt(target, Math.max(0f, age - stepRemainder));
+                if (!(x <= pointX && x + targetWidth >= pointX && y <= pointY && y + targetHeight >= pointY)) {
+                    continue;
+                }
+                float dx = x + targetWidth / 2f - pointX;
+                float dy = y + targetHeight / 2f - pointY;
+                float distance2 = dx * dx + dy * dy;
+                if (distance2 < closestDistance2) {
+                    closestDistance2 = distance2;
+                    closest = target;
+                    closestY = y;
+                }
+            }
+            liveCount = kept;
+
+            if (closest != -1) {
+                removeLive(live, liveCount--, closest);
+                float dx = schedule.spawnXs[closest] + targetWidth / 2f - pointX;
+                float dy = closestY + targetHeight / 2f - pointY;
+                float distance = (float) Math.sqrt(dx * dx + dy * dy);
+                int value = scoreFor(distance, Math.min(targetWidth, targetHeight));
+                int tap = beatmap.findTap((float) (replay.getShotTime(shot) / 1e6));
+                if (tap != -1 && !judgedTaps[tap]) {
+                    judgedTaps[tap] = true;
+                    result.score += value * ON_BEAT_MULTIPLIER;
+                    result.onBeatHits++;
+                } else {
+                    result.score += value;
+                }
+                result.hits++;
+            }
+            shot++;
+        }
+        result.shots = shotCount;
+        result.steps = steps;
+        result.spawned = next;
+        return result;
+    }
+
+    // Score tiers from GameScreen: closer to the centre scores more
+    private static int scoreFor(float distance, float smallest) {
+        if (distance <= smallest * 0.15f) return 1000;
+        if (distance <= smallest * 0.30f) return 600;
+        if (distance <= smallest * 0.50f) return 300;
+        return 100;
+    }
+
+    // Removes a target from the first size entries, keeping the others in spawn order
+    private static void removeLive(int[] live, int size, int target) {
+        for (int i = 0; i < size; i++) {
+            if (live[i] == target) {
+                System.arraycopy(live, i + 1, live, i, size - i - 1);
+                return;
+            }
+        }
+    }
+
+    /**
+     * What the game's TargetSpawner precomputes, in spawn order, plus the age at which each
+     * target leaves the screen and, once spawned, its launch time.
+     */
+    private static final class Schedule {
+        final int size;
+        final float[] spawnTimes;
+        final float[] spawnXs;
+        final float[] launchVelocities;
+        final float[] exitAges;
+        final double[] launchTimes;
+
+        Schedule(Beatmap beatmap, long seed, float screenWidth, float screenHeight, float spawnTargetWidth, float targetHeight) {
+            XorShift128Plus random = new XorShift128Plus(seed);
+            size = beatmap.size();
+
+            float[] travelTimes = new float[size];
+            long[] order = new long[size];
+            for (int i = 0; i < size; i++) {
+                travelTimes[i] = MIN_TARGET_TRAVEL_TIME + random.nextFloat() * (MAX_TARGET_TRAVEL_TIME - MIN_TARGET_TRAVEL_TIME);
+                order[i] = ((long) sortableBits(beatmap.getTapTime(i) - travelTimes[i]) << 32) | i;
+            }
+            Arrays.sort(order);
+
+            spawnTimes = new float[size];
+            spawnXs = new float[size];
+            launchVelocities = new float[size];
+            exitAges = new float[size];
+            launchTimes = new double[size];
+            float spawnRange = Math.max(0f, screenWidth - spawnTargetWidth);
+            for (int s = 0; s < size; s++) {
+                int tap = (int) order[s];
+                spawnTimes[s] = beatmap.getTapTime(tap) - travelTimes[tap];
+                spawnXs[s] = bestCandidateX(random, spawnRange, s);
+                launchVelocities[s] = (screenHeight * 1.8f) / travelTimes[tap];
+                exitAges[s] = Math.min(firstAgeAbove(launchVelocities[s], screenHeight), lastAgeAbove(launchVelocities[s], -targetHeight));
+            }
+        }
+
+        private float bestCandidateX(XorShift128Plus random, float spawnRange, int index) {
+            float bestX = 0f;
+            float bestDistance = -1f;
+            for (int c = 0; c < PLACEMENT_CANDIDATES; c++) {
+                float x = random.nextFloat() * spawnRange;
+                float nearest = Float.MAX_VALUE;
+                for (int n = Math.max(0, index - PLACEMENT_NEIGHBOURS); n < index; n++) {
+                    nearest = Math.min(nearest, Math.abs(x - spawnXs[n]));
+                }
+                if (nearest > bestDistance) {
+                    bestDistance = nearest;
+                    bestX = x;
+                }
+            }
+            return bestX;
+        }
+
+        // Height of the bottom edge at the given age; targets start at y = 0
+        float yAt(int target, float age) {
+            return 0f + launchVelocities[target] * age + 0.5f * GRAVITY * age * age;
+        }
+    }
+
+    // Trajectory.firstAgeAbove for a launch from y = 0 under GRAVITY
+    private static float firstAgeAbove(float velocity, float height) {
+        if (0f > height) {
+            return 0f;
+        }
+        double early = crossing(velocity, height, false);
+        double late = crossing(velocity, height, true);
+        if (early >= 0.0) {
+            return (float) early;
+        }
+        return late >= 0.0 ? (float) late : Float.MAX_VALUE;
+    }
+
+    // Trajectory.lastAgeAbove for a launch from y = 0 under GRAVITY, which is negative
+    private static float lastAgeAbove(float velocity, float height) {
+        double late = crossing(velocity, height, true);
+        return Double.isNaN(late) ? 0f : (float) Math.max(0.0, late);
+    }
+
+    private static double crossing(float velocity, float height, boolean later) {
+        double a = 0.5 * GRAVITY;
+        double b = velocity;
+        double c = 0f - height;
+        double discriminant = b * b - 4.0 * a * c;
+        if (discriminant < 0.0) {
+            return Double.NaN;
+        }
+        double sqrt = Math.sqrt(discriminant);
+        double t1 = (-b - sqrt) / (2.0 * a);
+        double t2 = (-b + sqrt) / (2.0 * a);
+        return later ? Math.max(t1, t2) : Math.min(t1, t2);
+    }
+
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+
+    /**
+     * The outcome of a simulated attempt.
+     */
+    public static final class Result {
+        private int score;
+        private int hits;
+        private int onBeatHits;
+        private int shots;
+        private int spawned;
+        private long steps;
+
+        public int getScore() { return score; }
+
+        public int getHits() { return hits; }
+
+        public int getOnBeatHits() { return onBeatHits; }
+
+        public int getShots() { return shots; }
+
+        /** Targets spawned by the time of the last shot. */
+        public int getSpawned() { return spawned; }
+
+        /** Simulation steps run up to the last shot. */
+        public long getSteps() { return steps; }
+    }
+}
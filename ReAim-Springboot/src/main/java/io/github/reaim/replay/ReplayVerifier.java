@@ -0,0 +1,189 @@
+package io.github.reaim.replay;
+
+import io.github.reaim.cache.LevelCatalogCache;
+import io.github.reaim.model.Level;
+import io.github.reaim.model.PlayerScore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks submitted scores against their replays off the request thread. Each replay is decoded,
+ * re-simulated against its level's beatmap by {@link ReplaySimulator}, and the score it plays
+ * out to is stored on the PlayerScore next to the outcome: verified when it equals the
+ * submitted score, mismatch when it does not, invalid when the replay cannot be played at all.
+ * Scores are only flagged; leaderboards are left as they are.
+ * <p>
+ * Work runs on a fixed pool of worker threads behind a bounded queue. When the queue is full a
+ * submission is refused rather than queued without limit, and the caller can tell the client to
+ * try again. Worker CPU time is measured per replay, so throughput is reported per core
+ * independently of how many workers are busy.
+ */
+@Component
+public class ReplayVerifier {
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_VERIFIED = "verified";
+    public static final String STATUS_MISMATCH = "mismatch";
+    public static final String STATUS_INVALID = "invalid";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplayVerifier.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private LevelCatalogCache levelCatalogCache;
+
+    @Autowired
+    private BeatmapStore beatmapStore;
+
+    // 0 uses one worker per available processor
+    @Value("${reaim.replay.workers:0}")
+    private int workers;
+
+    @Value("${reaim.replay.queue-capacity:256}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private final AtomicLong verified = new AtomicLong();
+    private final AtomicLong mismatches = new AtomicLong();
+    private final AtomicLong invalid = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong cpuNanos = new AtomicLong();
+    private final AtomicLong simulatedShots = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        int threadCount = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "replay-verifier-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Replay verification running on {} worker(s), queue of {}", threadCount, queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues a score's replay for verification.
+     * @return false if the queue is full and the replay was not queued
+     */
+    public boolean submit(PlayerScore score, byte[] replayData) {
+        try {
+            executor.execute(() -> verify(score, replayData));
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            return false;
+        }
+    }
+
+    /**
+     * Re-simulates a replay on the calling thread, without storing anything.
+     * @throws IOException if the replay cannot be decoded or the level's beatmap read
+     * @throws IllegalArgumentException if the level has no beatmap or the replay does not fit it
+     */
+    public ReplaySimulator.Result simulate(byte[] replayData, String levelId) throws IOException {
+        Replay replay = ReplayDecoder.decode(replayData);
+        if (!replay.getLevelId().equals(levelId)) {
+            throw new IllegalArgumentException("Replay is of level " + replay.getLevelId() + ", not " + levelId);
+        }
+        Level level = levelCatalogCache.get(levelId);
+        Beatmap beatmap = level == null ? null : beatmapStore.get(level);
+        if (beatmap == null) {
+            throw new IllegalArgumentException("No beatmap for level " + levelId);
+        }
+        return ReplaySimulator.simulate(replay, beatmap);
+    }
+
+    private void verify(PlayerScore score, byte[] replayData) {
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        String status;
+        Integer verifiedScore = null;
+        try {
+            ReplaySimulator.Result result = simulate(replayData, score.getLevel().getId());
+            simulatedShots.addAndGet(result.getShots());
+            verifiedScore = result.getScore();
+            if (result.getScore() == score.getScore()) {
+                status = STATUS_VERIFIED;
+                verified.incrementAndGet();
+            } else {
+                status = STATUS_MISMATCH;
+                mismatches.incrementAndGet();
+                log.warn("Score {} of player {} on level {} claims {} but its replay plays out to {}",
+                        score.getId(), score.getPlayer().getId(), score.getLevel().getId(), score.getScore(), result.getScore());
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            status = STATUS_INVALID;
+            invalid.incrementAndGet();
+            log.warn("Replay of score {} could not be verified: {}", score.getId(), e.getMessage());
+        } finally {
+            cpuNanos.addAndGet(threads.getCurrentThreadCpuTime() - cpuStart);
+        }
+        try {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(score.getId())),
+                    new Update().set("replayStatus", status).set("verifiedScore", verifiedScore),
+                    PlayerScore.class);
+        } catch (RuntimeException e) {
+            log.error("Could not store the verification of score {}", score.getId(), e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long completed = verified.get() + mismatches.get() + invalid.get();
+        double cpuSeconds = cpuNanos.get() / 1e9;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("workers", executor.getCorePoolSize());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("active", executor.getActiveCount());
+        stats.put("verified", verified.get());
+        stats.put("mismatches", mismatches.get());
+        stats.put("invalid", invalid.get());
+        stats.put("rejected", rejected.get());
+        stats.put("shots", simulatedShots.get());
+        stats.put("cpuSeconds", cpuSeconds);
+        // One worker keeps one core busy, so replays per CPU second is the rate per core
+        stats.put("replaysPerSecondPerCore", cpuSeconds > 0 ? completed / cpuSeconds : 0.0);
+        return stats;
+    }
+
+    public void resetStats() {
+        verified.set(0);
+        mismatches.set(0);
+        invalid.set(0);
+        rejected.set(0);
+        cpuNanos.set(0);
+        simulatedShots.set(0);
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.reaim.replay;
+
+/**
+ * The xorshift128+ generator the game seeds its spawn schedules with (libGDX's RandomXS128),
+ * reproduced bit for bit so that the same seed gives the same travel times and positions here.
+ * Only the calls the spawner makes are provided.
+ */
+final class XorShift128Plus {
+    private static final double NORM_FLOAT = 1.0 / (1L << 24);
+
+    private long seed0;
+    private long seed1;
+
+    XorShift128Plus(long seed) {
+        long newSeed0 = murmurHash3(seed == 0 ? Long.MIN_VALUE : seed);
+        seed0 = newSeed0;
+        seed1 = murmurHash3(newSeed0);
+    }
+
+    long nextLong() {
+        long s1 = seed0;
+        long s0 = seed1;
+        seed0 = s0;
+        s1 ^= s1 << 23;
+        return (seed1 = s1 ^ s0 ^ (s1 >>> 17) ^ (s0 >>> 26)) + s0;
+    }
+
+    /** @return a uniform float in [0, 1) from the top 24 bits */
+    float nextFloat() {
+        return (float) ((nextLong() >>> 40) * NORM_FLOAT);
+    }
+
+    private static long murmurHash3(long x) {
+        x ^= x >>> 33;
+        x *= 0xff51afd7ed558ccdL;
+        x ^= x >>> 33;
+        x *= 0xc4ceb9fe1a85ec53L;
+        x ^= x >>> 33;
+        return x;
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.reaim.repository;
+
+import io.github.reaim.model.PersonalBest;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface PersonalBestRepository extends MongoRepository<PersonalBest, String>, PersonalBestRepositoryCustom {
+    PersonalBest findByPlayerIdAndLevelId(String playerId, String levelId);
+    List<PersonalBest> findByPlayerId(String playerId);
+    long countByLevelId(String levelId);
+}
@@ -0,0 +1,50 @@
+package io.github.reaim.repository;
+
+import io.github.reaim.model.PersonalBest;
+import io.github.reaim.model.PlayerScore;
+import java.util.List;
+
+/**
+ * Personal-best maintenance and leaderboard queries that are sorted and limited inside MongoDB
+ * rather than in the JVM.
+ */
+public interface PersonalBestRepositoryCustom {
+
+    /**
+     * Makes the score the player's best on its level if it beats the current best, in one atomic upsert.
+     *
+     * @return true if the score became the new personal best
+     */
+    boolean offer(PlayerScore score);
+
+    /**
+     * Offers many scores with one unordered bulk write. Scores that do not beat the stored best are ignored.
+     */
+    void offerAll(List<PlayerScore> scores);
+
+    /**
+     * Replaces the best that was set by the given score, e.g. after that score was deleted.
+     * With a null replacement the personal best is removed. Does nothing if the best has since
+     * been set by another score.
+     */
+    void replaceBest(String playerId, String levelId, String scoreId, PlayerScore replacement);
+
+    /**
+     * Returns one page of a level's leaderboard, highest score first.
+     *
+     * @param levelId   the level to rank
+     * @param offset    number of entries to skip (ignored when a cursor is given)
+     * @param limit     maximum number of entries to return
+     * @param afterScore score of the last entry of the previous page, or null
+     * @param afterId   score id of the last entry of the previous page, or null
+     */
+    List<PersonalBest> findLeaderboardPage(String levelId, int offset, int limit, Integer afterScore, String afterId);
+
+    /**
+     * Counts the level's personal bests ranked ahead of (score, scoreId), using the same
+     * index as {@link #findLeaderboardPage}.
+     *
+     * @param inclusive also count the entry with exactly this score and score id
+     */
+    long countAhead(String levelId, int score, String scoreId, boolean inclusive);
+}
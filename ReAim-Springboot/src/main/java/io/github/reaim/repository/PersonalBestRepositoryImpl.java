@@ -0,0 +1,127 @@
+package io.github.reaim.repository;
+
+import io.github.reaim.model.PersonalBest;
+import io.github.reaim.model.PlayerScore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.result.UpdateResult;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+public class PersonalBestRepositoryImpl implements PersonalBestRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean offer(PlayerScore score) {
+        try {
+            UpdateResult result = mongoTemplate.upsert(improvesOn(score), asBest(score), PersonalBest.class);
+            return result.getModifiedCount() > 0 || result.getUpsertedId() != null;
+        } catch (DuplicateKeyException e) {
+            // A concurrent submission inserted the player's first best between our match and insert.
+            // That document now exists, so the conditional update cannot collide again.
+            return mongoTemplate.updateFirst(improvesOn(score), asBest(score), PersonalBest.class).getModifiedCount() > 0;
+        }
+    }
+
+    @Override
+    public void offerAll(List<PlayerScore> scores) {
+        if (scores.isEmpty()) {
+            return;
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PersonalBest.class);
+        for (PlayerScore score : scores) {
+            operations.upsert(improvesOn(score), asBest(score));
+        }
+        try {
+            operations.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void replaceBest(String playerId, String levelId, String scoreId, PlayerScore replacement) {
+        Query query = new Query(Criteria.where("player.id").is(playerId)
+                .and("level.id").is(levelId)
+                .and("scoreId").is(scoreId));
+        if (replacement == null) {
+            mongoTemplate.remove(query, PersonalBest.class);
+        } else {
+            mongoTemplate.updateFirst(query, asBest(replacement), PersonalBest.class);
+        }
+    }
+
+    @Override
+    public List<PersonalBest> findLeaderboardPage(String levelId, int offset, int limit, Integer afterScore, String afterId) {
+        Criteria criteria = Criteria.where("level.id").is(levelId);
+        boolean useCursor = afterScore != null && afterId != null;
+        if (useCursor) {
+            // Keyset paging: everything strictly after (afterScore, afterId) in (score desc, scoreId asc) order
+            criteria = criteria.orOperator(
+                    Criteria.where("score").lt(afterScore),
+                    Criteria.where("score").is(afterScore).and("scoreId").gt(afterId));
+        }
+
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(Aggregation.match(criteria));
+        operations.add(Aggregation.sort(Sort.by(Sort.Order.desc("score"), Sort.Order.asc("scoreId"))));
+        if (!useCursor && offset > 0) {
+            operations.add(Aggregation.skip((long) offset));
+        }
+        operations.add(Aggregation.limit(limit));
+
+        TypedAggregation<PersonalBest> aggregation = Aggregation.newAggregation(PersonalBest.class, operations);
+        return mongoTemplate.aggregate(aggregation, PersonalBest.class).getMappedResults();
+    }
+
+    @Override
+    public long countAhead(String levelId, int score, String scoreId, boolean inclusive) {
+        Criteria sameScore = Criteria.where("score").is(score);
+        sameScore = inclusive ? sameScore.and("scoreId").lte(scoreId) : sameScore.and("scoreId").lt(scoreId);
+        Criteria criteria = Criteria.where("level.id").is(levelId)
+                .orOperator(Criteria.where("score").gt(score), sameScore);
+        return mongoTemplate.count(new Query(criteria), PersonalBest.class);
+    }
+
+    /**
+     * Matches the player's best on the score's level only while it is lower than the score.
+     * Equal scores keep the earlier best.
+     */
+    private static Query improvesOn(PlayerScore score) {
+        return new Query(Criteria.where("player.id").is(score.getPlayer().getId())
+                .and("level.id").is(score.getLevel().getId())
+                .and("score").lt(score.getScore()));
+    }
+
+    // The ids come from the query's equality fields when the upsert inserts
+    private static Update asBest(PlayerScore score) {
+        return new Update()
+                .set("player.username", score.getPlayer().getUsername())
+                .set("level.name", score.getLevel().getName())
+                .set("score", score.getScore())
+                .set("scoreId", score.getId())
+                .set("achievedAt", score.getSubmittedAt())
+                .set("updatedAt", new Date());
+    }
+}
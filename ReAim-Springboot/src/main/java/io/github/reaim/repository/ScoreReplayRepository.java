@@ -0,0 +1,9 @@
+package io.github.reaim.repository;
+
+import io.github.reaim.model.ScoreReplay;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ScoreReplayRepository extends MongoRepository<ScoreReplay, String> {
+}